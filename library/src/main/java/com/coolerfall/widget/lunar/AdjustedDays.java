@@ -0,0 +1,239 @@
+package com.coolerfall.widget.lunar;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The adjusted rest days and work days(调休) of statutory holidays in China. The days
+ * are read from bundled data file, only the line of queried year will be parsed into
+ * bitsets, so the queries of a loaded year are just bit tests.
+ * <p>
+ * This class is thread safe.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public final class AdjustedDays {
+  /** The day was not adjusted, or the year was not loaded yet. */
+  public static final int NORMAL = 0;
+
+  /** The day was adjusted to rest day. */
+  public static final int REST = 1;
+
+  /** The day was adjusted to work day. */
+  public static final int WORK = 2;
+
+  private static final String DATA_FILE = "adjusted_days.txt";
+  private static final int MIN_YEAR = LunarConverter.MIN_YEAR;
+  private static final int MAX_YEAR = LunarConverter.MAX_YEAR + 1;
+  private static final int WORDS_IN_YEAR = 6;
+
+  private static final Year EMPTY = new Year(new long[WORDS_IN_YEAR], new long[WORDS_IN_YEAR]);
+  private static final Year[] YEARS = new Year[MAX_YEAR - MIN_YEAR + 1];
+
+  private static final Executor EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
+    @Override public Thread newThread(Runnable r) {
+      Thread thread = new Thread(r, "AdjustedDays");
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+
+  private AdjustedDays() {
+
+  }
+
+  /**
+   * Interface definition for a callback to be invoked when a year was loaded.
+   */
+  public interface OnLoadListener {
+    /**
+     * Invoked in background thread when the year was loaded.
+     *
+     * @param year the year loaded
+     */
+    void onLoad(int year);
+  }
+
+  /**
+   * Get the type of the given day. This never loads the year, {@link #NORMAL} will be
+   * returned if the year was not loaded.
+   *
+   * @param epochDay epoch day
+   * @return {@link #NORMAL}, {@link #REST} or {@link #WORK}
+   */
+  public static int getDayType(int epochDay) {
+    int packedSolar = LunarConverter.toSolar(epochDay);
+    int year = LunarConverter.getSolarYear(packedSolar);
+    if (year < MIN_YEAR || year > MAX_YEAR) {
+      return NORMAL;
+    }
+
+    Year days = YEARS[year - MIN_YEAR];
+    if (days == null) {
+      return NORMAL;
+    }
+
+    int dayOfYear = epochDay - LunarConverter.toEpochDay(year, 0, 1);
+    if (isSet(days.rest, dayOfYear)) {
+      return REST;
+    }
+
+    return isSet(days.work, dayOfYear) ? WORK : NORMAL;
+  }
+
+  /**
+   * To check if the given year was loaded.
+   *
+   * @param year the year
+   * @return true if loaded, otherwise return false
+   */
+  public static boolean isLoaded(int year) {
+    return year < MIN_YEAR || year > MAX_YEAR || YEARS[year - MIN_YEAR] != null;
+  }
+
+  /**
+   * Load the given year in current thread, do not call this in UI thread.
+   *
+   * @param year the year
+   */
+  public static void load(int year) {
+    if (isLoaded(year)) {
+      return;
+    }
+
+    synchronized (YEARS) {
+      if (YEARS[year - MIN_YEAR] == null) {
+        YEARS[year - MIN_YEAR] = read(year);
+      }
+    }
+  }
+
+  /**
+   * Load the given year in background thread if not loaded.
+   *
+   * @param year the year
+   * @param listener the listener to invoke after loaded, can be null
+   */
+  public static void loadAsync(final int year, final OnLoadListener listener) {
+    if (isLoaded(year)) {
+      return;
+    }
+
+    EXECUTOR.execute(new Runnable() {
+      @Override public void run() {
+        load(year);
+        if (listener != null) {
+          listener.onLoad(year);
+        }
+      }
+    });
+  }
+
+  /* read the line of given year from data file */
+  private static Year read(int year) {
+    InputStream in = AdjustedDays.class.getResourceAsStream(DATA_FILE);
+    if (in == null) {
+      return EMPTY;
+    }
+
+    String prefix = year + " ";
+    BufferedReader reader = null;
+    try {
+      reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith(prefix)) {
+          return parse(year, line.substring(prefix.length()).trim());
+        }
+      }
+    } catch (IOException e) {
+      /* treat as no adjusted days */
+    } finally {
+      close(reader == null ? in : reader);
+    }
+
+    return EMPTY;
+  }
+
+  /* parse rest days and work days in one year, such as 0101-0103;0104, a malformed line
+   * is treated as no adjusted days, so the year is still loaded and never read again */
+  private static Year parse(int year, String line) {
+    int separator = line.indexOf(';');
+    long[] rest = new long[WORDS_IN_YEAR];
+    long[] work = new long[WORDS_IN_YEAR];
+    int start = LunarConverter.toEpochDay(year, 0, 1);
+    try {
+      parseDays(separator < 0 ? line : line.substring(0, separator), year, start, rest);
+      if (separator >= 0) {
+        parseDays(line.substring(separator + 1), year, start, work);
+      }
+    } catch (IllegalArgumentException e) {
+      return EMPTY;
+    }
+
+    return new Year(rest, work);
+  }
+
+  /* parse days separated by comma into bitset */
+  private static void parseDays(String days, int year, int yearStart, long[] bits) {
+    for (String range : days.split(",")) {
+      range = range.trim();
+      if (range.length() == 0) {
+        continue;
+      }
+
+      int dash = range.indexOf('-');
+      int first = parseDay(year, dash < 0 ? range : range.substring(0, dash)) - yearStart;
+      int last = dash < 0 ? first : parseDay(year, range.substring(dash + 1)) - yearStart;
+      if (last < first) {
+        throw new IllegalArgumentException("Invalid range of days: " + range);
+      }
+      for (int day = first; day <= last; day++) {
+        bits[day >> 6] |= 1L << day;
+      }
+    }
+  }
+
+  /* parse day in MMDD format into epoch day */
+  private static int parseDay(int year, String day) {
+    int value = Integer.parseInt(day.trim());
+    int month = value / 100 - 1;
+    if (month < 0 || month > 11 || value % 100 < 1
+        || value % 100 > LunarConverter.getDaysInSolarMonth(year, month)) {
+      throw new IllegalArgumentException("Invalid day: " + day);
+    }
+
+    return LunarConverter.toEpochDay(year, month, value % 100);
+  }
+
+  /* to check if the bit of day was set */
+  private static boolean isSet(long[] bits, int dayOfYear) {
+    return (bits[dayOfYear >> 6] & 1L << dayOfYear) != 0;
+  }
+
+  /* close the stream quietly */
+  private static void close(Closeable closeable) {
+    try {
+      closeable.close();
+    } catch (IOException e) {
+      /* ignore */
+    }
+  }
+
+  /* adjusted days in one year */
+  private static final class Year {
+    private final long[] rest;
+    private final long[] work;
+
+    Year(long[] rest, long[] work) {
+      this.rest = rest;
+      this.work = work;
+    }
+  }
+}
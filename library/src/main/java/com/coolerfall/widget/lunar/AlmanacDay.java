@@ -0,0 +1,118 @@
+package com.coolerfall.widget.lunar;
+
+/**
+ * The almanac of one day, all the fields are computed together in one pass with the
+ * precomputed tables of {@link Lunar}, see {@link Lunar#getAlmanacDay()}. The strings
+ * are resolved from default {@link LunarLocale} and shared by all the days, so no new
+ * string will be created.
+ * <p>
+ * This class is immutable and thread safe.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public final class AlmanacDay {
+  private final int epochDay;
+  private final int cyclicalDay;
+  private final int wielding;
+  private final String pengzuHeavenly;
+  private final String pengzuEarthly;
+  private final String conflictEvilSpirit;
+  private final String fiveElements;
+  private final String fetusGod;
+  private final String twentyEightStar;
+
+  AlmanacDay(int epochDay, int cyclicalDay, int wielding, String pengzuHeavenly,
+      String pengzuEarthly, String conflictEvilSpirit, String fiveElements, String fetusGod,
+      String twentyEightStar) {
+    this.epochDay = epochDay;
+    this.cyclicalDay = cyclicalDay;
+    this.wielding = wielding;
+    this.pengzuHeavenly = pengzuHeavenly;
+    this.pengzuEarthly = pengzuEarthly;
+    this.conflictEvilSpirit = conflictEvilSpirit;
+    this.fiveElements = fiveElements;
+    this.fetusGod = fetusGod;
+    this.twentyEightStar = twentyEightStar;
+  }
+
+  /**
+   * Get the epoch day of this day.
+   *
+   * @return epoch day
+   */
+  public int getEpochDay() {
+    return epochDay;
+  }
+
+  /**
+   * Get the index of this day in Heavenly Stems and Earthly Branches.
+   *
+   * @return cyclical day from 0 to 59
+   */
+  public int getCyclicalDay() {
+    return cyclicalDay;
+  }
+
+  /**
+   * Get the index of star duty, see {@link Lunar#getWielding()}.
+   *
+   * @return the index from 0 to 11
+   */
+  public int getWielding() {
+    return wielding;
+  }
+
+  /**
+   * Get Pengzu one hundred dread of Heavenly Stems.
+   *
+   * @return Pengzu one hundred dread
+   */
+  public String getPengzuHeavenly() {
+    return pengzuHeavenly;
+  }
+
+  /**
+   * Get Pengzu one hundred dread of Earthly Branches.
+   *
+   * @return Pengzu one hundred dread
+   */
+  public String getPengzuEarthly() {
+    return pengzuEarthly;
+  }
+
+  /**
+   * Get confilict evil spirit.
+   *
+   * @return evil spirit
+   */
+  public String getConflictEvilSpirit() {
+    return conflictEvilSpirit;
+  }
+
+  /**
+   * Get five elements with star duty.
+   *
+   * @return five elements description
+   */
+  public String getFiveElements() {
+    return fiveElements;
+  }
+
+  /**
+   * Get the fetus god description.
+   *
+   * @return fetus god description
+   */
+  public String getFetusGod() {
+    return fetusGod;
+  }
+
+  /**
+   * Get star description.
+   *
+   * @return star description
+   */
+  public String getTwentyEightStar() {
+    return twentyEightStar;
+  }
+}
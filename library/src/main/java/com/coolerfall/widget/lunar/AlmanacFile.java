@@ -0,0 +1,371 @@
+package com.coolerfall.widget.lunar;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A binary file of almanac generated from {@link Lunar}, which can be memory mapped and
+ * queried without deserializing, so processes can share the almanac instead of computing
+ * again. All the values are big endian:
+ * <pre>
+ * header  | magic(4) | version(2) | record size(2) | start epoch day(4) | day count(4)
+ *         | string pool offset(4) | string pool size(4) | reserved(8) |
+ * records | packed lunar(4) | days in lunar month(1) | cyclical year(1) | cyclical month(1)
+ *         | cyclical day(1) | solar term(1) | wielding(1) | star(2) | lunar holiday(2)
+ *         | solar holiday(2) |
+ * strings | count(4) | end offsets(4 * count) | utf-8 bytes |
+ * </pre>
+ * The star and holidays in records are indices of strings in string pool, -1 if none,
+ * the strings are in default {@link LunarLocale} when the file is written.
+ * <p>
+ * This class is thread safe.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public final class AlmanacFile implements Closeable {
+  /** The magic number in the beginning of almanac file. */
+  public static final int MAGIC = 0x4c554e52;
+
+  /** The version of file format. */
+  public static final int VERSION = 1;
+
+  private static final int HEADER_SIZE = 32;
+  private static final int RECORD_SIZE = 16;
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final RandomAccessFile file;
+  private final MappedByteBuffer buffer;
+  private final int startEpochDay;
+  private final int dayCount;
+  private final int stringOffset;
+  private final String[] strings;
+
+  private AlmanacFile(RandomAccessFile file, MappedByteBuffer buffer) throws IOException {
+    this.file = file;
+    this.buffer = buffer;
+
+    long size = buffer.capacity();
+    if (size < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+      throw new IOException("Not an almanac file");
+    }
+    if (buffer.getShort(4) != VERSION || buffer.getShort(6) != RECORD_SIZE) {
+      throw new IOException("Unsupported almanac file version: " + buffer.getShort(4));
+    }
+
+    startEpochDay = buffer.getInt(8);
+    dayCount = buffer.getInt(12);
+    int poolOffset = buffer.getInt(16);
+    int poolSize = buffer.getInt(20);
+    if (dayCount < 0 || poolOffset != HEADER_SIZE + (long) dayCount * RECORD_SIZE
+        || poolSize < 4 || poolOffset + (long) poolSize != size) {
+      throw new IOException("Corrupted almanac file");
+    }
+
+    int count = buffer.getInt(poolOffset);
+    if (count < 0 || count > (poolSize - 4) / 4) {
+      throw new IOException("Corrupted almanac file");
+    }
+    stringOffset = poolOffset + 4;
+
+    /* the end offsets of strings never decrease and never exceed the utf-8 bytes */
+    int dataSize = poolSize - 4 - count * 4;
+    int end = 0;
+    for (int i = 0; i < count; i++) {
+      int next = buffer.getInt(stringOffset + i * 4);
+      if (next < end || next > dataSize) {
+        throw new IOException("Corrupted almanac file");
+      }
+      end = next;
+    }
+    strings = new String[count];
+  }
+
+  /**
+   * Open an almanac file and map it into memory.
+   *
+   * @param file the almanac file
+   * @return {@link AlmanacFile}
+   * @throws IOException if failed to read or the file is not a valid almanac file
+   */
+  public static AlmanacFile open(File file) throws IOException {
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+    try {
+      FileChannel channel = randomAccessFile.getChannel();
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new AlmanacFile(randomAccessFile, buffer);
+    } catch (IOException e) {
+      randomAccessFile.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Generate almanac file of the given days with {@link Lunar}.
+   *
+   * @param file the file to write
+   * @param startEpochDay the first epoch day
+   * @param endEpochDay the last epoch day, inclusive
+   * @throws IOException if failed to write
+   */
+  public static void generate(File file, int startEpochDay, int endEpochDay)
+      throws IOException {
+    if (startEpochDay > endEpochDay || startEpochDay < LunarAstronomy.MIN_EPOCH_DAY
+        || endEpochDay > LunarAstronomy.MAX_EPOCH_DAY) {
+      throw new IllegalArgumentException(
+          "Invalid range of epoch day: " + startEpochDay + " - " + endEpochDay);
+    }
+
+    int dayCount = endEpochDay - startEpochDay + 1;
+    ByteBuffer records = ByteBuffer.allocate(dayCount * RECORD_SIZE);
+    Map<String, Integer> pool = new HashMap<>();
+    List<String> strings = new ArrayList<>();
+    Lunar lunar = new Lunar();
+    for (int epochDay = startEpochDay; epochDay <= endEpochDay; epochDay++) {
+      int packedSolar = LunarConverter.toSolar(epochDay);
+      lunar.setDate(LunarConverter.getSolarYear(packedSolar),
+          LunarConverter.getSolarMonth(packedSolar), LunarConverter.getSolarDay(packedSolar));
+      int solarTerm = SolarTerm.getIndexOfDay(lunar.getSolarYear(), lunar.getSolarMonth(),
+          lunar.getSolarDay());
+
+      records.putInt(LunarConverter.packLunar(lunar.getLunarYearNum(), lunar.getLunarMonthNum(),
+          lunar.getLunarDayNum(), lunar.isLeapMonth()));
+      records.put((byte) lunar.getMaxDaysInLunarMonth());
+      records.put((byte) LunarConverter.getCyclicalYear(lunar.getSolarYear(),
+          lunar.getSolarMonth(), lunar.getSolarDay()));
+      records.put((byte) LunarConverter.getCyclicalMonth(lunar.getSolarYear(),
+          lunar.getSolarMonth(), lunar.getSolarDay()));
+      records.put((byte) lunar.getHeavenlyAndEarthly());
+      records.put((byte) solarTerm);
+      records.put((byte) lunar.getWielding());
+      records.putShort(intern(pool, strings, lunar.getTwentyEightStar()));
+      records.putShort(intern(pool, strings, lunar.getLunarHoliday()));
+      records.putShort(intern(pool, strings, lunar.getSolarHolidy()));
+    }
+
+    byte[][] bytes = new byte[strings.size()][];
+    int poolSize = 4 + strings.size() * 4;
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = strings.get(i).getBytes(UTF_8);
+      poolSize += bytes[i].length;
+    }
+
+    DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+    try {
+      out.writeInt(MAGIC);
+      out.writeShort(VERSION);
+      out.writeShort(RECORD_SIZE);
+      out.writeInt(startEpochDay);
+      out.writeInt(dayCount);
+      out.writeInt(HEADER_SIZE + dayCount * RECORD_SIZE);
+      out.writeInt(poolSize);
+      out.writeLong(0);
+      out.write(records.array());
+
+      out.writeInt(bytes.length);
+      int end = 0;
+      for (byte[] string : bytes) {
+        end += string.length;
+        out.writeInt(end);
+      }
+      for (byte[] string : bytes) {
+        out.write(string);
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  /* get the index of string in pool, add into pool if not existed */
+  private static short intern(Map<String, Integer> pool, List<String> strings, String string) {
+    if (string == null) {
+      return -1;
+    }
+
+    Integer index = pool.get(string);
+    if (index == null) {
+      index = strings.size();
+      pool.put(string, index);
+      strings.add(string);
+    }
+
+    return index.shortValue();
+  }
+
+  @Override public void close() throws IOException {
+    file.close();
+  }
+
+  /**
+   * Get the first epoch day in this file.
+   *
+   * @return epoch day
+   */
+  public int getStartEpochDay() {
+    return startEpochDay;
+  }
+
+  /**
+   * Get the last epoch day in this file.
+   *
+   * @return epoch day
+   */
+  public int getEndEpochDay() {
+    return startEpochDay + dayCount - 1;
+  }
+
+  /**
+   * To check if the given day is in this file.
+   *
+   * @param epochDay epoch day
+   * @return true if contained, otherwise return false
+   */
+  public boolean contains(int epochDay) {
+    return epochDay >= startEpochDay && epochDay - startEpochDay < dayCount;
+  }
+
+  /* get the offset of record for the given day */
+  private int offsetOf(int epochDay) {
+    if (!contains(epochDay)) {
+      throw new IllegalArgumentException("Epoch day not in almanac file: " + epochDay);
+    }
+
+    return HEADER_SIZE + (epochDay - startEpochDay) * RECORD_SIZE;
+  }
+
+  /* get the string in pool, decode if not decoded yet */
+  private String getString(int index) {
+    if (index < 0 || index >= strings.length) {
+      return null;
+    }
+
+    /* decoded string is immutable, it's fine if decoded more than once in racing */
+    String string = strings[index];
+    if (string == null) {
+      int dataOffset = stringOffset + strings.length * 4;
+      int start = index == 0 ? 0 : buffer.getInt(stringOffset + (index - 1) * 4);
+      int end = buffer.getInt(stringOffset + index * 4);
+      byte[] bytes = new byte[end - start];
+      for (int i = 0; i < bytes.length; i++) {
+        bytes[i] = buffer.get(dataOffset + start + i);
+      }
+      string = new String(bytes, UTF_8);
+      strings[index] = string;
+    }
+
+    return string;
+  }
+
+  /**
+   * Get packed lunar date of the given day.
+   *
+   * @param epochDay epoch day
+   * @return packed lunar date
+   */
+  public int getPackedLunar(int epochDay) {
+    return buffer.getInt(offsetOf(epochDay));
+  }
+
+  /**
+   * Get the count of days in lunar month of the given day.
+   *
+   * @param epochDay epoch day
+   * @return 29 or 30
+   */
+  public int getDaysInLunarMonth(int epochDay) {
+    return buffer.get(offsetOf(epochDay) + 4);
+  }
+
+  /**
+   * Get the index of year in Heavenly Stems and Earthly Branches.
+   *
+   * @param epochDay epoch day
+   * @return cyclical year from 0 to 59
+   */
+  public int getCyclicalYear(int epochDay) {
+    return buffer.get(offsetOf(epochDay) + 5);
+  }
+
+  /**
+   * Get the index of month in Heavenly Stems and Earthly Branches.
+   *
+   * @param epochDay epoch day
+   * @return cyclical month from 0 to 59
+   */
+  public int getCyclicalMonth(int epochDay) {
+    return buffer.get(offsetOf(epochDay) + 6);
+  }
+
+  /**
+   * Get the index of day in Heavenly Stems and Earthly Branches.
+   *
+   * @param epochDay epoch day
+   * @return cyclical day from 0 to 59
+   */
+  public int getCyclicalDay(int epochDay) {
+    return buffer.get(offsetOf(epochDay) + 7);
+  }
+
+  /**
+   * Get the index of solar term on the given day.
+   *
+   * @param epochDay epoch day
+   * @return the index of solar term, -1 if was not solar term
+   */
+  public int getSolarTermIndex(int epochDay) {
+    return buffer.get(offsetOf(epochDay) + 8);
+  }
+
+  /**
+   * Get the index of star duty, see {@link Lunar#getWielding()}.
+   *
+   * @param epochDay epoch day
+   * @return the index from 0 to 11
+   */
+  public int getWielding(int epochDay) {
+    return buffer.get(offsetOf(epochDay) + 9);
+  }
+
+  /**
+   * Get star description of the given day, see {@link Lunar#getTwentyEightStar()}.
+   *
+   * @param epochDay epoch day
+   * @return star description
+   */
+  public String getTwentyEightStar(int epochDay) {
+    return getString(buffer.getShort(offsetOf(epochDay) + 10));
+  }
+
+  /**
+   * Get lunar holiday of the given day.
+   *
+   * @param epochDay epoch day
+   * @return lunar holiday, null if not existed
+   */
+  public String getLunarHoliday(int epochDay) {
+    return getString(buffer.getShort(offsetOf(epochDay) + 12));
+  }
+
+  /**
+   * Get solar holiday of the given day.
+   *
+   * @param epochDay epoch day
+   * @return solar holiday, null if not existed
+   */
+  public String getSolarHoliday(int epochDay) {
+    return getString(buffer.getShort(offsetOf(epochDay) + 14));
+  }
+}
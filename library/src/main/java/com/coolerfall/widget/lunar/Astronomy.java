@@ -0,0 +1,307 @@
+package com.coolerfall.widget.lunar;
+
+/**
+ * Astronomical algorithms for the times of new moons and solar longitudes, based on
+ * <i>Astronomical Algorithms</i> by Jean Meeus. All the times are Julian Ephemeris Days
+ * in Terrestrial Time unless stated otherwise, see {@link #toUniversalTime(double)}.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+final class Astronomy {
+  /* Julian day of 1970-01-01 00:00 UT */
+  static final double JD_EPOCH = 2440587.5;
+
+  /* Julian day of J2000.0 */
+  private static final double J2000 = 2451545.0;
+
+  /* the mean synodic month in days */
+  static final double SYNODIC_MONTH = 29.530588861;
+
+  /* Julian ephemeris day of the mean new moon in 2000-01-06 */
+  private static final double NEW_MOON_BASE = 2451550.09766;
+
+  /* the mean tropical year in days */
+  private static final double TROPICAL_YEAR = 365.242189;
+
+  private static final double DEGREE = Math.PI / 180;
+
+  /* arguments of the additional corrections for new moon: base, coefficient of k, amplitude */
+  private static final double[] NEW_MOON_PLANETARY = {
+      299.77, 0.107408, 0.000325, 251.88, 0.016321, 0.000165, 251.83, 26.651886, 0.000164,
+      349.42, 36.412478, 0.000126, 84.66, 18.206239, 0.000110, 141.74, 53.303771, 0.000062,
+      207.14, 2.453732, 0.000060, 154.84, 7.306860, 0.000056, 34.52, 27.261239, 0.000047,
+      207.19, 0.121824, 0.000042, 291.34, 1.844379, 0.000040, 161.72, 24.198154, 0.000037,
+      239.56, 25.513099, 0.000035, 331.55, 3.592518, 0.000023
+  };
+
+  /* truncated VSOP87 series of heliocentric longitude of the Earth: amplitude, phase, frequency */
+  private static final double[][] EARTH_LONGITUDE = {
+      {
+          175347046, 0, 0, 3341656, 4.6692568, 6283.07585, 34894, 4.6261, 12566.1517, 3497,
+          2.7441, 5753.3849, 3418, 2.8289, 3.5231, 3136, 3.6277, 77713.7715, 2676, 4.4181,
+          7860.4194, 2343, 6.1352, 3930.2097, 1324, 0.7425, 11506.7698, 1273, 2.0371, 529.691,
+          1199, 1.1096, 1577.3435, 990, 5.233, 5884.927, 902, 2.045, 26.298, 857, 3.508, 398.149,
+          780, 1.179, 5223.694, 753, 2.533, 5507.553, 505, 4.583, 18849.228, 492, 4.205, 775.523,
+          357, 2.92, 0.067, 317, 5.849, 11790.629, 284, 1.899, 796.298, 271, 0.315, 10977.079,
+          243, 0.345, 5486.778, 206, 4.806, 2544.314, 205, 1.869, 5573.143, 202, 2.458, 6069.777,
+          156, 0.833, 213.299, 132, 3.411, 2942.463, 126, 1.083, 20.775, 115, 0.645, 0.98, 103,
+          0.636, 4694.003, 102, 0.976, 15720.839, 102, 4.267, 7.114, 99, 6.21, 2146.17, 98, 0.68,
+          155.42, 86, 5.98, 161000.69, 85, 1.3, 6275.96, 85, 3.67, 71430.7, 80, 1.81, 17260.15,
+          79, 3.04, 12036.46, 75, 1.76, 5088.63, 74, 3.5, 3154.69, 74, 4.68, 801.82, 70, 0.83,
+          9437.76, 62, 3.98, 8827.39, 61, 1.82, 7084.9, 57, 2.78, 6286.6, 56, 4.39, 14143.5, 56,
+          3.47, 6279.55, 52, 0.19, 12139.55, 52, 1.33, 1748.02, 51, 0.28, 5856.48, 49, 0.49,
+          1194.45, 41, 5.37, 8429.24, 41, 2.4, 19651.05, 39, 6.17, 10447.39, 37, 6.04, 10213.29,
+          37, 2.57, 1059.38, 36, 1.71, 2352.87, 36, 1.78, 6812.77, 33, 0.59, 17789.85, 30, 0.44,
+          83996.85, 30, 2.74, 1349.87, 25, 3.16, 4690.48
+      }, {
+          628331966747.0, 0, 0, 206059, 2.678235, 6283.07585, 4303, 2.6351, 12566.1517, 425,
+          1.59, 3.523, 119, 5.796, 26.298, 109, 2.966, 1577.344, 93, 2.59, 18849.23, 72, 1.14,
+          529.69, 68, 1.87, 398.15, 67, 4.41, 5507.55, 59, 2.89, 5223.69, 56, 2.17, 155.42, 45,
+          0.4, 796.3, 36, 0.47, 775.52, 29, 2.65, 7.11, 21, 5.34, 0.98, 19, 1.85, 5486.78, 19,
+          4.97, 213.3, 17, 2.99, 6275.96, 16, 0.03, 2544.31, 16, 1.43, 2146.17, 15, 1.21,
+          10977.08, 12, 2.83, 1748.02, 12, 3.26, 5088.63, 12, 5.27, 1194.45, 12, 2.08, 4694.0, 11,
+          0.77, 553.57, 10, 1.3, 6286.6, 10, 4.24, 1349.87, 9, 2.7, 242.73, 9, 5.64, 951.72, 8,
+          5.3, 2352.87, 6, 2.65, 9437.76, 6, 4.67, 4690.48
+      }, {
+          52919, 0, 0, 8720, 1.0721, 6283.0758, 309, 0.867, 12566.152, 27, 0.05, 3.52, 16, 5.19,
+          26.3, 16, 3.68, 155.42, 10, 0.76, 18849.23, 9, 2.06, 77713.77, 7, 0.83, 775.52, 5, 4.66,
+          1577.34, 4, 1.03, 7.11, 4, 3.44, 5573.14, 3, 5.14, 796.3, 3, 6.05, 5507.55, 3, 1.19,
+          242.73, 3, 6.12, 529.69, 3, 0.31, 398.15, 3, 2.28, 553.57, 2, 4.38, 5223.69, 2, 3.75,
+          0.98
+      }, {
+          289, 5.844, 6283.076, 35, 0, 0, 17, 5.49, 12566.15, 3, 5.2, 155.42, 1, 4.72, 3.52, 1,
+          5.3, 18849.23, 1, 5.97, 242.73
+      }, {
+          114, 3.142, 0, 8, 4.13, 6283.08, 1, 3.84, 12566.15
+      }, {
+          1, 3.14, 0
+      }
+  };
+
+  private Astronomy() {
+
+  }
+
+  /**
+   * Get the time of new moon with the lunation number.
+   *
+   * @param k lunation number, 0 is the new moon in 2000-01-06
+   * @return Julian ephemeris day
+   */
+  static double newMoon(int k) {
+    double t = k / 1236.85;
+    double t2 = t * t;
+    double t3 = t2 * t;
+    double t4 = t3 * t;
+    double jde = NEW_MOON_BASE + SYNODIC_MONTH * k + 0.00015437 * t2 - 0.000000150 * t3
+        + 0.00000000073 * t4;
+
+    double e = 1 - 0.002516 * t - 0.0000074 * t2;
+    double m = (2.5534 + 29.10535670 * k - 0.0000014 * t2 - 0.00000011 * t3) * DEGREE;
+    double mp = (201.5643 + 385.81693528 * k + 0.0107582 * t2 + 0.00001238 * t3
+        - 0.000000058 * t4) * DEGREE;
+    double f = (160.7108 + 390.67050284 * k - 0.0016118 * t2 - 0.00000227 * t3
+        + 0.000000011 * t4) * DEGREE;
+    double omega = (124.7746 - 1.56375588 * k + 0.0020672 * t2 + 0.00000215 * t3) * DEGREE;
+
+    jde += -0.40720 * Math.sin(mp)
+        + 0.17241 * e * Math.sin(m)
+        + 0.01608 * Math.sin(2 * mp)
+        + 0.01039 * Math.sin(2 * f)
+        + 0.00739 * e * Math.sin(mp - m)
+        - 0.00514 * e * Math.sin(mp + m)
+        + 0.00208 * e * e * Math.sin(2 * m)
+        - 0.00111 * Math.sin(mp - 2 * f)
+        - 0.00057 * Math.sin(mp + 2 * f)
+        + 0.00056 * e * Math.sin(2 * mp + m)
+        - 0.00042 * Math.sin(3 * mp)
+        + 0.00042 * e * Math.sin(m + 2 * f)
+        + 0.00038 * e * Math.sin(m - 2 * f)
+        - 0.00024 * e * Math.sin(2 * mp - m)
+        - 0.00017 * Math.sin(omega)
+        - 0.00007 * Math.sin(mp + 2 * m)
+        + 0.00004 * Math.sin(2 * mp - 2 * f)
+        + 0.00004 * Math.sin(3 * m)
+        + 0.00003 * Math.sin(mp + m - 2 * f)
+        + 0.00003 * Math.sin(2 * mp + 2 * f)
+        - 0.00003 * Math.sin(mp + m + 2 * f)
+        + 0.00003 * Math.sin(mp - m + 2 * f)
+        - 0.00002 * Math.sin(mp - m - 2 * f)
+        - 0.00002 * Math.sin(3 * mp + m)
+        + 0.00002 * Math.sin(4 * mp);
+
+    for (int i = 0; i < NEW_MOON_PLANETARY.length; i += 3) {
+      double a = NEW_MOON_PLANETARY[i] + NEW_MOON_PLANETARY[i + 1] * k;
+      if (i == 0) {
+        a -= 0.009173 * t2;
+      }
+      jde += NEW_MOON_PLANETARY[i + 2] * Math.sin(a * DEGREE);
+    }
+
+    return jde;
+  }
+
+  /**
+   * Get the lunation number of the mean new moon nearest to the given time.
+   *
+   * @param jde Julian ephemeris day
+   * @return lunation number
+   */
+  static int lunation(double jde) {
+    return (int) Math.round((jde - NEW_MOON_BASE) / SYNODIC_MONTH);
+  }
+
+  /**
+   * Get the elongation of the moon from the sun approximately, the low accuracy
+   * expression of phase angle in chapter 48.
+   *
+   * @param jde Julian ephemeris day
+   * @return elongation in degrees from 0 to 360, 0 is new moon and 180 is full moon
+   */
+  static double moonElongation(double jde) {
+    double t = (jde - J2000) / 36525;
+    double d = (297.8501921 + 445267.1114034 * t) * DEGREE;
+    double m = (357.5291092 + 35999.0502909 * t) * DEGREE;
+    double mp = (134.9633964 + 477198.8675055 * t) * DEGREE;
+    double degrees = d / DEGREE + 6.289 * Math.sin(mp) - 2.100 * Math.sin(m)
+        + 1.274 * Math.sin(2 * d - mp) + 0.658 * Math.sin(2 * d) + 0.214 * Math.sin(2 * mp)
+        + 0.110 * Math.sin(d);
+
+    degrees %= 360;
+    return degrees < 0 ? degrees + 360 : degrees;
+  }
+
+  /**
+   * Get the apparent geocentric longitude of the sun.
+   *
+   * @param jde Julian ephemeris day
+   * @return longitude in degrees from 0 to 360
+   */
+  static double solarLongitude(double jde) {
+    double tau = (jde - J2000) / 365250;
+    double longitude = 0;
+    double power = 1;
+    for (double[] series : EARTH_LONGITUDE) {
+      double sum = 0;
+      for (int i = 0; i < series.length; i += 3) {
+        sum += series[i] * Math.cos(series[i + 1] + series[i + 2] * tau);
+      }
+      longitude += sum * power;
+      power *= tau;
+    }
+
+    /* heliocentric longitude of the earth to geocentric longitude of the sun */
+    double degrees = longitude / 1e8 / DEGREE + 180;
+
+    /* conversion to FK5, nutation and aberration */
+    double t = tau * 10;
+    double omega = (125.04452 - 1934.136261 * t) * DEGREE;
+    double sun = (280.4665 + 36000.7698 * t) * DEGREE;
+    double moon = (218.3165 + 481267.8813 * t) * DEGREE;
+    double nutation = -17.20 * Math.sin(omega) - 1.32 * Math.sin(2 * sun)
+        - 0.23 * Math.sin(2 * moon) + 0.21 * Math.sin(2 * omega);
+    degrees += (-0.09033 + nutation - 20.4898) / 3600;
+
+    degrees %= 360;
+    return degrees < 0 ? degrees + 360 : degrees;
+  }
+
+  /**
+   * Get the time when the apparent longitude of the sun reaches the given longitude,
+   * near the given time.
+   *
+   * @param longitude the longitude in degrees
+   * @param jde Julian ephemeris day not far from the result, within half a year
+   * @return Julian ephemeris day
+   */
+  static double solarTerm(double longitude, double jde) {
+    for (int i = 0; i < 20; i++) {
+      double delta = longitude - solarLongitude(jde);
+      delta -= Math.floor(delta / 360 + 0.5) * 360;
+      jde += delta * TROPICAL_YEAR / 360;
+      if (Math.abs(delta) < 1e-7) {
+        break;
+      }
+    }
+
+    return jde;
+  }
+
+  /**
+   * Get the time of the March equinox in the given year approximately.
+   *
+   * @param year the year
+   * @return Julian ephemeris day
+   */
+  static double marchEquinox(int year) {
+    return 2451623.80984 + TROPICAL_YEAR * (year - 2000);
+  }
+
+  /**
+   * Convert Terrestrial Time into Universal Time.
+   *
+   * @param jde Julian ephemeris day
+   * @return Julian day in Universal Time
+   */
+  static double toUniversalTime(double jde) {
+    double year = 2000 + (jde - J2000) / 365.25;
+    return jde - deltaT(year) / 86400;
+  }
+
+  /**
+   * Get the difference between Terrestrial Time and Universal Time, the polynomial
+   * expressions by Espenak and Meeus.
+   *
+   * @param y decimal year
+   * @return delta T in seconds
+   */
+  static double deltaT(double y) {
+    double t;
+    if (y < 1600) {
+      double u = (y - 1820) / 100;
+      if (y < 500) {
+        return -20 + 32 * u * u;
+      }
+
+      u = (y - 1000) / 100;
+      return 1574.2 + u * (-556.01 + u * (71.23472 + u * (0.319781 + u * (-0.8503463
+          + u * (-0.005050998 + u * 0.0083572073)))));
+    } else if (y < 1700) {
+      t = y - 1600;
+      return 120 + t * (-0.9808 + t * (-0.01532 + t / 7129));
+    } else if (y < 1800) {
+      t = y - 1700;
+      return 8.83 + t * (0.1603 + t * (-0.0059285 + t * (0.00013336 - t / 1174000)));
+    } else if (y < 1860) {
+      t = y - 1800;
+      return 13.72 + t * (-0.332447 + t * (0.0068612 + t * (0.0041116 + t * (-0.00037436
+          + t * (0.0000121272 + t * (-0.0000001699 + t * 0.000000000875))))));
+    } else if (y < 1900) {
+      t = y - 1860;
+      return 7.62 + t * (0.5737 + t * (-0.251754 + t * (0.01680668 + t * (-0.0004473624
+          + t / 233174))));
+    } else if (y < 1920) {
+      t = y - 1900;
+      return -2.79 + t * (1.494119 + t * (-0.0598939 + t * (0.0061966 - t * 0.000197)));
+    } else if (y < 1941) {
+      t = y - 1920;
+      return 21.20 + t * (0.84493 + t * (-0.076100 + t * 0.0020936));
+    } else if (y < 1961) {
+      t = y - 1950;
+      return 29.07 + t * (0.407 + t * (-1.0 / 233 + t / 2547));
+    } else if (y < 1986) {
+      t = y - 1975;
+      return 45.45 + t * (1.067 + t * (-1.0 / 260 - t / 718));
+    } else if (y < 2005) {
+      t = y - 2000;
+      return 63.86 + t * (0.3345 + t * (-0.060374 + t * (0.0017275 + t * (0.000651814
+          + t * 0.00002373599))));
+    } else if (y < 2050) {
+      t = y - 2000;
+      return 62.92 + t * (0.32217 + t * 0.005589);
+    }
+
+    double u = (y - 1820) / 100;
+    return y < 2150 ? -20 + 32 * u * u - 0.5628 * (2150 - y) : -20 + 32 * u * u;
+  }
+}
@@ -0,0 +1,311 @@
+package com.coolerfall.widget.lunar;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A set of {@link HolidayRule}. The rules are compiled into a sorted index of epoch day
+ * for each year when the year is queried first time, then the holidays of any day can be
+ * found with one table lookup. The id of holiday is the index of rule in this set.
+ * <p>
+ * This class is thread safe.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public final class HolidayCalendar {
+  /** The max count of rules, so the id of holiday always fits in short. */
+  public static final int MAX_RULE_COUNT = Short.MAX_VALUE;
+
+  private static final int MIN_YEAR = LunarAstronomy.MIN_YEAR;
+  private static final int MAX_YEAR = LunarAstronomy.MAX_YEAR + 1;
+
+  private static final int ANY = 0;
+  private static final int LUNAR = 1;
+  private static final int SOLAR = 2;
+
+  private static volatile HolidayCalendar defaultCalendar = createDefault();
+
+  /* increased every time the default holiday calendar was set */
+  private static final AtomicInteger GENERATION = new AtomicInteger();
+
+  private final HolidayRule[] rules;
+  private final boolean isBuiltIn;
+  private final AtomicReferenceArray<Year> years =
+      new AtomicReferenceArray<>(MAX_YEAR - MIN_YEAR + 1);
+
+  /**
+   * The constructor of holiday calendar. If there are more than one holiday in one day,
+   * the holiday with smaller id comes first.
+   *
+   * @param rules all the rules of holiday, no more than {@link #MAX_RULE_COUNT}
+   * @throws IllegalArgumentException if there are too many rules
+   */
+  public HolidayCalendar(HolidayRule... rules) {
+    this(rules, false);
+  }
+
+  private HolidayCalendar(HolidayRule[] rules, boolean isBuiltIn) {
+    if (rules.length > MAX_RULE_COUNT) {
+      throw new IllegalArgumentException("Too many rules: " + rules.length);
+    }
+
+    this.rules = rules.clone();
+    this.isBuiltIn = isBuiltIn;
+  }
+
+  /* all the holidays built in, the names follow default locale when queried */
+  private static HolidayCalendar createDefault() {
+    return new HolidayCalendar(createDefaultRules(), true);
+  }
+
+  /**
+   * Create the built in holidays with the extra holidays 清明节, 母亲节 and 父亲节, which are
+   * after the built in holidays, so the ids of built in holidays are kept. The names follow
+   * default {@link LunarLocale} like the built in holidays. Use it with
+   * {@link #setDefault(HolidayCalendar)} to show the extra holidays.
+   *
+   * @return {@link HolidayCalendar}
+   */
+  public static HolidayCalendar createWithExtraHolidays() {
+    HolidayRule[] rules = createDefaultRules();
+    HolidayRule[] extraRules = createExtraRules();
+    HolidayRule[] allRules = Arrays.copyOf(rules, rules.length + extraRules.length);
+    System.arraycopy(extraRules, 0, allRules, rules.length, extraRules.length);
+    return new HolidayCalendar(allRules, true);
+  }
+
+  /* all the rules of holidays built in */
+  private static HolidayRule[] createDefaultRules() {
+    return new HolidayRule[] {
+        HolidayRule.lunar(1, 1, "春节"), HolidayRule.lunar(1, 15, "元宵节"),
+        HolidayRule.lunar(5, 5, "端午节"), HolidayRule.lunar(7, 7, "七夕节"),
+        HolidayRule.lunar(7, 15, "中元节"), HolidayRule.lunar(8, 15, "中秋节"),
+        HolidayRule.lunar(9, 9, "重阳节"), HolidayRule.lunar(12, 8, "腊八节"),
+        HolidayRule.lunar(12, 23, "北方小年"), HolidayRule.lunar(12, 24, "南方小年"),
+        HolidayRule.lunarMonthEnd(12, "除夕"),
+
+        HolidayRule.solar(1, 1, "元旦节"), HolidayRule.solar(2, 14, "情人节"),
+        HolidayRule.solar(3, 8, "妇女节"), HolidayRule.solar(3, 12, "植树节"),
+        HolidayRule.solar(3, 15, "消费者权益日"), HolidayRule.solar(3, 21, "世界森林日"),
+        HolidayRule.solar(4, 1, "愚人节"), HolidayRule.solar(4, 7, "世界卫生日"),
+        HolidayRule.solar(4, 22, "世界地球日"), HolidayRule.solar(5, 1, "劳动节"),
+        HolidayRule.solar(5, 4, "青年节"), HolidayRule.solar(5, 31, "世界无烟日"),
+        HolidayRule.solar(6, 1, "儿童节"), HolidayRule.solar(6, 26, "禁毒日"),
+        HolidayRule.solar(7, 1, "建党节"), HolidayRule.solar(8, 1, "建军节"),
+        HolidayRule.solar(8, 15, "抗战胜利"), HolidayRule.solar(9, 10, "教师节"),
+        HolidayRule.solar(9, 28, "孔子诞辰"), HolidayRule.solar(10, 1, "国庆节"),
+        HolidayRule.solar(12, 20, "澳门回归"), HolidayRule.solar(12, 24, "平安夜"),
+        HolidayRule.solar(12, 25, "圣诞节")
+    };
+  }
+
+  /* the rules of extra holidays, not shown unless set */
+  private static HolidayRule[] createExtraRules() {
+    return new HolidayRule[] {
+        HolidayRule.solarTerm(6, 0, "清明节"), HolidayRule.weekday(5, 2, 1, "母亲节"),
+        HolidayRule.weekday(6, 3, 1, "父亲节")
+    };
+  }
+
+  /**
+   * Get the holiday calendar used by {@link Lunar}.
+   *
+   * @return {@link HolidayCalendar}
+   */
+  public static HolidayCalendar getDefault() {
+    return defaultCalendar;
+  }
+
+  /**
+   * Set the holiday calendar used by {@link Lunar}.
+   *
+   * @param calendar {@link HolidayCalendar}, null to restore built in holidays
+   */
+  public static void setDefault(HolidayCalendar calendar) {
+    defaultCalendar = calendar == null ? createDefault() : calendar;
+    GENERATION.incrementAndGet();
+  }
+
+  /**
+   * Get the generation of default holiday calendar, which is changed every time the
+   * default holiday calendar was set, so the holidays resolved before can be refreshed.
+   *
+   * @return the generation of default holiday calendar
+   */
+  static int getGeneration() {
+    return GENERATION.get();
+  }
+
+  /**
+   * Get the count of rules in this holiday calendar.
+   *
+   * @return the count of rules
+   */
+  public int getRuleCount() {
+    return rules.length;
+  }
+
+  /**
+   * Get the rule of holiday with the id of holiday, the names of built in rules are in
+   * simplified Chinese.
+   *
+   * @param id the id of holiday
+   * @return {@link HolidayRule}
+   */
+  public HolidayRule getRule(int id) {
+    return rules[id];
+  }
+
+  /**
+   * Get the name of holiday with the id of holiday, the names of built in holidays are in
+   * default {@link LunarLocale}.
+   *
+   * @param id the id of holiday
+   * @return the name of holiday
+   */
+  public String getHolidayName(int id) {
+    String[] names = isBuiltIn ? LunarLocale.getLabels().getHolidayNames() : null;
+    return names == null || id >= names.length ? rules[id].getName() : names[id];
+  }
+
+  /**
+   * Get the id of holiday on the given day, the one with smallest id if more than one.
+   *
+   * @param epochDay epoch day
+   * @return the id of holiday, -1 if not existed
+   */
+  public int getHolidayId(int epochDay) {
+    return find(epochDay, ANY);
+  }
+
+  /**
+   * Get the id of lunar holiday on the given day.
+   *
+   * @param epochDay epoch day
+   * @return the id of holiday, -1 if not existed
+   */
+  public int getLunarHolidayId(int epochDay) {
+    return find(epochDay, LUNAR);
+  }
+
+  /**
+   * Get the id of holiday in the Gregorian calendar on the given day.
+   *
+   * @param epochDay epoch day
+   * @return the id of holiday, -1 if not existed
+   */
+  public int getSolarHolidayId(int epochDay) {
+    return find(epochDay, SOLAR);
+  }
+
+  /* find the first holiday of the kind on the given day */
+  private int find(int epochDay, int kind) {
+    Year year = getYear(epochDay);
+    if (year == null) {
+      return -1;
+    }
+
+    for (int i = year.first[epochDay - year.start]; i >= 0 && i < year.ids.length
+        && year.epochDays[i] == epochDay; i++) {
+      int id = year.ids[i];
+      if (kind == ANY || (kind == LUNAR) == rules[id].isLunar()) {
+        return id;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Get all the holidays in the Gregorian year, sorted by epoch day and id.
+   *
+   * @param year the year
+   * @return | epoch day(32 - 63 bit) | id of holiday(0 - 31 bit) |, empty if out of range
+   */
+  long[] getHolidaysInYear(int year) {
+    Year compiled = getCompiledYear(year);
+    if (compiled == null) {
+      return new long[0];
+    }
+
+    long[] holidays = new long[compiled.ids.length];
+    for (int i = 0; i < holidays.length; i++) {
+      holidays[i] = (long) compiled.epochDays[i] << 32 | compiled.ids[i];
+    }
+
+    return holidays;
+  }
+
+  /* get the compiled year which the given day belongs to */
+  private Year getYear(int epochDay) {
+    int packedSolar = LunarConverter.toSolar(epochDay);
+    return getCompiledYear(LunarConverter.getSolarYear(packedSolar));
+  }
+
+  /* get the compiled year of the Gregorian calendar */
+  private Year getCompiledYear(int year) {
+    if (year < MIN_YEAR || year > MAX_YEAR) {
+      return null;
+    }
+
+    /* compiled year is immutable, it's fine if compiled more than once in racing */
+    Year compiled = years.get(year - MIN_YEAR);
+    if (compiled == null) {
+      compiled = compile(year);
+      years.set(year - MIN_YEAR, compiled);
+    }
+
+    return compiled;
+  }
+
+  /* compile all the rules into sorted index of the given year */
+  private Year compile(int year) {
+    int start = LunarConverter.toEpochDay(year, 0, 1);
+    int end = LunarConverter.toEpochDay(year + 1, 0, 1);
+    long[] holidays = new long[rules.length * 3];
+    int count = 0;
+
+    for (int id = 0; id < rules.length; id++) {
+      HolidayRule rule = rules[id];
+
+      /* lunar holidays maybe in last lunar year, and the offset of solar term maybe moves
+       * the holiday into last or next year, so the years around are checked for any rule */
+      for (int y = year - 1; y <= year + 1; y++) {
+        int epochDay = rule.getEpochDay(y);
+        if (epochDay != HolidayRule.NONE && epochDay >= start && epochDay < end) {
+          holidays[count++] = (long) (epochDay - start) << 32 | id;
+        }
+      }
+    }
+    Arrays.sort(holidays, 0, count);
+
+    int[] epochDays = new int[count];
+    int[] ids = new int[count];
+    int[] first = new int[end - start];
+    Arrays.fill(first, -1);
+    for (int i = count - 1; i >= 0; i--) {
+      int dayOfYear = (int) (holidays[i] >>> 32);
+      epochDays[i] = start + dayOfYear;
+      ids[i] = (int) holidays[i];
+      first[dayOfYear] = i;
+    }
+
+    return new Year(start, epochDays, ids, first);
+  }
+
+  /* the compiled holidays in one year of the Gregorian calendar */
+  private static final class Year {
+    private final int start;
+    private final int[] epochDays;
+    private final int[] ids;
+    private final int[] first;
+
+    Year(int start, int[] epochDays, int[] ids, int[] first) {
+      this.start = start;
+      this.epochDays = epochDays;
+      this.ids = ids;
+      this.first = first;
+    }
+  }
+}
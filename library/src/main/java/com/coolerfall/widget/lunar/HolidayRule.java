@@ -0,0 +1,183 @@
+package com.coolerfall.widget.lunar;
+
+/**
+ * A rule to find the day of holiday in a given year. All the months in rules are
+ * based-on 1, see the factory methods for supported rules.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public final class HolidayRule {
+  /** Returned by {@link #getEpochDay(int)} if the holiday is not existed in the year. */
+  public static final int NONE = Integer.MIN_VALUE;
+
+  private static final int TYPE_LUNAR = 0;
+  private static final int TYPE_SOLAR = 1;
+  private static final int TYPE_WEEKDAY = 2;
+  private static final int TYPE_LUNAR_MONTH_END = 3;
+  private static final int TYPE_SOLAR_TERM = 4;
+
+  private final int type;
+  private final int month;
+  private final int day;
+  private final int extra;
+  private final String name;
+
+  private HolidayRule(int type, int month, int day, int extra, String name) {
+    this.type = type;
+    this.month = month;
+    this.day = day;
+    this.extra = extra;
+    this.name = name;
+  }
+
+  /**
+   * Create a rule of holiday on fixed day in lunar calendar, never in leap month.
+   *
+   * @param month lunar month
+   * @param day lunar day
+   * @param name the name of holiday
+   * @return {@link HolidayRule}
+   */
+  public static HolidayRule lunar(int month, int day, String name) {
+    checkMonth(month);
+    return new HolidayRule(TYPE_LUNAR, month, day, 0, name);
+  }
+
+  /**
+   * Create a rule of holiday on fixed day in the Gregorian calendar.
+   *
+   * @param month the month, based-on 1
+   * @param day the day
+   * @param name the name of holiday
+   * @return {@link HolidayRule}
+   */
+  public static HolidayRule solar(int month, int day, String name) {
+    checkMonth(month);
+    return new HolidayRule(TYPE_SOLAR, month, day, 0, name);
+  }
+
+  /**
+   * Create a rule of holiday on the nth day of week in a month of the Gregorian calendar,
+   * such as Mother's Day on the second Sunday of May.
+   *
+   * @param month the month, based-on 1
+   * @param nth the nth day of week from 1 to 5, or -1 for the last one in month
+   * @param dayOfWeek day of week(1-Sunday, 7-Saturday)
+   * @param name the name of holiday
+   * @return {@link HolidayRule}
+   */
+  public static HolidayRule weekday(int month, int nth, int dayOfWeek, String name) {
+    checkMonth(month);
+    if (nth == 0 || nth < -5 || nth > 5) {
+      throw new IllegalArgumentException("Invalid nth day of week: " + nth);
+    }
+    if (dayOfWeek < 1 || dayOfWeek > 7) {
+      throw new IllegalArgumentException("Invalid day of week: " + dayOfWeek);
+    }
+
+    return new HolidayRule(TYPE_WEEKDAY, month, nth, dayOfWeek, name);
+  }
+
+  /**
+   * Create a rule of holiday on the last day of lunar month, such as New Year's Eve
+   * which maybe 29, maybe 30.
+   *
+   * @param month lunar month
+   * @param name the name of holiday
+   * @return {@link HolidayRule}
+   */
+  public static HolidayRule lunarMonthEnd(int month, String name) {
+    checkMonth(month);
+    return new HolidayRule(TYPE_LUNAR_MONTH_END, month, 0, 0, name);
+  }
+
+  /**
+   * Create a rule of holiday relative to a solar term, such as 清明节.
+   *
+   * @param index the index of solar term, see {@link SolarTerm}
+   * @param offset the days after solar term from -365 to 365, can be negative
+   * @param name the name of holiday
+   * @return {@link HolidayRule}
+   */
+  public static HolidayRule solarTerm(int index, int offset, String name) {
+    if (index < 0 || index >= SolarTerm.COUNT) {
+      throw new IllegalArgumentException("Invalid index of solar term: " + index);
+    }
+    if (offset < -365 || offset > 365) {
+      throw new IllegalArgumentException("Invalid offset of solar term: " + offset);
+    }
+
+    return new HolidayRule(TYPE_SOLAR_TERM, index / 2 + 1, offset, index, name);
+  }
+
+  /* check if the month is valid */
+  private static void checkMonth(int month) {
+    if (month < 1 || month > 12) {
+      throw new IllegalArgumentException("Invalid month: " + month);
+    }
+  }
+
+  /**
+   * Get the name of holiday.
+   *
+   * @return the name of holiday
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * To check if this holiday is in lunar calendar.
+   *
+   * @return true if was lunar holiday, otherwise return false
+   */
+  public boolean isLunar() {
+    return type == TYPE_LUNAR || type == TYPE_LUNAR_MONTH_END;
+  }
+
+  /**
+   * Get the epoch day of holiday in the given year. The year is lunar year for lunar
+   * holidays, otherwise is the year in the Gregorian calendar.
+   *
+   * @param year the year
+   * @return epoch day, or {@link #NONE} if the holiday is not existed in the year
+   */
+  public int getEpochDay(int year) {
+    if (isLunar()) {
+      if (year < LunarAstronomy.MIN_YEAR || year > LunarAstronomy.MAX_YEAR) {
+        return NONE;
+      }
+
+      int days = LunarAstronomy.getDaysInMonth(year, month, false);
+      if (type == TYPE_LUNAR_MONTH_END) {
+        return LunarAstronomy.fromLunar(year, month, days, false);
+      }
+
+      return day > days ? NONE : LunarAstronomy.fromLunar(year, month, day, false);
+    }
+
+    switch (type) {
+      case TYPE_SOLAR:
+        return day > LunarConverter.getDaysInSolarMonth(year, month - 1) ? NONE
+            : LunarConverter.toEpochDay(year, month - 1, day);
+      case TYPE_WEEKDAY:
+        return getWeekdayEpochDay(year);
+      default:
+        return SolarTerm.getEpochDay(year, extra) + day;
+    }
+  }
+
+  /* get the epoch day of the nth day of week in month */
+  private int getWeekdayEpochDay(int year) {
+    int first = LunarConverter.toEpochDay(year, month - 1, 1);
+    int last = LunarConverter.toEpochDay(year, month, 1) - 1;
+    int epochDay;
+    if (day > 0) {
+      epochDay = first + (extra - LunarConverter.getDayOfWeek(first) + 7) % 7 + (day - 1) * 7;
+    } else {
+      epochDay = last - (LunarConverter.getDayOfWeek(last) - extra + 7) % 7 + (day + 1) * 7;
+    }
+
+    return epochDay < first || epochDay > last ? NONE : epochDay;
+  }
+}
@@ -1,182 +1,38 @@
 package com.coolerfall.widget.lunar;
 
 import java.util.Calendar;
-import java.util.Date;
-import java.util.GregorianCalendar;
 import java.util.TimeZone;
 
 /**
- * Lunar calendar in 200 years from 1900.
+ * Lunar calendar from 1645 to 2999, see {@link LunarAstronomy}. The dates out of this range
+ * are rejected with {@link IllegalArgumentException}.
  *
  * @author Vincent Cheung (coolingfall@gmail.com)
  */
 public final class Lunar {
-  /**
-   * Lunar information in 200 years from 1900.
-   * <p>
-   * | 0 - 11(bit) | 12 - 15(bit) |
-   * month      leap month
-   * If last 4bit is 1111 or 0000 means no leap month.
-   * If the last 4bit in next data is 1111, the days of leap month is 30 days,
-   * otherwise, the days of leap month is 29days.
-   */
-  private static final int[] LUNR_INFO = {
-      0x4bd8, 0x4ae0, 0xa570, 0x54d5, 0xd260, 0xd950, 0x5554, 0x56af, 0x9ad0, 0x55d2, 0x4ae0,
-      0xa5b6, 0xa4d0, 0xd250, 0xd295, 0xb54f, 0xd6a0, 0xada2, 0x95b0, 0x4977, 0x497f, 0xa4b0,
-      0xb4b5, 0x6a50, 0x6d40, 0xab54, 0x2b6f, 0x9570, 0x52f2, 0x4970, 0x6566, 0xd4a0, 0xea50,
-      0x6a95, 0x5adf, 0x2b60, 0x86e3, 0x92ef, 0xc8d7, 0xc95f, 0xd4a0, 0xd8a6, 0xb55f, 0x56a0,
-      0xa5b4, 0x25df, 0x92d0, 0xd2b2, 0xa950, 0xb557, 0x6ca0, 0xb550, 0x5355, 0x4daf, 0xa5b0,
-      0x4573, 0x52bf, 0xa9a8, 0xe950, 0x6aa0, 0xaea6, 0xab50, 0x4b60, 0xaae4, 0xa570, 0x5260,
-      0xf263, 0xd950, 0x5b57, 0x56a0, 0x96d0, 0x4dd5, 0x4ad0, 0xa4d0, 0xd4d4, 0xd250, 0xd558,
-      0xb540, 0xb6a0, 0x95a6, 0x95bf, 0x49b0, 0xa974, 0xa4b0, 0xb27a, 0x6a50, 0x6d40, 0xaf46,
-      0xab60, 0x9570, 0x4af5, 0x4970, 0x64b0, 0x74a3, 0xea50, 0x6b58, 0x5ac0, 0xab60, 0x96d5,
-      0x92e0, 0xc960, 0xd954, 0xd4a0, 0xda50, 0x7552, 0x56a0, 0xabb7, 0x25d0, 0x92d0, 0xcab5,
-      0xa950, 0xb4a0, 0xbaa4, 0xad50, 0x55d9, 0x4ba0, 0xa5b0, 0x5176, 0x52bf, 0xa930, 0x7954,
-      0x6aa0, 0xad50, 0x5b52, 0x4b60, 0xa6e6, 0xa4e0, 0xd260, 0xea65, 0xd530, 0x5aa0, 0x76a3,
-      0x96d0, 0x4afb, 0x4ad0, 0xa4d0, 0xd0b6, 0xd25f, 0xd520, 0xdd45, 0xb5a0, 0x56d0, 0x55b2,
-      0x49b0, 0xa577, 0xa4b0, 0xaa50, 0xb255, 0x6d2f, 0xada0, 0x4b63, 0x937f, 0x49f8, 0x4970,
-      0x64b0, 0x68a6, 0xea5f, 0x6b20, 0xa6c4, 0xaaef, 0x92e0, 0xd2e3, 0xc960, 0xd557, 0xd4a0,
-      0xda50, 0x5d55, 0x56a0, 0xa6d0, 0x55d4, 0x52d0, 0xa9b8, 0xa950, 0xb4a0, 0xb6a6, 0xad50,
-      0x55a0, 0xaba4, 0xa5b0, 0x52b0, 0xb273, 0x6930, 0x7337, 0x6aa0, 0xad50, 0x4b55, 0x4b6f,
-      0xa570, 0x54e4, 0xd260, 0xe968, 0xd520, 0xdaa0, 0x6aa6, 0x56df, 0x4ae0, 0xa9d4, 0xa4d0,
-      0xd150, 0xf252, 0xd520
-  };
-
-  /* solar terms information */
-  private static final int[] SOLAR_TERM_INFO = {
-      0, 21208, 42467, 63836, 85337, 107014, 128867, 150921, 173149, 195551, 218072, 240693, 263343,
-      285989, 308563, 331033, 353350, 375494, 397447, 419210, 440795, 462224, 483532, 504758
-  };
-
-  /* Heavenly Stems */
-  private static final String[] HEAVENLY_STEMS = {
-      "甲", "乙", "丙", "丁", "戊", "己", "庚", "辛", "壬", "癸"
-  };
-
-  /* Earthly Branches */
-  private static final String[] EARTHLY_BRANCHES = {
-      "子", "丑", "寅", "卯", "辰", "巳", "午", "未", "申", "酉", "戌", "亥"
-  };
-
-  /* Chinese zodiac */
-  private static final String[] ZODIAC = {
-      "鼠", "牛", "虎", "兔", "龙", "蛇", "马", "羊", "猴", "鸡", "狗", "猪"
-  };
-
-  /* solar terms */
-  private static final String[] SOLAR_TERM = {
-      "小寒", "大寒", "立春", "雨水", "惊蛰", "春分", "清明", "谷雨", "立夏", "小满", "芒种", "夏至", "小暑", "大暑", "立秋",
-      "处暑", "白露", "秋分", "寒露", "霜降", "立冬", "小雪", "大雪", "冬至"
-  };
-
-  /* lunar string used in month and day */
-  private static final String[] LUNAR_STRING = {
-      "零", "一", "二", "三", "四", "五", "六", "七", "八", "九"
-  };
-
-  /* special lunar string */
-  private static final String[] LUNAR_SPEC_STRING = {
-      "初", "十", "廿", "卅", "正", "冬", "腊", "闰"
-  };
-
-  /* day of week in Chinese */
-  private static final String[] DAY_OF_WEEK_IN_CHINESE = {
-      "日", "一", "二", "三", "四", "五", "六",
-  };
-
-  /* all the lunar holidays */
-  private final Holiday[] lunarHolidays = new Holiday[] {
-      new Holiday(1, 1, "春节"), new Holiday(1, 15, "元宵节"), new Holiday(5, 5, "端午节"),
-      new Holiday(7, 7, "七夕节"), new Holiday(7, 15, "中元节"), new Holiday(8, 15, "中秋节"),
-      new Holiday(9, 9, "重阳节"), new Holiday(12, 8, "腊八节"), new Holiday(12, 23, "北方小年"),
-      new Holiday(12, 24, "南方小年")
-  };
-
-  /* all the solar days */
-  private final Holiday[] solarHolidays = new Holiday[] {
-      new Holiday(1, 1, "元旦节"), new Holiday(2, 14, "情人节"), new Holiday(3, 8, "妇女节"),
-      new Holiday(3, 12, "植树节"), new Holiday(3, 15, "消费者权益日"), new Holiday(3, 21, "世界森林日"),
-      new Holiday(4, 1, "愚人节"), new Holiday(4, 7, "世界卫生日"), new Holiday(4, 22, "世界地球日"),
-      new Holiday(5, 1, "劳动节"), new Holiday(5, 4, "青年节"), new Holiday(5, 31, "世界无烟日"),
-      new Holiday(6, 1, "儿童节"), new Holiday(6, 26, "禁毒日"), new Holiday(7, 1, "建党节"),
-      new Holiday(8, 1, "建军节"), new Holiday(8, 15, "抗战胜利"), new Holiday(9, 10, "教师节"),
-      new Holiday(9, 28, "孔子诞辰"), new Holiday(10, 1, "国庆节"), new Holiday(12, 20, "澳门回归"),
-      new Holiday(12, 24, "平安夜"), new Holiday(12, 25, "圣诞节"),
-  };
-
-  /* Pengzu hundred dread Heavenly Stems */
-  private static final String[] PENG_ZU_HEAVENLY = {
-      "甲不开仓\n财物耗亡", "乙不栽植\n千株不长", "丙不修灶\n必见灾殃", "丁不剃头\n头主生疮", "戊不受田\n田主不祥", "己不破券\n二比并亡",
-      "庚不经络\n织机虚张", "辛不合酱\n主人不尝", "壬不决水\n更难提防", "癸不词讼\n理弱敌强",
-  };
-
-  /* Pengzu hundred dread Earthly Branches */
-  private static final String[] PENG_ZU_EARTHLY = {
-      "子不问卜\n自惹祸殃", "丑不冠带\n主不还乡", "寅不祭祀\n神鬼不尝", "卯不穿井\n水泉不香", "辰不哭泣\n必主重丧", "巳不远行\n财物伏藏",
-      "午不苫盖\n屋主更张", "未不服药\n毒气入肠", "申不安床\n鬼祟入房", "酉不宴客\n醉坐颠狂", "戌不吃犬\n作怪上床", "亥不嫁娶\n不利新郎"
-  };
-
-  /* direction of evil spirit */
-  private static final String[] EVIL_SPIRIT = {
-      "南", "东", "北", "西"
-  };
-
-  /* fetus god */
-  private static final String[] FETUS_GOD_DIRECTION = {
-      "外东北", "外正东", "外东南", "外正南", "外西南", "外正西", "外西北", "外正北", "房内北", "房内南", "房内东"
-  };
-
-  /* fetus god position in Heavenlu Stems */
-  private static final String[] FETUS_GOD_HEAVENLY = {
-      "门", "碓磨", "厨灶", "仓库", "房床"
-  };
+  /* the index of star duty with Earthly Branches of month and day */
+  private static final byte[] WIELDINGS = new byte[12 * 12];
 
-  /* fetus god position in Earthly Braches */
-  private static final String[] FETUS_GOD_EARTHLY = {
-      "碓", "厕", "炉灶", "大门", "栖", "床"
-  };
-
-  /* twelve duty */
-  private static final String[] TWELVE_DURY = {
-      "开", "闭", "建", "除", "满", "平", "定", "执", "破", "危", "成", "收"
-  };
+  static {
+    for (int i = 0; i < 12 * 12; i++) {
+      WIELDINGS[i] = (byte) buildWielding(i / 12, i % 12);
+    }
+  }
 
-  /* five elements */
-  private static final String[] FIVE_ELEMENTS = {
-      "海中金", "炉中火", "大林木", "路旁土", "剑锋金", "山头火", "涧下水", "城头土", "白蜡金", "杨柳木", "泉中水", "屋上土", "霹雳火",
-      "松柏木", "长流水", "砂石金", "山下火", "平地木", "壁上土", "金箔金", "灯头火", "天河水", "大驿土", "钗钏金", "桑柘木", "大溪水",
-      "沙中土", "天上火", "石榴木", "大海水"
+  /* the fortune of twenty eight stars in the order from 角, true if lucky */
+  private static final boolean[] LUCKY_STARS = {
+      true, false, false, true, false, true, true,
+      true, false, false, false, false, true, true,
+      false, true, true, false, true, false, false,
+      true, false, false, false, true, false, true
   };
 
-  /* twenty eight stars with direction and fortune */
-  private final Star[][] mTwentyEightStars = new Star[][] {
-      new Star[] {
-          new Star("房日兔", "吉", "东方"), new Star("心月狐", "凶", "东方"), new Star("尾火虎", "吉", "东方"),
-          new Star("箕水豹", "吉", "东方"), new Star("角木蛟", "吉", "东方"), new Star("亢金龙", "凶", "东方"),
-          new Star("氐土貉", "凶", "东方"),
-      },
-
-      new Star[] {
-          new Star("虚日鼠", "凶", "北方"), new Star("危月燕", "凶", "北方"), new Star("室火猪", "吉", "北方"),
-          new Star("壁水貐", "吉", "北方"), new Star("斗木獬", "吉", "北方"), new Star("牛金牛", "凶", "北方"),
-          new Star("女士蝠", "凶", "北方"),
-      },
-
-      new Star[] {
-          new Star("昴日鸡", "凶", "西方"), new Star("毕月乌", "吉", "西方"), new Star("觜火猴", "凶", "西方"),
-          new Star("参水猿", "凶", "西方"), new Star("奎水狼", "凶", "西方"), new Star("娄金狗", "吉", "西方"),
-          new Star("胃土雉", "吉", "西方"),
-      },
-
-      new Star[] {
-          new Star("星日马", "凶", "南方"), new Star("张月鹿", "吉", "南方"), new Star("翼火蛇", "凶", "南方"),
-          new Star("轸水蚓", "吉", "南方"), new Star("井木犴", "吉", "南方"), new Star("鬼金羊", "凶", "南方"),
-          new Star("柳土獐", "凶", "南方"),
-      },
-  };
+  /* no time in millisecond was set, the date was set with date fields */
+  private static final long NO_TIME = Long.MIN_VALUE;
 
   private Calendar solar;
-  private GregorianCalendar gregorianCalendar;
+  private long millisec = NO_TIME;
+  private int epochDay;
   private int lunarYear;
   private int lunarMonth;
   private int lunarDay;
@@ -194,7 +50,7 @@ public final class Lunar {
    *
    * @return new instance
    */
-  public static synchronized Lunar newInstance() {
+  public static Lunar newInstance() {
     return new Lunar();
   }
 
@@ -212,6 +68,7 @@ public final class Lunar {
    * @param year the year
    * @param month the month
    * @param day the day
+   * @throws IllegalArgumentException if the day is out of lunar calendar
    */
   public Lunar(int year, int month, int day) {
     setDate(year, month, day);
@@ -221,331 +78,251 @@ public final class Lunar {
    * The constructor of Lunar calendar.
    *
    * @param millisec millisecond
+   * @throws IllegalArgumentException if the day is out of lunar calendar
    */
   public Lunar(long millisec) {
     init(millisec);
   }
 
-  /* Twenty-eight stars class */
-  private class Star {
-    private String star;
-    private String direction;
-    private String fortune;
-
-    public Star(String star, String fortune, String direction) {
-      this.star = star;
-      this.fortune = fortune;
-      this.direction = direction;
-    }
-
-    public String getDirection() {
-      return direction;
-    }
-
-    public String getFortune() {
-      return fortune;
-    }
-
-    public String getStar() {
-      return star;
-    }
-  }
-
-  /* lunar or solar holiday */
-  private class Holiday {
-    private int month;
-    private int day;
-    private String name;
-
-    public Holiday(int month, int day, String name) {
-      this.month = month;
-      this.day = day;
-      this.name = name;
-    }
-
-    public int getDay() {
-      return day;
-    }
-
-    public int getMonth() {
-      return month;
-    }
-
-    public String getName() {
-      return name;
-    }
+  /**
+   * The constructor of Lunar calendar with current day of {@link LunarCursor}.
+   *
+   * @param cursor {@link LunarCursor}
+   */
+  Lunar(LunarCursor cursor) {
+    epochDay = cursor.getEpochDay();
+    solarYear = cursor.getSolarYear();
+    solarMonth = cursor.getSolarMonth();
+    solarDay = cursor.getSolarDay();
+    lunarYear = cursor.getLunarYear();
+    lunarMonth = cursor.getLunarMonth();
+    lunarDay = cursor.getLunarDay();
+    isLeap = cursor.isLeapMonth();
+    daysInLuarMonth = cursor.getDaysInLunarMonth();
+    cyclicalYear = cursor.getCyclicalYear();
+    cyclicalMonth = cursor.getCyclicalMonth();
+    cyclicalDay = cursor.getCyclicalDay();
   }
 
   /* init lunar calendar with millisecond */
   private void init(long millisec) {
-    gregorianCalendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
-    solar = Calendar.getInstance();
-    solar.setTimeInMillis(millisec);
-    lunarYear = 1900;
-
-    Calendar baseDate = new GregorianCalendar(1900, 0, 31);
-    long offset = (millisec - baseDate.getTimeInMillis()) / 86400000;
-
-    int daysInLunarYear = getLunarYearDays(lunarYear);
-    /* get current lunar year */
-    while (lunarYear < 2100 && offset >= daysInLunarYear) {
-      offset -= daysInLunarYear;
-      daysInLunarYear = getLunarYearDays(++lunarYear);
-    }
-
-		/* get current lunar month */
-    int lunarMonth = 1;
-    int leapMonth = getLunarLeapMonth(lunarYear);
-    boolean leapDec = false;
-    boolean isLeap = false;
-    int daysInLunarMonth = 0;
-
-		/* to get lunar year, month and day */
-    while (lunarMonth < 13 && offset > 0) {
-      if (isLeap && leapDec) {
-        daysInLunarMonth = getLunarLeapDays(lunarYear);
-        leapDec = false;
-      } else {
-        daysInLunarMonth = getLunarMonthDays(lunarYear, lunarMonth);
-      }
-
-      if (offset < daysInLunarMonth) {
-        break;
-      }
-      offset -= daysInLunarMonth;
-
-      if (leapMonth == lunarMonth && !isLeap) {
-        leapDec = true;
-        isLeap = true;
-      } else {
-        lunarMonth++;
-      }
-    }
-
-    daysInLuarMonth = daysInLunarMonth;
-    this.lunarMonth = lunarMonth;
-    this.isLeap = (lunarMonth == leapMonth && isLeap);
-    lunarDay = (int) offset + 1;
-
-    getCyclicalData();
+    initEpochDay(LunarConverter.toEpochDay(millisec, TimeZone.getDefault()));
+    this.millisec = millisec;
   }
 
   /* init with lunar date */
   private void initLunar(int lunarYear, int lunarMonth, int lunarDay, boolean isLeap) {
-    int initYear = lunarYear;
-    int initMonth = lunarMonth;
-    long offset = lunarDay - 1;
+    initEpochDay(LunarAstronomy.fromLunar(lunarYear, lunarMonth, lunarDay, isLeap));
+  }
 
-		/* calculate month into days */
-    while (--initMonth > 0) {
-      offset += getLunarMonthDays(lunarYear, initMonth);
+  /* init lunar calendar with epoch day */
+  private void initEpochDay(int epochDay) {
+    if (epochDay < LunarAstronomy.MIN_EPOCH_DAY || epochDay > LunarAstronomy.MAX_EPOCH_DAY) {
+      throw new IllegalArgumentException("Epoch day out of lunar calendar: " + epochDay);
     }
+    this.epochDay = epochDay;
+    millisec = NO_TIME;
+    solar = null;
 
-    int leapMonth = getLunarLeapMonth(lunarYear);
-    if (leapMonth <= lunarMonth) {
-      offset += getLunarLeapDays(lunarYear);
+    LunarTable table = LunarTable.getDefault();
+    if (table != null && LunarAstronomy.isDayInTable(epochDay)) {
+      initTable(table);
+      return;
     }
 
-		/* calculate year into days */
-    while (initYear > 1900) {
-      offset += getLunarYearDays(--initYear);
+    LunarCache cache = LunarCache.getDefault();
+    if (cache != null && LunarAstronomy.isDayInTable(epochDay)) {
+      initDay(cache.get(epochDay));
+      return;
     }
 
-		/* init the all variable */
-    this.lunarYear = lunarYear;
-    this.lunarMonth = lunarMonth;
-    this.lunarDay = lunarDay;
-    gregorianCalendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
-    Calendar baseDate = new GregorianCalendar(1900, 0, 31);
-    solar = Calendar.getInstance();
-    solar.setTimeInMillis(offset * 86400000 + baseDate.getTimeInMillis());
+    int packedSolar = LunarConverter.toSolar(epochDay);
+    solarYear = LunarConverter.getSolarYear(packedSolar);
+    solarMonth = LunarConverter.getSolarMonth(packedSolar);
+    solarDay = LunarConverter.getSolarDay(packedSolar);
 
-    getCyclicalData();
-  }
+    int packedLunar = LunarAstronomy.toLunar(epochDay);
+    lunarYear = LunarConverter.getLunarYear(packedLunar);
+    lunarMonth = LunarConverter.getLunarMonth(packedLunar);
+    lunarDay = LunarConverter.getLunarDay(packedLunar);
+    isLeap = LunarConverter.isLeapMonth(packedLunar);
+    daysInLuarMonth = LunarAstronomy.getDaysInMonth(lunarYear, lunarMonth, isLeap);
 
-  /**
-   * Get the leap month in lunar year.
-   *
-   * @param lunarYear lunar year
-   * @return the month in specified lunar year, otherwise return 0
-   */
-  private int getLunarLeapMonth(int lunarYear) {
-    int leapMonth = LUNR_INFO[lunarYear - 1900] & 0xf;
-    return leapMonth == 0xf ? 0 : leapMonth;
+    getCyclicalData();
   }
 
-  /**
-   * Get total days of leap month in lunar year.
-   *
-   * @param lunarYear lunar year
-   * @return total days of leap month, otherwise return 0 if no leap month.
-   */
-  private int getLunarLeapDays(int lunarYear) {
-    return getLunarLeapMonth(lunarYear) > 0 ? ((LUNR_INFO[lunarYear - 1899] & 0xf) == 0xf ? 30 : 29)
-        : 0;
+  /* init lunar calendar with dense table */
+  private void initTable(LunarTable table) {
+    int packedSolar = LunarConverter.toSolar(epochDay);
+    solarYear = LunarConverter.getSolarYear(packedSolar);
+    solarMonth = LunarConverter.getSolarMonth(packedSolar);
+    solarDay = LunarConverter.getSolarDay(packedSolar);
+
+    int packedLunar = table.getPackedLunar(epochDay);
+    lunarYear = LunarConverter.getLunarYear(packedLunar);
+    lunarMonth = LunarConverter.getLunarMonth(packedLunar);
+    lunarDay = LunarConverter.getLunarDay(packedLunar);
+    isLeap = LunarConverter.isLeapMonth(packedLunar);
+    daysInLuarMonth = table.getDaysInLunarMonth(epochDay);
+    cyclicalYear = table.getCyclicalYear(epochDay);
+    cyclicalMonth = table.getCyclicalMonth(epochDay);
+    cyclicalDay = table.getCyclicalDay(epochDay);
+  }
+
+  /* init lunar calendar with cached conversion result */
+  private void initDay(LunarCache.Day day) {
+    solarYear = LunarConverter.getSolarYear(day.packedSolar);
+    solarMonth = LunarConverter.getSolarMonth(day.packedSolar);
+    solarDay = LunarConverter.getSolarDay(day.packedSolar);
+    lunarYear = day.date.getYear();
+    lunarMonth = day.date.getMonth();
+    lunarDay = day.date.getDay();
+    isLeap = day.date.isLeapMonth();
+    daysInLuarMonth = day.daysInLunarMonth;
+    cyclicalYear = day.cyclicalYear;
+    cyclicalMonth = day.cyclicalMonth;
+    cyclicalDay = day.cyclicalDay;
   }
 
-  /**
-   * Get total days of lunar year.
-   *
-   * @param lunarYear lunar year
-   * @return total days of lunar year
-   */
-  private int getLunarYearDays(int lunarYear) {
-    /* lunar year has (12 * 29 =) 348 days at least */
-    int totalDays = 348;
-    for (int i = 0x8000; i > 0x8; i >>= 1) {
-      totalDays += ((LUNR_INFO[lunarYear - 1900] & i) != 0) ? 1 : 0;
-    }
-
-    return totalDays + getLunarLeapDays(lunarYear);
+  /* get Heavenly Stems and Earthly Branches data */
+  private void getCyclicalData() {
+    cyclicalYear = LunarConverter.getCyclicalYear(solarYear, solarMonth, solarDay);
+    cyclicalMonth = LunarConverter.getCyclicalMonth(solarYear, solarMonth, solarDay);
+    cyclicalDay = LunarConverter.getCyclicalDay(epochDay);
   }
 
   /**
-   * Get total days of lunar month in normal case.
+   * Get Heavenly Stems with specified cyclical number.
    *
-   * @param lunarYear lunar year
-   * @param lunarMonth lunar month
-   * @return total days
+   * @param cyclicalNum cyclical number in Heavenly Stems and Earthly Branches
+   * @return Heavenly stems index
    */
-  private int getLunarMonthDays(int lunarYear, int lunarMonth) {
-    return ((LUNR_INFO[lunarYear - 1900] & (0x10000 >> lunarMonth)) != 0) ? 30 : 29;
+  private static int getHeavenlyStems(int cyclicalNum) {
+    return cyclicalNum % 10;
   }
 
   /**
-   * Get Coordinated Universal Time for given params.
+   * Get Earthly Branches with specified cyclical number.
    *
-   * @param year the year to set
-   * @param month the month to set
-   * @param day the day to set
-   * @param hour the hour to set
-   * @param min the minute to set
-   * @param sec the second to set
-   * @return Coordinated Universal Time
+   * @param cyclicalNum cyclical number in Heavenly Stems and Earthly Branches
+   * @return Earthly Branches index
    */
-  private synchronized long getUTC(int year, int month, int day, int hour, int min, int sec) {
-    synchronized (Lunar.class) {
-      gregorianCalendar.clear();
-      gregorianCalendar.set(year, month, day, hour, min, sec);
-      return gregorianCalendar.getTimeInMillis();
-    }
+  private static int getEarthlyBranches(int cyclicalNum) {
+    return cyclicalNum % 12;
   }
 
   /**
-   * Convert current date into Coordinated Universal Time.
+   * Get Heavenly Stems and Earthly Branches in default {@link LunarLocale}.
    *
-   * @param date current date
-   * @return get day in Coordinated Universal Time
+   * @param cyclicalNum cyclical number in Heavenly Stems and Earthly Branches
+   * @return Heavenly Stems and Earthly Branches string
    */
-  private synchronized int getUTCDay(Date date) {
-    synchronized (Lunar.class) {
-      gregorianCalendar.clear();
-      gregorianCalendar.setTimeInMillis(date.getTime());
-      return gregorianCalendar.get(Calendar.DAY_OF_MONTH);
-    }
+  static String getCyclical(int cyclicalNum) {
+    return LunarLocale.getLabels().getCyclical(cyclicalNum);
   }
 
   /**
-   * Convert current date into Coordinated Universal Time.
+   * Get confilict evil spirit with specified cyclical number in default {@link LunarLocale}.
    *
-   * @param date current date
-   * @return get month in Coordinated Universal Time
+   * @param cyclicalNum cyclical number in Heavenly Stems and Earthly Branches
+   * @return evil spirit
    */
-  private synchronized int getUTCMonth(Date date) {
-    synchronized (Lunar.class) {
-      gregorianCalendar.clear();
-      gregorianCalendar.setTimeInMillis(date.getTime());
-      return gregorianCalendar.get(Calendar.MONTH);
-    }
+  static String getConflictEvilSpirit(int cyclicalNum) {
+    return LunarLocale.getLabels().getConflictEvilSpirit(cyclicalNum);
   }
 
   /**
-   * Get the day of solar terms.
+   * Get the cyclical number in conflict, the Heavenly Stem is 4 after and the Earthly Branch
+   * is the opposite one, such as 丁亥 for 癸巳.
    *
-   * @param solarYear the specified solar year
-   * @param index the index of solar terms in {@link #SOLAR_TERM}
-   * @return the day of solar terms
+   * @param cyclicalNum cyclical number in Heavenly Stems and Earthly Branches
+   * @return cyclical number in conflict
    */
-  private int getSolarTermDay(int solarYear, int index) {
-    long millisec = (long) 31556925974.7 * (solarYear - 1900) + SOLAR_TERM_INFO[index] * 60000L;
-    return getUTCDay(new Date(millisec + getUTC(1900, 0, 6, 2, 5, 0)));
+  static int getConflictCyclical(int cyclicalNum) {
+    return (cyclicalNum + 54) % 60;
   }
 
   /**
-   * Get the month of solar terms.
+   * Get the direction of evil spirit.
    *
-   * @param solarYear the specified solar year
-   * @param index the index of solar terms in {@link #SOLAR_TERM}
-   * @return the month of solar terms
+   * @param cyclicalNum cyclical number in Heavenly Stems and Earthly Branches
+   * @return the direction, 0 south, 1 east, 2 north and 3 west
    */
-  private int getSolarTermMonth(int solarYear, int index) {
-    long millisec = (long) 31556925974.7 * (solarYear - 1900) + SOLAR_TERM_INFO[index] * 60000L;
-    return getUTCMonth(new Date(millisec + getUTC(1900, 0, 6, 2, 5, 0)));
+  static int getEvilSpiritDirection(int cyclicalNum) {
+    return getEarthlyBranches(cyclicalNum) % 4;
   }
 
-  /* get Heavenly Stems and Earthly Branches data */
-  private void getCyclicalData() {
-    solarYear = solar.get(Calendar.YEAR);
-    solarMonth = solar.get(Calendar.MONTH);
-    solarDay = solar.get(Calendar.DAY_OF_MONTH);
-
-    int cyclicalYear;
-    int cyclicalMonth;
-    int cyclicalDay;
-
-		/* year in Heavenly Stems and Earthly Branches */
-    int term = getSolarTermDay(solarYear, 2);
-    if (solarMonth < 1 || (solarMonth == 1 && solarDay < term)) {
-      cyclicalYear = (solarYear - 1900 + 36 - 1) % 60;
-    } else {
-      cyclicalYear = (solarYear - 1900 + 36) % 60;
-    }
-
-		/* month in Heavenly Stems and Earthly Branches */
-    int firstNode = getSolarTermDay(solarYear, solarMonth * 2);
-    if (solarDay < firstNode) {
-      cyclicalMonth = ((solarYear - 1900) * 12 + solarMonth + 12) % 60;
+  /* build the index of star duty with Earthly Branches of month and day */
+  private static int buildWielding(int earthlyIndexOfMonth, int earthlyIndexOfDay) {
+    int monthIndex = earthlyIndexOfMonth >= 2 ? earthlyIndexOfMonth - 2 : 12 - earthlyIndexOfMonth;
+    int offset = 12 - (monthIndex == 0 ? 12 : monthIndex);
+    if (earthlyIndexOfDay + offset < 12) {
+      return earthlyIndexOfDay + offset;
     } else {
-      cyclicalMonth = ((solarYear - 1900) * 12 + solarMonth + 13) % 60;
+      return earthlyIndexOfDay + offset - 12;
     }
+  }
 
-    cyclicalDay =
-        (int) (getUTC(solarYear, solarMonth, solarDay, 0, 0, 0) / 86400000 + 25567 + 10) % 60;
-
-    this.cyclicalYear = cyclicalYear;
-    this.cyclicalMonth = cyclicalMonth;
-    this.cyclicalDay = cyclicalDay;
+  /**
+   * Get the position of fetus god in Heavenly Stems.
+   *
+   * @param cyclicalDay the index of day in Heavenly Stems and Earthly Branches
+   * @return the position, see {@link LunarLocale#getFetusGod(int, int, int)}
+   */
+  static int getFetusGodHeavenlyPosition(int cyclicalDay) {
+    return getHeavenlyStems(cyclicalDay) % 5;
   }
 
   /**
-   * Get Heavenly Stems with specified cyclical number.
+   * Get the position of fetus god in Earthly Branches.
    *
-   * @param cyclicalNum cyclical number in Heavenly Stems and Earthly Branches
-   * @return Heavenly stems index
+   * @param cyclicalDay the index of day in Heavenly Stems and Earthly Branches
+   * @return the position, see {@link LunarLocale#getFetusGod(int, int, int)}
    */
-  private int getHeavenlyStems(int cyclicalNum) {
-    return cyclicalNum % 10;
+  static int getFetusGodEarthlyPosition(int cyclicalDay) {
+    return getEarthlyBranches(cyclicalDay) % 5;
   }
 
   /**
-   * Get Earthly Branches with specified cyclical number.
+   * Get the direction of fetus god.
    *
-   * @param cyclicalNum cyclical number in Heavenly Stems and Earthly Branches
-   * @return Earthly Branches index
+   * @param cyclicalDay the index of day in Heavenly Stems and Earthly Branches
+   * @return the direction from 0 to 10, see {@link LunarLocale#getFetusGod(int, int, int)}
    */
-  private int getEarthlyBranches(int cyclicalNum) {
-    return cyclicalNum % 12;
+  static int getFetusGodDirection(int cyclicalDay) {
+    if (cyclicalDay < 2 || cyclicalDay > 55) {
+      return 2;
+    } else if (cyclicalDay < 6) {
+      return 3;
+    } else if (cyclicalDay < 12) {
+      return 4;
+    } else if (cyclicalDay < 17) {
+      return 5;
+    } else if (cyclicalDay < 23) {
+      return 6;
+    } else if (cyclicalDay < 28) {
+      return 7;
+    } else if (cyclicalDay < 33) {
+      return 8;
+    } else if (cyclicalDay < 39) {
+      return 9;
+    } else if (cyclicalDay < 44) {
+      return 10;
+    } else if (cyclicalDay < 50) {
+      return 0;
+    } else {
+      return 1;
+    }
   }
 
   /**
-   * Get Heavenly Stems and Earthly Branches.
+   * To check if the star of twenty eight stars is lucky.
    *
-   * @param cyclicalNum cyclical number in Heavenly Stems and Earthly Branches
-   * @return Heavenly Stems and Earthly Branches string
+   * @param index the index of star, 0 is 角
+   * @return true if lucky, otherwise return false
    */
-  private String getCyclical(int cyclicalNum) {
-    return HEAVENLY_STEMS[getHeavenlyStems(cyclicalNum)] + EARTHLY_BRANCHES[getEarthlyBranches(
-        cyclicalNum)];
+  static boolean isLuckyStar(int index) {
+    return LUCKY_STARS[index];
   }
 
   /**
@@ -554,11 +331,14 @@ public final class Lunar {
    * @param year the year
    * @param month the month
    * @param day the day
+   * @throws IllegalArgumentException if the day is out of lunar calendar
    */
   public void setDate(int year, int month, int day) {
-    Calendar calendar = Calendar.getInstance();
-    calendar.set(year, month, day);
-    init(year == 0 ? System.currentTimeMillis() : calendar.getTimeInMillis());
+    if (year == 0) {
+      init(System.currentTimeMillis());
+    } else {
+      initEpochDay(LunarConverter.toEpochDay(year, month, day));
+    }
   }
 
   /**
@@ -568,6 +348,7 @@ public final class Lunar {
    * @param month lunar month
    * @param day lunar day
    * @param isLeap the month is leap month or not
+   * @throws IllegalArgumentException if the day is out of lunar calendar
    */
   public void setLunarDate(int year, int month, int day, boolean isLeap) {
     initLunar(year, month, day, isLeap);
@@ -577,6 +358,7 @@ public final class Lunar {
    * Set time in millisecond.
    *
    * @param millisecond millisecond to set
+   * @throws IllegalArgumentException if the day is out of lunar calendar
    */
   public void setTimeInMillis(long millisecond) {
     init(millisecond);
@@ -588,7 +370,7 @@ public final class Lunar {
    * @return Chinese zodiac
    */
   public String getZodiac() {
-    return ZODIAC[(lunarYear - 4) % 12];
+    return LunarLocale.getLabels().getZodiac((lunarYear - 4) % 12);
   }
 
   /**
@@ -597,13 +379,8 @@ public final class Lunar {
    * @return solar terms, otherwise return null if was not solar term.
    */
   public String getSolarTerm() {
-    if (getSolarTermDay(solarYear, solarMonth * 2) == solarDay) {
-      return SOLAR_TERM[solarMonth * 2];
-    } else if (getSolarTermDay(solarYear, solarMonth * 2 + 1) == solarDay) {
-      return SOLAR_TERM[solarMonth * 2 + 1];
-    }
-
-    return null;
+    int index = SolarTerm.getIndexOfDay(solarYear, solarMonth, solarDay);
+    return index < 0 ? null : SolarTerm.getName(index);
   }
 
   /**
@@ -648,45 +425,22 @@ public final class Lunar {
    * @return year in lunar calendar
    */
   public String getLunarYear() {
-    return getCyclical(lunarYear - 1900 + 36);
+    return getCyclical(lunarYear - 4);
   }
 
   /**
-   * Get lunar month in Chinese according to lunar month numeric.
+   * Get lunar month in default {@link LunarLocale} according to lunar month numeric.
    *
    * @param lunarMonth lunar month numeric
    * @param isLeap is current month leap or not
-   * @return lunar month in Chinese
+   * @return lunar month label
    */
   public String getLunarMonth(int lunarMonth, boolean isLeap) {
-    String lunarMonthStr = "";
-    if (lunarMonth == 1) {
-      lunarMonthStr = LUNAR_SPEC_STRING[4];
-    } else {
-      switch (lunarMonth) {
-        case 10:
-          lunarMonthStr = LUNAR_SPEC_STRING[1];
-          break;
-
-        case 11:
-          lunarMonthStr = LUNAR_SPEC_STRING[5];
-          break;
-
-        case 12:
-          lunarMonthStr = LUNAR_SPEC_STRING[6];
-          break;
-
-        default:
-          lunarMonthStr += LUNAR_STRING[lunarMonth % 10];
-          break;
-      }
-    }
-
-    return (isLeap ? "闰" : "") + lunarMonthStr;
+    return LunarLocale.getLabels().getLunarMonth(lunarMonth, isLeap);
   }
 
   /**
-   * Get month in Chinese of lunar calendar.
+   * Get month of lunar calendar in default {@link LunarLocale}.
    *
    * @return month in lunar calendar
    */
@@ -695,30 +449,26 @@ public final class Lunar {
   }
 
   /**
-   * Get lunar day in Chinese according to lunar day numeric.
+   * Get month of lunar calendar with the suffix in default {@link LunarLocale}, such as 正月.
+   *
+   * @return month in lunar calendar with the suffix
+   */
+  public String getFullLunarMonth() {
+    return LunarLocale.getLabels().getFullLunarMonth(lunarMonth, isLeap);
+  }
+
+  /**
+   * Get lunar day in default {@link LunarLocale} according to lunar day numeric.
    *
    * @param lunarDay lunar day numeric
-   * @return lunar day in Chinese
+   * @return lunar day label
    */
   public String getLunarDay(int lunarDay) {
     if (lunarDay < 1 || lunarDay > 30) {
       return "";
     }
 
-    int decade = lunarDay / 10;
-    int unit = lunarDay % 10;
-    String decadeStr = LUNAR_SPEC_STRING[decade];
-    String unitStr = LUNAR_STRING[unit];
-
-    if (lunarDay < 11) {
-      decadeStr = LUNAR_SPEC_STRING[0];
-    }
-
-    if (unit == 0) {
-      unitStr = LUNAR_SPEC_STRING[1];
-    }
-
-    return decadeStr + unitStr;
+    return LunarLocale.getLabels().getLunarDay(lunarDay);
   }
 
   /**
@@ -752,6 +502,24 @@ public final class Lunar {
     return lunarDay;
   }
 
+  /**
+   * To check if current lunar month is leap month.
+   *
+   * @return true if was leap month, otherwise return false
+   */
+  public boolean isLeapMonth() {
+    return isLeap;
+  }
+
+  /**
+   * Get current date as immutable {@link LunarDate}.
+   *
+   * @return {@link LunarDate}
+   */
+  public LunarDate getLunarDate() {
+    return LunarDate.from(this);
+  }
+
   /**
    * Get max days in current lunar month.
    *
@@ -767,9 +535,28 @@ public final class Lunar {
    * @return solar calendar
    */
   public Calendar getCalendar() {
+    if (solar == null) {
+      solar = Calendar.getInstance();
+      if (millisec == NO_TIME) {
+        solar.clear();
+        solar.set(solarYear, solarMonth, solarDay);
+      } else {
+        solar.setTimeInMillis(millisec);
+      }
+    }
+
     return solar;
   }
 
+  /**
+   * Get the epoch day(days since 1970-01-01) of current day.
+   *
+   * @return epoch day
+   */
+  public int getEpochDay() {
+    return epochDay;
+  }
+
   /**
    * Get year in the Gregorian calendar.
    *
@@ -803,7 +590,7 @@ public final class Lunar {
    * @return day of week(1-Sunday, 7-Saturday).
    */
   public int getDayOfWeek() {
-    return solar.get(Calendar.DAY_OF_WEEK);
+    return LunarConverter.getDayOfWeek(epochDay);
   }
 
   /**
@@ -812,16 +599,16 @@ public final class Lunar {
    * @return week of year
    */
   public int getWeekOfYear() {
-    return solar.get(Calendar.WEEK_OF_YEAR);
+    return getCalendar().get(Calendar.WEEK_OF_YEAR);
   }
 
   /**
-   * Get day of week in Chinese.
+   * Get day of week in default {@link LunarLocale}, the name is kept for compatibility.
    *
-   * @return day of week in Chinese
+   * @return day of week label
    */
   public String getDayOfWeekInChinese() {
-    return DAY_OF_WEEK_IN_CHINESE[getDayOfWeek() - 1];
+    return LunarLocale.getLabels().getDayOfWeek(getDayOfWeek() - 1);
   }
 
   /**
@@ -830,10 +617,7 @@ public final class Lunar {
    * @return true if was today, otherwise return false
    */
   public boolean isToday() {
-    Calendar calendar = Calendar.getInstance();
-    return calendar.get(Calendar.YEAR) == solarYear
-        && calendar.get(Calendar.MONTH) == solarMonth
-        && calendar.get(Calendar.DAY_OF_MONTH) == solarDay;
+    return LunarConverter.toEpochDay(System.currentTimeMillis(), TimeZone.getDefault()) == epochDay;
   }
 
   /**
@@ -842,9 +626,10 @@ public final class Lunar {
    * @return Pengzu one hundred dread
    */
   public String[] getPengzu() {
+    LunarLabels labels = LunarLocale.getLabels();
     String[] pengzu = new String[2];
-    pengzu[0] = PENG_ZU_HEAVENLY[getHeavenlyStems(cyclicalDay)];
-    pengzu[1] = PENG_ZU_EARTHLY[getEarthlyBranches(cyclicalDay)];
+    pengzu[0] = labels.getPengzuHeavenly(getHeavenlyStems(cyclicalDay));
+    pengzu[1] = labels.getPengzuEarthly(getEarthlyBranches(cyclicalDay));
 
     return pengzu;
   }
@@ -855,22 +640,9 @@ public final class Lunar {
    * @return lunar holiday, null if not existed
    */
   public String getLunarHoliday() {
-    if (isLeap) {
-      return null;
-    }
-
-		/* New Year's Eve is special, maybe 29, maybe 30 */
-    if (lunarMonth == 12 && lunarDay == daysInLuarMonth) {
-      return "除夕";
-    }
-
-    for (Holiday holiday : lunarHolidays) {
-      if (holiday.getMonth() == lunarMonth && holiday.getDay() == lunarDay) {
-        return holiday.getName();
-      }
-    }
-
-    return null;
+    HolidayCalendar holidays = HolidayCalendar.getDefault();
+    int id = holidays.getLunarHolidayId(epochDay);
+    return id < 0 ? null : holidays.getHolidayName(id);
   }
 
   /**
@@ -879,13 +651,19 @@ public final class Lunar {
    * @return solar holiday, null if not existed
    */
   public String getSolarHolidy() {
-    for (Holiday holiday : solarHolidays) {
-      if (holiday.getMonth() == solarMonth + 1 && holiday.getDay() == solarDay) {
-        return holiday.getName();
-      }
-    }
+    HolidayCalendar holidays = HolidayCalendar.getDefault();
+    int id = holidays.getSolarHolidayId(epochDay);
+    return id < 0 ? null : holidays.getHolidayName(id);
+  }
 
-    return null;
+  /**
+   * Get the name of holiday with the id of holiday in default {@link HolidayCalendar}.
+   *
+   * @param id the id of holiday
+   * @return the name of holiday
+   */
+  public static String getHolidayName(int id) {
+    return HolidayCalendar.getDefault().getHolidayName(id);
   }
 
   /**
@@ -894,44 +672,44 @@ public final class Lunar {
    * @return evil spirit
    */
   public String getConflictEvilSpirit() {
-    int heavenlyIndex = getHeavenlyStems(cyclicalDay);
-    int earthlyIndex = getEarthlyBranches(cyclicalDay);
-    int conflictHeavenlyIndex;
-    int conflictEarthlyIndex;
-
-    if (heavenlyIndex < 6) {
-      conflictHeavenlyIndex = heavenlyIndex + 4;
-    } else {
-      conflictHeavenlyIndex = heavenlyIndex - 6;
-    }
+    return getConflictEvilSpirit(cyclicalDay);
+  }
 
-    if (earthlyIndex < 6) {
-      conflictEarthlyIndex = earthlyIndex + 6;
-    } else {
-      conflictEarthlyIndex = earthlyIndex - 6;
-    }
+  /**
+   * Get the double hour in Heavenly Stems and Earthly Branches for current day,
+   * see {@link LunarHour}.
+   *
+   * @param index the index of double hour, 0 is 子时
+   * @return double hour in Heavenly Stems and Earthly Branches
+   */
+  public String getCyclicalHour(int index) {
+    return getCyclical(LunarHour.getCyclicalHour(cyclicalDay, index));
+  }
 
-    return "冲"
-        + ZODIAC[conflictEarthlyIndex]
-        + "("
-        + HEAVENLY_STEMS[conflictHeavenlyIndex]
-        + EARTHLY_BRANCHES[conflictEarthlyIndex]
-        + ")"
-        + "煞"
-        + EVIL_SPIRIT[earthlyIndex % 4];
+  /**
+   * Get confilict evil spirit of the double hour for current day, see {@link LunarHour}.
+   *
+   * @param index the index of double hour, 0 is 子时
+   * @return evil spirit
+   */
+  public String getHourConflictEvilSpirit(int index) {
+    return getConflictEvilSpirit(LunarHour.getCyclicalHour(cyclicalDay, index));
   }
 
   /**
-   * Get star description for current day.
+   * Get star description for current day, such as 东方角木蛟-吉.
    *
    * @return star description
    */
   public String getTwentyEightStar() {
-    int weekOfYear = (getWeekOfYear() - 1) % 4;
-    int dayOfWeek = getDayOfWeek() - 1;
-    Star star = mTwentyEightStars[weekOfYear][dayOfWeek];
+    return LunarLocale.getLabels().getTwentyEightStar(getTwentyEightStarIndex());
+  }
 
-    return star.getDirection() + star.getStar() + "-" + star.getFortune();
+  /* get the index of star from 角, the stars take turns day by day in a cycle of 28 days
+   * without break, so the star of Thursday is always 角, 斗, 奎 or 井, 1970-01-01 is 斗 */
+  private int getTwentyEightStarIndex() {
+    int index = (epochDay + 7) % 28;
+    return index < 0 ? index + 28 : index;
   }
 
   /**
@@ -940,15 +718,7 @@ public final class Lunar {
    * @return the index
    */
   public int getWielding() {
-    int earthlyIndexOfMonth = getEarthlyBranches(cyclicalMonth);
-    int earthlyIndexOfDay = getEarthlyBranches(cyclicalDay);
-    int monthIndex = earthlyIndexOfMonth >= 2 ? earthlyIndexOfMonth - 2 : 12 - earthlyIndexOfMonth;
-    int offset = 12 - (monthIndex == 0 ? 12 : monthIndex);
-    if (earthlyIndexOfDay + offset < 12) {
-      return earthlyIndexOfDay + offset;
-    } else {
-      return earthlyIndexOfDay + offset - 12;
-    }
+    return WIELDINGS[getEarthlyBranches(cyclicalMonth) * 12 + getEarthlyBranches(cyclicalDay)];
   }
 
   /**
@@ -957,38 +727,22 @@ public final class Lunar {
    * @return five elements description
    */
   public String getFiveElements() {
-    return FIVE_ELEMENTS[cyclicalDay / 2] + " " + TWELVE_DURY[getWielding()] + "执位";
+    return LunarLocale.getLabels().getFiveElements(cyclicalDay, getWielding());
   }
 
   /**
-   * Get the index of fetus god direction.
+   * Get all the almanac of current day in one pass.
    *
-   * @return the index
+   * @return {@link AlmanacDay}
    */
-  private int getFetusGodDirectionIndex() {
-    if (cyclicalDay < 2 || cyclicalDay > 55) {
-      return 2;
-    } else if (cyclicalDay < 6) {
-      return 3;
-    } else if (cyclicalDay < 12) {
-      return 4;
-    } else if (cyclicalDay < 17) {
-      return 5;
-    } else if (cyclicalDay < 23) {
-      return 6;
-    } else if (cyclicalDay < 28) {
-      return 7;
-    } else if (cyclicalDay < 33) {
-      return 8;
-    } else if (cyclicalDay < 39) {
-      return 9;
-    } else if (cyclicalDay < 44) {
-      return 10;
-    } else if (cyclicalDay < 50) {
-      return 0;
-    } else {
-      return 1;
-    }
+  public AlmanacDay getAlmanacDay() {
+    LunarLabels labels = LunarLocale.getLabels();
+    int wielding = getWielding();
+    return new AlmanacDay(epochDay, cyclicalDay, wielding,
+        labels.getPengzuHeavenly(getHeavenlyStems(cyclicalDay)),
+        labels.getPengzuEarthly(getEarthlyBranches(cyclicalDay)),
+        labels.getConflictEvilSpirit(cyclicalDay), labels.getFiveElements(cyclicalDay, wielding),
+        labels.getFetusGod(cyclicalDay), labels.getTwentyEightStar(getTwentyEightStarIndex()));
   }
 
   /**
@@ -997,23 +751,6 @@ public final class Lunar {
    * @return fetus god description
    */
   public String getFetusGod() {
-    int heavenlyIndex = getHeavenlyStems(cyclicalDay);
-    int earthlyIndex = getEarthlyBranches(cyclicalDay);
-
-    String fetusGod;
-    String heavenlyPosition = FETUS_GOD_HEAVENLY[heavenlyIndex % 5];
-    String earthlyPosition = FETUS_GOD_EARTHLY[earthlyIndex % 5];
-    if (heavenlyPosition.contains(earthlyPosition)) {
-      fetusGod = heavenlyPosition;
-    } else if (earthlyPosition.contains(heavenlyPosition)) {
-      fetusGod = earthlyPosition;
-    } else {
-      fetusGod = (heavenlyPosition + earthlyPosition);
-    }
-
-    fetusGod = (fetusGod.length() <= 2 ? "占" : "") + fetusGod;
-    fetusGod += FETUS_GOD_DIRECTION[getFetusGodDirectionIndex()];
-
-    return fetusGod;
+    return LunarLocale.getLabels().getFetusGod(cyclicalDay);
   }
 }
@@ -0,0 +1,465 @@
+package com.coolerfall.widget.lunar;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lunar calendar computed from the times of new moons and solar terms, which extends
+ * {@link LunarConverter} beyond the years of lunar information. The rules are the ones
+ * used since 1645: a month starts on the day of new moon in China, the month contains
+ * winter solstice is the 11th month, and if there are 13 months between two 11th months,
+ * the first one without major solar term is the leap month.
+ * <p>
+ * A computed year is encoded in the same way as lunar information, and all the computed
+ * years are memoized. The years in lunar information are always read from the table.
+ * <p>
+ * The computed years reproduce lunar information from 1900 to 2100 except 4 years, each of
+ * them has one new moon computed within 13 minutes before midnight, which is beyond the
+ * accuracy of the times of new moons, and lunar information starts the month on next day:
+ * <ul>
+ * <li>1914: the new moon of 1914-11-17 at 23:47(local time of Beijing)</li>
+ * <li>2057: the new moon of 2057-09-28 at 23:59</li>
+ * <li>2089: the new moon of 2089-09-04 at 23:57</li>
+ * <li>2097: the new moon of 2097-08-07 at 23:59</li>
+ * </ul>
+ * The months of these new moons are kept as lunar information, which start one day later
+ * than computed, so the new moon in {@link MoonPhase} is on the last day of previous month.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public final class LunarAstronomy {
+  /** The first lunar year can be computed. */
+  public static final int MIN_YEAR = 1645;
+
+  /** The last lunar year can be computed. */
+  public static final int MAX_YEAR = 2999;
+
+  /** The epoch day of the first day in {@link #MIN_YEAR}. */
+  public static final int MIN_EPOCH_DAY;
+
+  /** The epoch day of the last day in {@link #MAX_YEAR}. */
+  public static final int MAX_EPOCH_DAY;
+
+  /* the leap month has 30 days, the same bit as month 0 in lunar information */
+  private static final int LEAP_MONTH_BIG = 0x10000;
+
+  /* the bit to mark a year was computed in memo */
+  private static final long COMPUTED = 1L << 62;
+
+  /* Julian day of 1929-01-01 00:00 UT, the time of China was local time of Beijing before */
+  private static final double JD_1929 = 2425612.5;
+
+  /* the offset of standard time of China and local time of Beijing(116°25'E) in days */
+  private static final double CHINA_OFFSET = 8 / 24.0;
+  private static final double BEIJING_OFFSET = (116 + 25 / 60.0) / 360;
+
+  /* computed years: | computed | year info(32 - 61 bit) | new year epoch day(0 - 31 bit) | */
+  private static final AtomicLongArray YEARS = new AtomicLongArray(MAX_YEAR - MIN_YEAR + 2);
+
+  /* the lunations in the table of new moons, covers all the computed years */
+  private static final int MIN_LUNATION = -4420;
+  private static final int MAX_LUNATION = 12400;
+  private static final int LUNATIONS_IN_BLOCK = 64;
+
+  /* the times of new moons in minutes since epoch in China, computed in blocks */
+  private static final AtomicReferenceArray<int[]> NEW_MOONS =
+      new AtomicReferenceArray<>((MAX_LUNATION - MIN_LUNATION) / LUNATIONS_IN_BLOCK + 1);
+
+  static {
+    MIN_EPOCH_DAY = getNewYearEpochDay(MIN_YEAR);
+    MAX_EPOCH_DAY = getNewYearEpochDay(MAX_YEAR + 1) - 1;
+  }
+
+  private LunarAstronomy() {
+
+  }
+
+  /**
+   * Get the information of lunar year, the same as lunar information in
+   * {@link LunarConverter} except the days of leap month:
+   * <p>
+   * | leap month is 30 days(16 bit) | month 1 - 12 is 30 days(15 - 4 bit) | leap month(0 - 3 bit) |
+   *
+   * @param lunarYear lunar year
+   * @return year information
+   */
+  public static int getYearInfo(int lunarYear) {
+    if (isInTable(lunarYear)) {
+      int leapMonth = LunarConverter.getLeapMonth(lunarYear);
+      int info = leapMonth;
+      for (int month = 1; month <= 12; month++) {
+        if (LunarConverter.getDaysInMonth(lunarYear, month, false) == 30) {
+          info |= 0x10000 >> month;
+        }
+      }
+      if (leapMonth > 0 && LunarConverter.getDaysInMonth(lunarYear, leapMonth, true) == 30) {
+        info |= LEAP_MONTH_BIG;
+      }
+
+      return info;
+    }
+
+    return (int) (getComputedYear(lunarYear) >>> 32) & ~(int) (COMPUTED >>> 32);
+  }
+
+  /**
+   * Get the epoch day of the first day in lunar year.
+   *
+   * @param lunarYear lunar year
+   * @return epoch day
+   */
+  public static int getNewYearEpochDay(int lunarYear) {
+    if (isInTable(lunarYear)) {
+      return LunarConverter.fromLunar(lunarYear, 1, 1, false);
+    }
+
+    return (int) getComputedYear(lunarYear);
+  }
+
+  /**
+   * Clamp the epoch day into the range can be computed.
+   *
+   * @param epochDay epoch day
+   * @return epoch day between {@link #MIN_EPOCH_DAY} and {@link #MAX_EPOCH_DAY}
+   */
+  public static int clamp(int epochDay) {
+    return Math.max(MIN_EPOCH_DAY, Math.min(epochDay, MAX_EPOCH_DAY));
+  }
+
+  /**
+   * To check if the lunar year is in lunar information of {@link LunarConverter}.
+   *
+   * @param lunarYear lunar year
+   * @return true if in lunar information, otherwise return false
+   */
+  static boolean isInTable(int lunarYear) {
+    return lunarYear >= LunarConverter.MIN_YEAR && lunarYear <= LunarConverter.MAX_YEAR;
+  }
+
+  /**
+   * To check if the epoch day is in lunar information of {@link LunarConverter}.
+   *
+   * @param epochDay epoch day
+   * @return true if in lunar information, otherwise return false
+   */
+  static boolean isDayInTable(int epochDay) {
+    return epochDay >= LunarConverter.MIN_EPOCH_DAY && epochDay <= LunarConverter.MAX_EPOCH_DAY;
+  }
+
+  /**
+   * Get the leap month in lunar year.
+   *
+   * @param lunarYear lunar year
+   * @return the leap month in specified lunar year, otherwise return 0
+   */
+  public static int getLeapMonth(int lunarYear) {
+    return isInTable(lunarYear) ? LunarConverter.getLeapMonth(lunarYear)
+        : getYearInfo(lunarYear) & 0xf;
+  }
+
+  /**
+   * Get total days of lunar month.
+   *
+   * @param lunarYear lunar year
+   * @param lunarMonth lunar month
+   * @param isLeap the month is leap month or not
+   * @return total days, 29 or 30
+   */
+  public static int getDaysInMonth(int lunarYear, int lunarMonth, boolean isLeap) {
+    if (isInTable(lunarYear)) {
+      return LunarConverter.getDaysInMonth(lunarYear, lunarMonth, isLeap);
+    }
+
+    int info = getYearInfo(lunarYear);
+    if (isLeap && (info & 0xf) == lunarMonth) {
+      return (info & LEAP_MONTH_BIG) != 0 ? 30 : 29;
+    }
+
+    return (info & (0x10000 >> lunarMonth)) != 0 ? 30 : 29;
+  }
+
+  /**
+   * Convert epoch day into packed lunar date, see {@link LunarConverter}. The epoch day
+   * will be clamped into the range can be computed.
+   *
+   * @param epochDay epoch day
+   * @return packed lunar date
+   */
+  public static int toLunar(int epochDay) {
+    if (isDayInTable(epochDay)) {
+      return LunarConverter.toLunar(epochDay);
+    }
+
+    epochDay = clamp(epochDay);
+    int lunarYear = LunarConverter.getSolarYear(LunarConverter.toSolar(epochDay));
+    if (epochDay < getNewYearEpochDay(lunarYear)) {
+      lunarYear--;
+    }
+
+    int start = getNewYearEpochDay(lunarYear);
+    int leapMonth = getLeapMonth(lunarYear);
+    for (int month = 1; month <= 12; month++) {
+      for (int leap = 0; leap <= (month == leapMonth ? 1 : 0); leap++) {
+        int days = getDaysInMonth(lunarYear, month, leap == 1);
+        if (epochDay < start + days) {
+          return LunarConverter.packLunar(lunarYear, month, epochDay - start + 1, leap == 1);
+        }
+        start += days;
+      }
+    }
+
+    throw new IllegalStateException("Lunar year overflow: " + lunarYear);
+  }
+
+  /**
+   * Convert lunar date into epoch day. If the month is not leap month in lunar year,
+   * {@code isLeap} will be ignored.
+   *
+   * @param lunarYear lunar year
+   * @param lunarMonth lunar month
+   * @param lunarDay lunar day
+   * @param isLeap the month is leap month or not
+   * @return epoch day
+   */
+  public static int fromLunar(int lunarYear, int lunarMonth, int lunarDay, boolean isLeap) {
+    if (isInTable(lunarYear)) {
+      return LunarConverter.fromLunar(lunarYear, lunarMonth, lunarDay, isLeap);
+    }
+
+    int epochDay = getNewYearEpochDay(lunarYear);
+    int leapMonth = getLeapMonth(lunarYear);
+    for (int month = 1; month < lunarMonth; month++) {
+      epochDay += getDaysInMonth(lunarYear, month, false);
+      if (month == leapMonth) {
+        epochDay += getDaysInMonth(lunarYear, month, true);
+      }
+    }
+    if (isLeap && lunarMonth == leapMonth) {
+      epochDay += getDaysInMonth(lunarYear, lunarMonth, false);
+    }
+
+    return epochDay + lunarDay - 1;
+  }
+
+  /**
+   * Get the epoch day of solar term in China, computed from the longitude of the sun.
+   *
+   * @param year the year
+   * @param index the index of solar term, 0 is 小寒
+   * @return epoch day of solar term
+   */
+  public static int getSolarTermEpochDay(int year, int index) {
+    return getLocalEpochDay(getSolarTermTime(year, index));
+  }
+
+  /**
+   * Get the time in minutes since epoch in Coordinated Universal Time, the seconds are
+   * truncated.
+   *
+   * @param jde Julian ephemeris day
+   * @return minutes since epoch
+   */
+  static int getUniversalMinute(double jde) {
+    double jd = Astronomy.toUniversalTime(jde);
+    return (int) Math.floor((jd - Astronomy.JD_EPOCH) * 1440);
+  }
+
+  /**
+   * Get the time of solar term computed from the longitude of the sun.
+   *
+   * @param year the year
+   * @param index the index of solar term, 0 is 小寒
+   * @return Julian ephemeris day
+   */
+  static double getSolarTermTime(int year, int index) {
+    /* 春分(index 5) is the March equinox, and the sun moves about 15.2 days per solar term */
+    double longitude = (285 + 15 * index) % 360;
+    return Astronomy.solarTerm(longitude, Astronomy.marchEquinox(year) + (index - 5) * 15.2);
+  }
+
+  /**
+   * Compute the information of lunar year from the times of new moons and solar terms,
+   * this never reads lunar information and never memoizes.
+   *
+   * @param lunarYear lunar year
+   * @return | year information(32 - 63 bit) | new year epoch day(0 - 31 bit) |
+   */
+  static long computeYear(int lunarYear) {
+    /* the months of lunar year are in the suis from last winter solstice */
+    int[] months = new int[14];
+    int[] starts = new int[15];
+    int count = collectMonths(lunarYear - 1, 1, months, starts, 0);
+    count = collectMonths(lunarYear, 11, months, starts, count);
+
+    int info = 0;
+    for (int i = 0; i < count; i++) {
+      int days = starts[i + 1] - starts[i];
+      int month = months[i] >> 1;
+      if ((months[i] & 1) != 0) {
+        info |= month | (days == 30 ? LEAP_MONTH_BIG : 0);
+      } else if (days == 30) {
+        info |= 0x10000 >> month;
+      }
+    }
+
+    return (long) info << 32 | (starts[0] & 0xffffffffL);
+  }
+
+  /**
+   * Collect the months of lunar year in the sui(岁) from the winter solstice of the given
+   * year to the next one.
+   *
+   * @param year the year of winter solstice in the Gregorian calendar
+   * @param firstMonth only collect the months after the first non-leap one of this month
+   * @param months the months collected, | month | leap |
+   * @param starts the epoch days of the months collected and one more for the end
+   * @param count the count of months already collected
+   * @return the count of months collected
+   */
+  private static int collectMonths(int year, int firstMonth, int[] months, int[] starts,
+      int count) {
+    double solstice = getWinterSolstice(year);
+    int first = getMonth11Lunation(solstice);
+    int last = getMonth11Lunation(getWinterSolstice(year + 1));
+    int leapIndex = last - first == 13 ? findMonthWithoutMajorTerm(solstice, first) : -1;
+
+    boolean collecting = false;
+    int month = 10;
+    for (int i = 0; i < last - first; i++) {
+      boolean isLeap = i == leapIndex;
+      month = isLeap ? month : month % 12 + 1;
+      if (firstMonth == 1) {
+        collecting |= month == 1 && !isLeap;
+      } else {
+        /* months 11 and 12 at the beginning of sui */
+        collecting = month >= 11;
+      }
+
+      if (collecting) {
+        months[count] = month << 1 | (isLeap ? 1 : 0);
+        starts[count] = getNewMoonDay(first + i);
+        starts[++count] = getNewMoonDay(first + i + 1);
+      }
+    }
+
+    return count;
+  }
+
+  /* find the index of first month without major solar term from month 11 in the sui */
+  private static int findMonthWithoutMajorTerm(double solstice, int first) {
+    int term = 1;
+    int termDay = getMajorTermDay(solstice, term);
+    for (int i = 1; i < 13; i++) {
+      int start = getNewMoonDay(first + i);
+      while (termDay < start) {
+        termDay = getMajorTermDay(solstice, ++term);
+      }
+      if (termDay >= getNewMoonDay(first + i + 1)) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  /* get the epoch day of the major solar term after winter solstice */
+  private static int getMajorTermDay(double solstice, int term) {
+    return getLocalEpochDay(Astronomy.solarTerm(270 + 30 * term, solstice + 30.44 * term));
+  }
+
+  /* get the lunation of the 11th month contains the winter solstice */
+  private static int getMonth11Lunation(double solstice) {
+    int solsticeDay = getLocalEpochDay(solstice);
+    int k = Astronomy.lunation(solstice);
+    while (getNewMoonDay(k) > solsticeDay) {
+      k--;
+    }
+    while (getNewMoonDay(k + 1) <= solsticeDay) {
+      k++;
+    }
+
+    return k;
+  }
+
+  /* get the time of winter solstice in the given year */
+  private static double getWinterSolstice(int year) {
+    return Astronomy.solarTerm(270, Astronomy.marchEquinox(year) + 276);
+  }
+
+  /* get the epoch day of new moon in China */
+  private static int getNewMoonDay(int k) {
+    return LunarConverter.floorDiv(getNewMoonMinute(k), 1440);
+  }
+
+  /**
+   * Get the time of new moon in minutes since epoch in China, the seconds are truncated.
+   * The new moons are computed in blocks and kept in table, which are shared by the
+   * months of computed years and {@link MoonPhase}.
+   *
+   * @param k lunation number, 0 is the new moon in 2000-01-06
+   * @return minutes since epoch in China
+   */
+  static int getNewMoonMinute(int k) {
+    if (k < MIN_LUNATION || k > MAX_LUNATION) {
+      return computeNewMoonMinute(k);
+    }
+
+    /* computed new moons never change, it's fine if computed more than once in racing */
+    int block = (k - MIN_LUNATION) / LUNATIONS_IN_BLOCK;
+    int[] minutes = NEW_MOONS.get(block);
+    if (minutes == null) {
+      minutes = new int[LUNATIONS_IN_BLOCK];
+      for (int i = 0; i < LUNATIONS_IN_BLOCK; i++) {
+        minutes[i] = computeNewMoonMinute(MIN_LUNATION + block * LUNATIONS_IN_BLOCK + i);
+      }
+      NEW_MOONS.set(block, minutes);
+    }
+
+    return minutes[(k - MIN_LUNATION) % LUNATIONS_IN_BLOCK];
+  }
+
+  /* compute the time of new moon in minutes since epoch in China */
+  private static int computeNewMoonMinute(int k) {
+    double jd = Astronomy.toUniversalTime(Astronomy.newMoon(k));
+    return (int) Math.floor((jd + getLocalOffset(jd) - Astronomy.JD_EPOCH) * 1440);
+  }
+
+  /**
+   * Get the offset of the time in China from Universal Time, the time of China was
+   * local time of Beijing before 1929.
+   *
+   * @param jd Julian day in Universal Time
+   * @return the offset in days
+   */
+  static double getLocalOffset(double jd) {
+    return jd < JD_1929 ? BEIJING_OFFSET : CHINA_OFFSET;
+  }
+
+  /**
+   * Get the epoch day in China of the given time.
+   *
+   * @param jde Julian ephemeris day
+   * @return epoch day
+   */
+  static int getLocalEpochDay(double jde) {
+    double jd = Astronomy.toUniversalTime(jde);
+    jd += getLocalOffset(jd);
+    return (int) Math.floor(jd - Astronomy.JD_EPOCH);
+  }
+
+  /* get the computed year from memo, compute if not computed yet */
+  private static long getComputedYear(int lunarYear) {
+    if (lunarYear < MIN_YEAR || lunarYear > MAX_YEAR + 1) {
+      throw new IllegalArgumentException("Lunar year out of range: " + lunarYear);
+    }
+
+    /* computed year never changes, it's fine if computed more than once in racing */
+    long year = YEARS.get(lunarYear - MIN_YEAR);
+    if (year == 0) {
+      year = computeYear(lunarYear) | COMPUTED;
+      YEARS.set(lunarYear - MIN_YEAR, year);
+    }
+
+    return year;
+  }
+}
@@ -0,0 +1,85 @@
+package com.coolerfall.widget.lunar;
+
+/**
+ * Convert a range of days into primitive arrays supplied by caller. All the days are
+ * walked with one {@link LunarCursor}, so there's no allocation for each day.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public final class LunarBulk {
+  private LunarBulk() {
+
+  }
+
+  /**
+   * Convert consecutive days from the given epoch day. Any of the arrays can be null if
+   * not needed, otherwise the length of it should be {@code offset + count} at least.
+   *
+   * @param startEpochDay the epoch day of the first day
+   * @param count the count of days to convert
+   * @param offset the first index in arrays to fill
+   * @param packedLunars packed lunar date, see {@link LunarConverter}
+   * @param cyclicalDays the index of day in Heavenly Stems and Earthly Branches
+   * @param solarTerms the index of solar term, -1 if was not solar term
+   * @param holidays the id of holiday in default {@link HolidayCalendar}, -1 if was not holiday
+   * @return the count of days converted, days out of lunar calendar(from
+   * {@link LunarAstronomy#MIN_EPOCH_DAY} to {@link LunarAstronomy#MAX_EPOCH_DAY}) are left
+   * untouched
+   * @throws IllegalArgumentException if count or offset is negative, or any array is too short
+   */
+  public static int convert(int startEpochDay, int count, int offset, int[] packedLunars,
+      byte[] cyclicalDays, byte[] solarTerms, short[] holidays) {
+    if (count < 0 || offset < 0) {
+      throw new IllegalArgumentException("Invalid count or offset: " + count + ", " + offset);
+    }
+    if (packedLunars != null) {
+      checkLength(packedLunars.length, offset, count);
+    }
+    if (cyclicalDays != null) {
+      checkLength(cyclicalDays.length, offset, count);
+    }
+    if (solarTerms != null) {
+      checkLength(solarTerms.length, offset, count);
+    }
+    if (holidays != null) {
+      checkLength(holidays.length, offset, count);
+    }
+
+    int start = Math.max(startEpochDay, LunarAstronomy.MIN_EPOCH_DAY);
+    long end = Math.min((long) startEpochDay + count - 1, LunarAstronomy.MAX_EPOCH_DAY);
+    if (end < start) {
+      return 0;
+    }
+
+    int total = (int) (end - start + 1);
+    int index = offset + start - startEpochDay;
+    LunarCursor cursor = new LunarCursor(start);
+    HolidayCalendar holidayCalendar = HolidayCalendar.getDefault();
+
+    for (int i = 0; i < total; i++, index++) {
+      if (packedLunars != null) {
+        packedLunars[index] = cursor.getPackedLunar();
+      }
+      if (cyclicalDays != null) {
+        cyclicalDays[index] = (byte) cursor.getCyclicalDay();
+      }
+      if (solarTerms != null) {
+        solarTerms[index] = (byte) cursor.getSolarTermIndex();
+      }
+      if (holidays != null) {
+        holidays[index] = (short) holidayCalendar.getHolidayId(cursor.getEpochDay());
+      }
+      cursor.next();
+    }
+
+    return total;
+  }
+
+  /* check if the array can hold count of days from offset */
+  private static void checkLength(int length, int offset, int count) {
+    if ((long) offset + count > length) {
+      throw new IllegalArgumentException(
+          "Array too short: " + length + " < " + offset + " + " + count);
+    }
+  }
+}
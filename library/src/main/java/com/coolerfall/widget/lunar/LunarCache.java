@@ -0,0 +1,188 @@
+package com.coolerfall.widget.lunar;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded cache of conversion results keyed by epoch day. The cache is direct mapped,
+ * each epoch day has only one slot and the old entry will be replaced when collided, so
+ * there's no lock in reading and writing. The hit and miss counters are striped by thread,
+ * so concurrent lookups don't contend on one counter either. The cache is disabled by
+ * default, call {@link #setDefault(LunarCache)} to share a cache with all {@link Lunar}
+ * instances.
+ * <p>
+ * This class is thread safe.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public final class LunarCache {
+  /* each stripe of counters takes one cache line of 64 bytes, the first two are used */
+  private static final int STRIPES = 16;
+  private static final int STRIPE_WIDTH = 8;
+  private static final int HIT = 0;
+  private static final int MISS = 1;
+
+  private static volatile LunarCache defaultCache;
+
+  private final AtomicReferenceArray<Day> days;
+  private final int mask;
+  private final AtomicLongArray counters = new AtomicLongArray(STRIPES * STRIPE_WIDTH);
+
+  /**
+   * The constructor of lunar cache.
+   *
+   * @param maxSize max count of days in cache, will be rounded up to power of two
+   */
+  public LunarCache(int maxSize) {
+    if (maxSize <= 0 || maxSize > 1 << 20) {
+      throw new IllegalArgumentException("Invalid max size: " + maxSize);
+    }
+
+    int capacity = Integer.highestOneBit(maxSize);
+    capacity = capacity < maxSize ? capacity << 1 : capacity;
+    days = new AtomicReferenceArray<>(capacity);
+    mask = capacity - 1;
+  }
+
+  /**
+   * Get the cache shared with all {@link Lunar} instances.
+   *
+   * @return {@link LunarCache}, null if disabled
+   */
+  public static LunarCache getDefault() {
+    return defaultCache;
+  }
+
+  /**
+   * Set the cache shared with all {@link Lunar} instances.
+   *
+   * @param cache {@link LunarCache}, null to disable cache
+   */
+  public static void setDefault(LunarCache cache) {
+    defaultCache = cache;
+  }
+
+  /**
+   * Get the conversion result of the given day, convert and put into cache if missed.
+   *
+   * @param epochDay epoch day
+   * @return {@link Day}
+   */
+  Day get(int epochDay) {
+    int slot = epochDay & mask;
+    Day day = days.get(slot);
+    if (day != null && day.epochDay == epochDay) {
+      count(HIT);
+      return day;
+    }
+
+    count(MISS);
+    day = new Day(epochDay);
+    days.set(slot, day);
+    return day;
+  }
+
+  /* increase the counter in the stripe of current thread */
+  private void count(int counter) {
+    int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+    counters.getAndIncrement(stripe * STRIPE_WIDTH + counter);
+  }
+
+  /* sum the counter in all stripes */
+  private long sum(int counter) {
+    long sum = 0;
+    for (int i = counter; i < counters.length(); i += STRIPE_WIDTH) {
+      sum += counters.get(i);
+    }
+
+    return sum;
+  }
+
+  /**
+   * Get the lunar date of the given day.
+   *
+   * @param epochDay epoch day, will be clamped into the range of lunar calendar
+   * @return {@link LunarDate}
+   */
+  public LunarDate getLunarDate(int epochDay) {
+    return get(epochDay).date;
+  }
+
+  /**
+   * Get packed lunar date of the given day.
+   *
+   * @param epochDay epoch day, will be clamped into the range of lunar calendar
+   * @return packed lunar date
+   */
+  public int getPackedLunar(int epochDay) {
+    return get(epochDay).date.toPacked();
+  }
+
+  /**
+   * Get the count of lookups found in cache.
+   *
+   * @return hit count
+   */
+  public long getHitCount() {
+    return sum(HIT);
+  }
+
+  /**
+   * Get the count of lookups not found in cache.
+   *
+   * @return miss count
+   */
+  public long getMissCount() {
+    return sum(MISS);
+  }
+
+  /**
+   * Get the max count of days in cache.
+   *
+   * @return max size
+   */
+  public int getMaxSize() {
+    return mask + 1;
+  }
+
+  /**
+   * Remove all the days in cache and reset the counters.
+   */
+  public void clear() {
+    for (int i = 0; i <= mask; i++) {
+      days.set(i, null);
+    }
+    for (int i = 0; i < counters.length(); i++) {
+      counters.set(i, 0);
+    }
+  }
+
+  /**
+   * The immutable conversion result of one day.
+   */
+  static final class Day {
+    final int epochDay;
+    final int packedSolar;
+    final LunarDate date;
+    final int daysInLunarMonth;
+    final int cyclicalYear;
+    final int cyclicalMonth;
+    final int cyclicalDay;
+
+    Day(int epochDay) {
+      this.epochDay = epochDay;
+      int clamped = LunarAstronomy.clamp(epochDay);
+      packedSolar = LunarConverter.toSolar(clamped);
+      date = LunarDate.ofEpochDay(clamped);
+      daysInLunarMonth =
+          LunarAstronomy.getDaysInMonth(date.getYear(), date.getMonth(), date.isLeapMonth());
+
+      int year = LunarConverter.getSolarYear(packedSolar);
+      int month = LunarConverter.getSolarMonth(packedSolar);
+      int day = LunarConverter.getSolarDay(packedSolar);
+      cyclicalYear = LunarConverter.getCyclicalYear(year, month, day);
+      cyclicalMonth = LunarConverter.getCyclicalMonth(year, month, day);
+      cyclicalDay = LunarConverter.getCyclicalDay(clamped);
+    }
+  }
+}
@@ -0,0 +1,479 @@
+package com.coolerfall.widget.lunar;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.chrono.ChronoLocalDate;
+import java.time.chrono.ChronoPeriod;
+import java.time.chrono.Era;
+import java.time.chrono.IsoEra;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalField;
+import java.time.temporal.TemporalUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.time.temporal.ValueRange;
+
+/**
+ * A date in {@link LunarChronology}. The date holds epoch day and packed lunar date
+ * (see {@link LunarConverter}), all the arithmetic is done with epoch day, so the
+ * conversion with {@link LocalDate} is only an integer copy.
+ * <p>
+ * This class is immutable and thread safe.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+@TargetApi(Build.VERSION_CODES.O) public final class LunarChronoDate
+    implements ChronoLocalDate {
+  private final int epochDay;
+  private final int packed;
+
+  private LunarChronoDate(int epochDay, int packed) {
+    this.epochDay = epochDay;
+    this.packed = packed;
+  }
+
+  /**
+   * Obtain lunar date with lunar year, month and day. If the month is not leap month
+   * in lunar year, {@code isLeap} will be ignored.
+   *
+   * @param year lunar year
+   * @param month lunar month
+   * @param day lunar day
+   * @param isLeap the month is leap month or not
+   * @return {@link LunarChronoDate}
+   * @throws DateTimeException if the date is not existed
+   */
+  public static LunarChronoDate of(int year, int month, int day, boolean isLeap) {
+    LunarChronology.checkYear(year);
+    if (month < 1 || month > 12) {
+      throw new DateTimeException("Invalid lunar month: " + month);
+    }
+
+    boolean leap = isLeap && LunarAstronomy.getLeapMonth(year) == month;
+    if (day < 1 || day > LunarAstronomy.getDaysInMonth(year, month, leap)) {
+      throw new DateTimeException("Invalid lunar day: " + day);
+    }
+
+    return new LunarChronoDate(LunarAstronomy.fromLunar(year, month, day, leap),
+        LunarConverter.packLunar(year, month, day, leap));
+  }
+
+  /**
+   * Obtain lunar date with lunar year, ordinal month of year and day.
+   *
+   * @param year lunar year
+   * @param month ordinal month of year, from 1 to 12, or 13 if the year has leap month
+   * @param day lunar day
+   * @return {@link LunarChronoDate}
+   * @throws DateTimeException if the date is not existed
+   */
+  public static LunarChronoDate ofOrdinal(int year, int month, int day) {
+    LunarChronology.checkYear(year);
+    int leapMonth = LunarAstronomy.getLeapMonth(year);
+    if (month < 1 || month > (leapMonth == 0 ? 12 : 13)) {
+      throw new DateTimeException("Invalid month of lunar year: " + month);
+    }
+
+    boolean leap = leapMonth != 0 && month == leapMonth + 1;
+    return of(year, leapMonth != 0 && month > leapMonth ? month - 1 : month, day, leap);
+  }
+
+  /**
+   * Obtain lunar date with epoch day.
+   *
+   * @param epochDay epoch day
+   * @return {@link LunarChronoDate}
+   * @throws DateTimeException if the epoch day is out of range
+   */
+  public static LunarChronoDate ofEpochDay(long epochDay) {
+    if (epochDay < LunarAstronomy.MIN_EPOCH_DAY || epochDay > LunarAstronomy.MAX_EPOCH_DAY) {
+      throw new DateTimeException("Epoch day out of range: " + epochDay);
+    }
+
+    return new LunarChronoDate((int) epochDay, LunarAstronomy.toLunar((int) epochDay));
+  }
+
+  /**
+   * Obtain lunar date with {@link LocalDate}.
+   *
+   * @param date {@link LocalDate}
+   * @return {@link LunarChronoDate}
+   * @throws DateTimeException if the date is out of range
+   */
+  public static LunarChronoDate from(LocalDate date) {
+    return ofEpochDay(date.toEpochDay());
+  }
+
+  /**
+   * Obtain lunar date with {@link LunarDate}.
+   *
+   * @param date {@link LunarDate}
+   * @return {@link LunarChronoDate}
+   */
+  public static LunarChronoDate from(LunarDate date) {
+    return new LunarChronoDate(date.toEpochDay(), date.toPacked());
+  }
+
+  /**
+   * Get lunar year of this date.
+   *
+   * @return lunar year
+   */
+  public int getYear() {
+    return LunarConverter.getLunarYear(packed);
+  }
+
+  /**
+   * Get lunar month of this date, not the ordinal month of year.
+   *
+   * @return lunar month from 1 to 12
+   */
+  public int getMonth() {
+    return LunarConverter.getLunarMonth(packed);
+  }
+
+  /**
+   * Get lunar day of this date.
+   *
+   * @return lunar day from 1 to 30
+   */
+  public int getDay() {
+    return LunarConverter.getLunarDay(packed);
+  }
+
+  /**
+   * To check if the month of this date is leap month.
+   *
+   * @return true if was leap month, otherwise return false
+   */
+  public boolean isLeapMonth() {
+    return LunarConverter.isLeapMonth(packed);
+  }
+
+  /**
+   * Get the ordinal month of year, the leap month is counted.
+   *
+   * @return month of year from 1 to 13
+   */
+  public int getMonthOfYear() {
+    int month = getMonth();
+    int leapMonth = LunarAstronomy.getLeapMonth(getYear());
+    boolean after = leapMonth != 0 && (month > leapMonth || (month == leapMonth && isLeapMonth()));
+    return after ? month + 1 : month;
+  }
+
+  /**
+   * Convert into {@link LocalDate}.
+   *
+   * @return {@link LocalDate}
+   */
+  public LocalDate toLocalDate() {
+    return LocalDate.ofEpochDay(epochDay);
+  }
+
+  /**
+   * Convert into {@link LunarDate}.
+   *
+   * @return {@link LunarDate}
+   */
+  public LunarDate toLunarDate() {
+    return LunarDate.ofPacked(packed);
+  }
+
+  @Override public LunarChronology getChronology() {
+    return LunarChronology.INSTANCE;
+  }
+
+  @Override public Era getEra() {
+    return IsoEra.CE;
+  }
+
+  @Override public int lengthOfMonth() {
+    return LunarAstronomy.getDaysInMonth(getYear(), getMonth(), isLeapMonth());
+  }
+
+  @Override public int lengthOfYear() {
+    int year = getYear();
+    return LunarAstronomy.getNewYearEpochDay(year + 1) - LunarAstronomy.getNewYearEpochDay(year);
+  }
+
+  @Override public long toEpochDay() {
+    return epochDay;
+  }
+
+  /* get the day of lunar year from 1 */
+  private int getDayOfYear() {
+    return epochDay - LunarAstronomy.getNewYearEpochDay(getYear()) + 1;
+  }
+
+  /* get the count of lunar months from the first month of min year */
+  private long getProlepticMonth() {
+    /* new moons are never far from mean lunation, rounding gives the exact count */
+    int monthStart = epochDay - getDay() + 1;
+    return Math.round((monthStart - LunarAstronomy.MIN_EPOCH_DAY) / Astronomy.SYNODIC_MONTH);
+  }
+
+  @Override public boolean isSupported(TemporalField field) {
+    return field instanceof ChronoField ? field.isDateBased() : field != null
+        && field.isSupportedBy(this);
+  }
+
+  @Override public ValueRange range(TemporalField field) {
+    if (!(field instanceof ChronoField)) {
+      return field.rangeRefinedBy(this);
+    }
+    if (!isSupported(field)) {
+      throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+    }
+
+    switch ((ChronoField) field) {
+      case DAY_OF_MONTH:
+        return ValueRange.of(1, lengthOfMonth());
+      case DAY_OF_YEAR:
+        return ValueRange.of(1, lengthOfYear());
+      case MONTH_OF_YEAR:
+        return ValueRange.of(1, isLeapYear() ? 13 : 12);
+      case ALIGNED_WEEK_OF_MONTH:
+        return ValueRange.of(1, (lengthOfMonth() - 1) / 7 + 1);
+      case ALIGNED_WEEK_OF_YEAR:
+        return ValueRange.of(1, (lengthOfYear() - 1) / 7 + 1);
+      default:
+        return getChronology().range((ChronoField) field);
+    }
+  }
+
+  @Override public long getLong(TemporalField field) {
+    if (!(field instanceof ChronoField)) {
+      return field.getFrom(this);
+    }
+
+    switch ((ChronoField) field) {
+      case DAY_OF_WEEK:
+        return Math.floorMod(epochDay + 3, 7) + 1;
+      case ALIGNED_DAY_OF_WEEK_IN_MONTH:
+        return (getDay() - 1) % 7 + 1;
+      case ALIGNED_DAY_OF_WEEK_IN_YEAR:
+        return (getDayOfYear() - 1) % 7 + 1;
+      case DAY_OF_MONTH:
+        return getDay();
+      case DAY_OF_YEAR:
+        return getDayOfYear();
+      case EPOCH_DAY:
+        return epochDay;
+      case ALIGNED_WEEK_OF_MONTH:
+        return (getDay() - 1) / 7 + 1;
+      case ALIGNED_WEEK_OF_YEAR:
+        return (getDayOfYear() - 1) / 7 + 1;
+      case MONTH_OF_YEAR:
+        return getMonthOfYear();
+      case PROLEPTIC_MONTH:
+        return getProlepticMonth();
+      case YEAR_OF_ERA:
+      case YEAR:
+        return getYear();
+      case ERA:
+        return IsoEra.CE.getValue();
+      default:
+        throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+    }
+  }
+
+  @Override public LunarChronoDate with(TemporalField field, long newValue) {
+    if (!(field instanceof ChronoField)) {
+      return field.adjustInto(this, newValue);
+    }
+
+    ChronoField chronoField = (ChronoField) field;
+    int value = range(chronoField).checkValidIntValue(newValue, chronoField);
+    switch (chronoField) {
+      case DAY_OF_WEEK:
+        return plusDays(value - getLong(ChronoField.DAY_OF_WEEK));
+      case ALIGNED_DAY_OF_WEEK_IN_MONTH:
+        return plusDays(value - getLong(ChronoField.ALIGNED_DAY_OF_WEEK_IN_MONTH));
+      case ALIGNED_DAY_OF_WEEK_IN_YEAR:
+        return plusDays(value - getLong(ChronoField.ALIGNED_DAY_OF_WEEK_IN_YEAR));
+      case DAY_OF_MONTH:
+        return plusDays(value - getDay());
+      case DAY_OF_YEAR:
+        return plusDays(value - getDayOfYear());
+      case EPOCH_DAY:
+        return ofEpochDay(value);
+      case ALIGNED_WEEK_OF_MONTH:
+        return plusDays((value - getLong(ChronoField.ALIGNED_WEEK_OF_MONTH)) * 7);
+      case ALIGNED_WEEK_OF_YEAR:
+        return plusDays((value - getLong(ChronoField.ALIGNED_WEEK_OF_YEAR)) * 7);
+      case MONTH_OF_YEAR:
+        return plusMonths(value - getMonthOfYear());
+      case PROLEPTIC_MONTH:
+        return plusMonths(value - getProlepticMonth());
+      case YEAR_OF_ERA:
+      case YEAR:
+        return plusYears(value - getYear());
+      case ERA:
+        return this;
+      default:
+        throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+    }
+  }
+
+  @Override public LunarChronoDate plus(long amountToAdd, TemporalUnit unit) {
+    if (!(unit instanceof ChronoUnit)) {
+      return unit.addTo(this, amountToAdd);
+    }
+
+    switch ((ChronoUnit) unit) {
+      case DAYS:
+        return plusDays(amountToAdd);
+      case WEEKS:
+        return plusDays(Math.multiplyExact(amountToAdd, 7));
+      case MONTHS:
+        return plusMonths(amountToAdd);
+      case YEARS:
+        return plusYears(amountToAdd);
+      case DECADES:
+        return plusYears(Math.multiplyExact(amountToAdd, 10));
+      case CENTURIES:
+        return plusYears(Math.multiplyExact(amountToAdd, 100));
+      case MILLENNIA:
+        return plusYears(Math.multiplyExact(amountToAdd, 1000));
+      default:
+        throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+    }
+  }
+
+  @Override public LunarChronoDate minus(long amountToSubtract, TemporalUnit unit) {
+    return amountToSubtract == Long.MIN_VALUE ? plus(Long.MAX_VALUE, unit).plus(1, unit)
+        : plus(-amountToSubtract, unit);
+  }
+
+  /**
+   * Add days to this date.
+   *
+   * @param days the days to add, can be negative
+   * @return {@link LunarChronoDate}
+   */
+  public LunarChronoDate plusDays(long days) {
+    return days == 0 ? this : ofEpochDay(Math.addExact(epochDay, days));
+  }
+
+  /**
+   * Add lunar months to this date, leap months are counted. The day will be clamped
+   * into the days of month, see {@link LunarDate#plusMonths(int)}.
+   *
+   * @param months the months to add, can be negative
+   * @return {@link LunarChronoDate}
+   */
+  public LunarChronoDate plusMonths(long months) {
+    if (months == 0) {
+      return this;
+    }
+    if (months < Integer.MIN_VALUE || months > Integer.MAX_VALUE) {
+      throw new DateTimeException("Lunar month out of range: " + months);
+    }
+
+    try {
+      return from(toLunarDate().plusMonths((int) months));
+    } catch (IllegalArgumentException e) {
+      throw new DateTimeException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Add lunar years to this date. The month keeps the same lunar month, and will not
+   * be leap month if there is no such leap month in target year. The day will be clamped
+   * into the days of month.
+   *
+   * @param years the years to add, can be negative
+   * @return {@link LunarChronoDate}
+   */
+  public LunarChronoDate plusYears(long years) {
+    if (years == 0) {
+      return this;
+    }
+
+    long year = getYear() + years;
+    LunarChronology.checkYear(year);
+    int month = getMonth();
+    boolean leap = isLeapMonth() && LunarAstronomy.getLeapMonth((int) year) == month;
+    int day = Math.min(getDay(), LunarAstronomy.getDaysInMonth((int) year, month, leap));
+    return of((int) year, month, day, leap);
+  }
+
+  @Override public long until(Temporal endExclusive, TemporalUnit unit) {
+    LunarChronoDate end = getChronology().date(endExclusive);
+    if (!(unit instanceof ChronoUnit)) {
+      return unit.between(this, end);
+    }
+
+    switch ((ChronoUnit) unit) {
+      case DAYS:
+        return end.epochDay - epochDay;
+      case WEEKS:
+        return (end.epochDay - epochDay) / 7;
+      case MONTHS:
+        return monthsUntil(end);
+      case YEARS:
+        return yearsUntil(end);
+      case DECADES:
+        return yearsUntil(end) / 10;
+      case CENTURIES:
+        return yearsUntil(end) / 100;
+      case MILLENNIA:
+        return yearsUntil(end) / 1000;
+      default:
+        throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+    }
+  }
+
+  /* get complete lunar months until the end date */
+  private long monthsUntil(LunarChronoDate end) {
+    long months = end.getProlepticMonth() - getProlepticMonth();
+    if (months > 0 && end.getDay() < getDay()) {
+      months--;
+    } else if (months < 0 && end.getDay() > getDay()) {
+      months++;
+    }
+
+    return months;
+  }
+
+  /* get complete lunar years until the end date */
+  private long yearsUntil(LunarChronoDate end) {
+    long years = end.getYear() - getYear();
+    int dayOfYear = packed & 0x3ff;
+    int endDayOfYear = end.packed & 0x3ff;
+    if (years > 0 && endDayOfYear < dayOfYear) {
+      years--;
+    } else if (years < 0 && endDayOfYear > dayOfYear) {
+      years++;
+    }
+
+    return years;
+  }
+
+  @Override public ChronoPeriod until(ChronoLocalDate endDateExclusive) {
+    LunarChronoDate end = getChronology().date(endDateExclusive);
+    long years = yearsUntil(end);
+    LunarChronoDate date = plusYears(years);
+    long months = date.monthsUntil(end);
+    long days = date.plusMonths(months).until(end, ChronoUnit.DAYS);
+    return getChronology().period((int) years, (int) months, (int) days);
+  }
+
+  @Override public boolean equals(Object o) {
+    return o == this
+        || (o instanceof LunarChronoDate && ((LunarChronoDate) o).epochDay == epochDay);
+  }
+
+  @Override public int hashCode() {
+    return epochDay;
+  }
+
+  @Override public String toString() {
+    return getChronology().getId() + " " + LunarConverter.getLunarYear(packed) + "-"
+        + (isLeapMonth() ? "闰" : "") + getMonth() + "-" + getDay();
+  }
+}
@@ -0,0 +1,171 @@
+package com.coolerfall.widget.lunar;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.time.chrono.AbstractChronology;
+import java.time.chrono.Era;
+import java.time.chrono.IsoEra;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.ValueRange;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The Chinese lunisolar calendar in {@code java.time}, the dates are {@link LunarChronoDate}.
+ * The year is the number of lunar year, the same as {@link LunarDate#getYear()}, and the
+ * month of year is ordinal, which means the leap month is counted, so there are 13 months
+ * in the year with leap month. All the conversions are based-on epoch day with the tables
+ * of lunar calendar, no {@link java.util.Calendar} will be created.
+ * <p>
+ * This class is immutable and thread safe.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+@TargetApi(Build.VERSION_CODES.O) public final class LunarChronology extends AbstractChronology {
+  /** The singleton instance of lunar chronology. */
+  public static final LunarChronology INSTANCE = new LunarChronology();
+
+  private LunarChronology() {
+
+  }
+
+  @Override public String getId() {
+    return "Lunar";
+  }
+
+  /**
+   * Get the calendar type in CLDR, which is 'chinese'.
+   *
+   * @return calendar type
+   */
+  @Override public String getCalendarType() {
+    return "chinese";
+  }
+
+  /**
+   * Obtain lunar date with lunar year, ordinal month of year and day.
+   *
+   * @param prolepticYear lunar year
+   * @param month ordinal month of year, from 1 to 12, or 13 if the year has leap month
+   * @param dayOfMonth lunar day
+   * @return {@link LunarChronoDate}
+   * @throws DateTimeException if the date is not existed
+   */
+  @Override public LunarChronoDate date(int prolepticYear, int month, int dayOfMonth) {
+    return LunarChronoDate.ofOrdinal(prolepticYear, month, dayOfMonth);
+  }
+
+  @Override public LunarChronoDate date(Era era, int yearOfEra, int month, int dayOfMonth) {
+    return date(prolepticYear(era, yearOfEra), month, dayOfMonth);
+  }
+
+  @Override public LunarChronoDate dateYearDay(int prolepticYear, int dayOfYear) {
+    checkYear(prolepticYear);
+    int start = LunarAstronomy.getNewYearEpochDay(prolepticYear);
+    int length = LunarAstronomy.getNewYearEpochDay(prolepticYear + 1) - start;
+    if (dayOfYear < 1 || dayOfYear > length) {
+      throw new DateTimeException("Invalid day of lunar year: " + dayOfYear);
+    }
+
+    return LunarChronoDate.ofEpochDay(start + dayOfYear - 1);
+  }
+
+  @Override public LunarChronoDate dateYearDay(Era era, int yearOfEra, int dayOfYear) {
+    return dateYearDay(prolepticYear(era, yearOfEra), dayOfYear);
+  }
+
+  @Override public LunarChronoDate dateEpochDay(long epochDay) {
+    return LunarChronoDate.ofEpochDay(epochDay);
+  }
+
+  @Override public LunarChronoDate date(TemporalAccessor temporal) {
+    if (temporal instanceof LunarChronoDate) {
+      return (LunarChronoDate) temporal;
+    }
+
+    return dateEpochDay(temporal.getLong(ChronoField.EPOCH_DAY));
+  }
+
+  @Override public LunarChronoDate dateNow() {
+    return dateNow(Clock.systemDefaultZone());
+  }
+
+  @Override public LunarChronoDate dateNow(ZoneId zone) {
+    return dateNow(Clock.system(zone));
+  }
+
+  @Override public LunarChronoDate dateNow(Clock clock) {
+    long second = Math.floorDiv(clock.millis(), 1000);
+    long offset = clock.getZone().getRules().getOffset(clock.instant()).getTotalSeconds();
+    return dateEpochDay(Math.floorDiv(second + offset, 86400));
+  }
+
+  /**
+   * To check if the lunar year has leap month.
+   *
+   * @param prolepticYear lunar year
+   * @return true if has leap month, otherwise return false
+   */
+  @Override public boolean isLeapYear(long prolepticYear) {
+    return prolepticYear >= LunarAstronomy.MIN_YEAR && prolepticYear <= LunarAstronomy.MAX_YEAR
+        && LunarAstronomy.getLeapMonth((int) prolepticYear) != 0;
+  }
+
+  @Override public int prolepticYear(Era era, int yearOfEra) {
+    if (era != IsoEra.CE) {
+      throw new ClassCastException("Era must be IsoEra.CE");
+    }
+
+    return yearOfEra;
+  }
+
+  @Override public Era eraOf(int eraValue) {
+    if (eraValue != IsoEra.CE.getValue()) {
+      throw new DateTimeException("Invalid era: " + eraValue);
+    }
+
+    return IsoEra.CE;
+  }
+
+  @Override public List<Era> eras() {
+    return Collections.<Era>singletonList(IsoEra.CE);
+  }
+
+  @Override public ValueRange range(ChronoField field) {
+    switch (field) {
+      case DAY_OF_MONTH:
+        return ValueRange.of(1, 29, 30);
+      case DAY_OF_YEAR:
+        return ValueRange.of(1, 353, 385);
+      case MONTH_OF_YEAR:
+        return ValueRange.of(1, 12, 13);
+      case ALIGNED_WEEK_OF_MONTH:
+        return ValueRange.of(1, 5);
+      case ALIGNED_WEEK_OF_YEAR:
+        return ValueRange.of(1, 51, 55);
+      case YEAR:
+      case YEAR_OF_ERA:
+        return ValueRange.of(LunarAstronomy.MIN_YEAR, LunarAstronomy.MAX_YEAR);
+      case ERA:
+        return ValueRange.of(1, 1);
+      case EPOCH_DAY:
+        return ValueRange.of(LunarAstronomy.MIN_EPOCH_DAY, LunarAstronomy.MAX_EPOCH_DAY);
+      case PROLEPTIC_MONTH:
+        return ValueRange.of(0,
+            dateEpochDay(LunarAstronomy.MAX_EPOCH_DAY).getLong(ChronoField.PROLEPTIC_MONTH));
+      default:
+        return field.range();
+    }
+  }
+
+  /* check if the lunar year is in the range can be computed */
+  static void checkYear(long year) {
+    if (year < LunarAstronomy.MIN_YEAR || year > LunarAstronomy.MAX_YEAR) {
+      throw new DateTimeException("Lunar year out of range: " + year);
+    }
+  }
+}
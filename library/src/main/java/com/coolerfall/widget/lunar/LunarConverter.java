@@ -0,0 +1,525 @@
+package com.coolerfall.widget.lunar;
+
+import java.util.Arrays;
+import java.util.TimeZone;
+
+/**
+ * Conversion between the Gregorian calendar and lunar calendar in 200 years from 1900.
+ * All the dates are represented by epoch day (days since 1970-01-01) and packed integers,
+ * so the conversion allocates nothing and can be used in any thread.
+ * <p>
+ * Packed lunar date: | year(10 - 31 bit) | month(6 - 9 bit) | leap(5 bit) | day(0 - 4 bit) |
+ * <p>
+ * Packed solar date: | year(9 - 31 bit) | month(5 - 8 bit, based-on 0) | day(0 - 4 bit) |
+ * <p>
+ * Both packed dates keep the order of dates, so they can be compared directly.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public final class LunarConverter {
+  /** The first lunar year in lunar information. */
+  public static final int MIN_YEAR = 1900;
+
+  /** The last lunar year in lunar information. */
+  public static final int MAX_YEAR = 2100;
+
+  /** The epoch day of the first day in lunar information(1900-01-31). */
+  public static final int MIN_EPOCH_DAY = -25537;
+
+  /** The epoch day of the last day in lunar information. */
+  public static final int MAX_EPOCH_DAY;
+
+  private static final long MILLIS_PER_DAY = 86400000L;
+
+  /* days from 0000-03-01 to 1970-01-01 */
+  private static final int DAYS_0000_TO_1970 = 719468;
+
+  /* days in 400 years */
+  private static final int DAYS_PER_CYCLE = 146097;
+
+  /**
+   * Lunar information in 200 years from 1900.
+   * <p>
+   * | 0 - 11(bit) | 12 - 15(bit) |
+   * month      leap month
+   * If last 4bit is 1111 or 0000 means no leap month.
+   * If the last 4bit in next data is 1111, the days of leap month is 30 days,
+   * otherwise, the days of leap month is 29days.
+   */
+  private static final int[] LUNR_INFO = {
+      0x4bd8, 0x4ae0, 0xa570, 0x54d5, 0xd260, 0xd950, 0x5554, 0x56af, 0x9ad0, 0x55d2, 0x4ae0,
+      0xa5b6, 0xa4d0, 0xd250, 0xd295, 0xb54f, 0xd6a0, 0xada2, 0x95b0, 0x4977, 0x497f, 0xa4b0,
+      0xb4b5, 0x6a50, 0x6d40, 0xab54, 0x2b6f, 0x9570, 0x52f2, 0x4970, 0x6566, 0xd4a0, 0xea50,
+      0x6a95, 0x5adf, 0x2b60, 0x86e3, 0x92ef, 0xc8d7, 0xc95f, 0xd4a0, 0xd8a6, 0xb55f, 0x56a0,
+      0xa5b4, 0x25df, 0x92d0, 0xd2b2, 0xa950, 0xb557, 0x6ca0, 0xb550, 0x5355, 0x4daf, 0xa5b0,
+      0x4573, 0x52bf, 0xa9a8, 0xe950, 0x6aa0, 0xaea6, 0xab50, 0x4b60, 0xaae4, 0xa570, 0x5260,
+      0xf263, 0xd950, 0x5b57, 0x56a0, 0x96d0, 0x4dd5, 0x4ad0, 0xa4d0, 0xd4d4, 0xd250, 0xd558,
+      0xb540, 0xb6a0, 0x95a6, 0x95bf, 0x49b0, 0xa974, 0xa4b0, 0xb27a, 0x6a50, 0x6d40, 0xaf46,
+      0xab60, 0x9570, 0x4af5, 0x4970, 0x64b0, 0x74a3, 0xea50, 0x6b58, 0x5ac0, 0xab60, 0x96d5,
+      0x92e0, 0xc960, 0xd954, 0xd4a0, 0xda50, 0x7552, 0x56a0, 0xabb7, 0x25d0, 0x92d0, 0xcab5,
+      0xa950, 0xb4a0, 0xbaa4, 0xad50, 0x55d9, 0x4ba0, 0xa5b0, 0x5176, 0x52bf, 0xa930, 0x7954,
+      0x6aa0, 0xad50, 0x5b52, 0x4b60, 0xa6e6, 0xa4e0, 0xd260, 0xea65, 0xd530, 0x5aa0, 0x76a3,
+      0x96d0, 0x4afb, 0x4ad0, 0xa4d0, 0xd0b6, 0xd25f, 0xd520, 0xdd45, 0xb5a0, 0x56d0, 0x55b2,
+      0x49b0, 0xa577, 0xa4b0, 0xaa50, 0xb255, 0x6d2f, 0xada0, 0x4b63, 0x937f, 0x49f8, 0x4970,
+      0x64b0, 0x68a6, 0xea5f, 0x6b20, 0xa6c4, 0xaaef, 0x92e0, 0xd2e3, 0xc960, 0xd557, 0xd4a0,
+      0xda50, 0x5d55, 0x56a0, 0xa6d0, 0x55d4, 0x52d0, 0xa9b8, 0xa950, 0xb4a0, 0xb6a6, 0xad50,
+      0x55a0, 0xaba4, 0xa5b0, 0x52b0, 0xb273, 0x6930, 0x7337, 0x6aa0, 0xad50, 0x4b55, 0x4b6f,
+      0xa570, 0x54e4, 0xd260, 0xe968, 0xd520, 0xdaa0, 0x6aa6, 0x56df, 0x4ae0, 0xa9d4, 0xa4d0,
+      0xd150, 0xf252, 0xd520
+  };
+
+  /* the epoch day of the first day in every lunar month, and one more for the end */
+  private static final int[] MONTH_START;
+
+  /* lunar year, month and leap flag of every lunar month, | year - 1900 | month | leap | */
+  private static final int[] MONTH_INFO;
+
+  /* the index of the first lunar month for every lunar year in MONTH_START */
+  private static final int[] YEAR_MONTH_INDEX;
+
+  static {
+    int months = countLunarMonths();
+    MONTH_START = new int[months + 1];
+    MONTH_INFO = new int[months];
+    YEAR_MONTH_INDEX = new int[LUNR_INFO.length + 1];
+    buildMonthIndex(MONTH_START, MONTH_INFO, YEAR_MONTH_INDEX);
+    MAX_EPOCH_DAY = MONTH_START[months] - 1;
+  }
+
+  private LunarConverter() {
+
+  }
+
+  /* build the index of lunar months from the lunar information */
+  private static void buildMonthIndex(int[] monthStart, int[] monthInfo, int[] yearMonthIndex) {
+    int epochDay = MIN_EPOCH_DAY;
+    int index = 0;
+    for (int year = MIN_YEAR; year <= MAX_YEAR; year++) {
+      yearMonthIndex[year - MIN_YEAR] = index;
+      int leapMonth = getLeapMonth(year);
+      for (int month = 1; month <= 12; month++) {
+        monthStart[index] = epochDay;
+        monthInfo[index++] = (year - MIN_YEAR) << 5 | month << 1;
+        epochDay += getMonthDays(year, month);
+
+        if (month == leapMonth) {
+          monthStart[index] = epochDay;
+          monthInfo[index++] = (year - MIN_YEAR) << 5 | month << 1 | 1;
+          epochDay += getLeapDays(year);
+        }
+      }
+    }
+
+    yearMonthIndex[LUNR_INFO.length] = index;
+    monthStart[index] = epochDay;
+  }
+
+  /* count all the lunar months in the lunar information */
+  private static int countLunarMonths() {
+    int count = 0;
+    for (int year = MIN_YEAR; year <= MAX_YEAR; year++) {
+      count += getLeapMonth(year) > 0 ? 13 : 12;
+    }
+
+    return count;
+  }
+
+  /**
+   * Get total days of leap month in lunar year.
+   *
+   * @param lunarYear lunar year
+   * @return total days of leap month, otherwise return 0 if no leap month.
+   */
+  private static int getLeapDays(int lunarYear) {
+    return getLeapMonth(lunarYear) > 0 ? ((LUNR_INFO[lunarYear - 1899] & 0xf) == 0xf ? 30 : 29)
+        : 0;
+  }
+
+  /**
+   * Get total days of lunar month in normal case.
+   *
+   * @param lunarYear lunar year
+   * @param lunarMonth lunar month
+   * @return total days
+   */
+  private static int getMonthDays(int lunarYear, int lunarMonth) {
+    return ((LUNR_INFO[lunarYear - MIN_YEAR] & (0x10000 >> lunarMonth)) != 0) ? 30 : 29;
+  }
+
+  /* floor division for negative epoch days, Math.floorDiv is not available before API 24 */
+  static int floorDiv(int x, int y) {
+    int q = x / y;
+    return (x % y != 0 && (x ^ y) < 0) ? q - 1 : q;
+  }
+
+  /* floor division for negative milliseconds */
+  static long floorDiv(long x, long y) {
+    long q = x / y;
+    return (x % y != 0 && (x ^ y) < 0) ? q - 1 : q;
+  }
+
+  /**
+   * Find the index of lunar month which contains the given epoch day.
+   *
+   * @param epochDay epoch day in range
+   * @return the index in {@link #MONTH_START}
+   */
+  static int findMonthIndex(int epochDay) {
+    int index = Arrays.binarySearch(MONTH_START, 0, MONTH_START.length - 1, epochDay);
+    return index >= 0 ? index : -index - 2;
+  }
+
+  /**
+   * Find the index of lunar month with the given lunar date.
+   *
+   * @param lunarYear lunar year
+   * @param lunarMonth lunar month
+   * @param isLeap the month is leap month or not
+   * @return the index in {@link #MONTH_START}
+   */
+  static int findMonthIndex(int lunarYear, int lunarMonth, boolean isLeap) {
+    int leapMonth = getLeapMonth(lunarYear);
+    int index = YEAR_MONTH_INDEX[lunarYear - MIN_YEAR] + lunarMonth - 1;
+    if (leapMonth > 0 && (lunarMonth > leapMonth || (isLeap && lunarMonth == leapMonth))) {
+      index++;
+    }
+
+    return index;
+  }
+
+  /**
+   * Get the packed lunar date of the first day in the indexed lunar month.
+   *
+   * @param index the index of lunar month
+   * @return packed lunar date
+   */
+  static int getIndexedMonth(int index) {
+    int info = MONTH_INFO[index];
+    return packLunar((info >> 5) + MIN_YEAR, (info >> 1) & 0xf, 1, (info & 1) != 0);
+  }
+
+  /**
+   * Clamp the epoch day into the range of lunar information.
+   *
+   * @param epochDay epoch day
+   * @return epoch day between {@link #MIN_EPOCH_DAY} and {@link #MAX_EPOCH_DAY}
+   */
+  public static int clamp(int epochDay) {
+    return Math.max(MIN_EPOCH_DAY, Math.min(epochDay, MAX_EPOCH_DAY));
+  }
+
+  /**
+   * Get the leap month in lunar year.
+   *
+   * @param lunarYear lunar year
+   * @return the leap month in specified lunar year, otherwise return 0
+   */
+  public static int getLeapMonth(int lunarYear) {
+    int leapMonth = LUNR_INFO[lunarYear - MIN_YEAR] & 0xf;
+    return leapMonth == 0xf ? 0 : leapMonth;
+  }
+
+  /**
+   * Get total days of lunar month.
+   *
+   * @param lunarYear lunar year
+   * @param lunarMonth lunar month
+   * @param isLeap the month is leap month or not
+   * @return total days, 29 or 30
+   */
+  public static int getDaysInMonth(int lunarYear, int lunarMonth, boolean isLeap) {
+    int index = findMonthIndex(lunarYear, lunarMonth, isLeap);
+    return MONTH_START[index + 1] - MONTH_START[index];
+  }
+
+  /**
+   * Get total days of lunar year.
+   *
+   * @param lunarYear lunar year
+   * @return total days of lunar year
+   */
+  public static int getDaysInYear(int lunarYear) {
+    int index = lunarYear - MIN_YEAR;
+    return MONTH_START[YEAR_MONTH_INDEX[index + 1]] - MONTH_START[YEAR_MONTH_INDEX[index]];
+  }
+
+  /**
+   * Convert epoch day into packed lunar date. The epoch day will be clamped
+   * into the range of lunar information.
+   *
+   * @param epochDay epoch day
+   * @return packed lunar date
+   */
+  public static int toLunar(int epochDay) {
+    epochDay = clamp(epochDay);
+    int index = findMonthIndex(epochDay);
+
+    return getIndexedMonth(index) + epochDay - MONTH_START[index];
+  }
+
+  /**
+   * Convert lunar date into epoch day. If the month is not leap month in lunar year,
+   * {@code isLeap} will be ignored.
+   *
+   * @param lunarYear lunar year
+   * @param lunarMonth lunar month
+   * @param lunarDay lunar day
+   * @param isLeap the month is leap month or not
+   * @return epoch day
+   */
+  public static int fromLunar(int lunarYear, int lunarMonth, int lunarDay, boolean isLeap) {
+    return MONTH_START[findMonthIndex(lunarYear, lunarMonth, isLeap)] + lunarDay - 1;
+  }
+
+  /**
+   * Convert packed lunar date into epoch day.
+   *
+   * @param packedLunar packed lunar date
+   * @return epoch day
+   */
+  public static int fromLunar(int packedLunar) {
+    return fromLunar(getLunarYear(packedLunar), getLunarMonth(packedLunar),
+        getLunarDay(packedLunar), isLeapMonth(packedLunar));
+  }
+
+  /**
+   * Pack lunar date into integer.
+   *
+   * @param lunarYear lunar year
+   * @param lunarMonth lunar month
+   * @param lunarDay lunar day
+   * @param isLeap the month is leap month or not
+   * @return packed lunar date
+   */
+  public static int packLunar(int lunarYear, int lunarMonth, int lunarDay, boolean isLeap) {
+    return lunarYear << 10 | lunarMonth << 6 | (isLeap ? 1 << 5 : 0) | lunarDay;
+  }
+
+  /**
+   * Get lunar year from packed lunar date.
+   *
+   * @param packedLunar packed lunar date
+   * @return lunar year
+   */
+  public static int getLunarYear(int packedLunar) {
+    return packedLunar >> 10;
+  }
+
+  /**
+   * Get lunar month from packed lunar date.
+   *
+   * @param packedLunar packed lunar date
+   * @return lunar month
+   */
+  public static int getLunarMonth(int packedLunar) {
+    return (packedLunar >> 6) & 0xf;
+  }
+
+  /**
+   * Get lunar day from packed lunar date.
+   *
+   * @param packedLunar packed lunar date
+   * @return lunar day
+   */
+  public static int getLunarDay(int packedLunar) {
+    return packedLunar & 0x1f;
+  }
+
+  /**
+   * To check if the month of packed lunar date is leap month.
+   *
+   * @param packedLunar packed lunar date
+   * @return true if was leap month, otherwise return false
+   */
+  public static boolean isLeapMonth(int packedLunar) {
+    return (packedLunar & (1 << 5)) != 0;
+  }
+
+  /**
+   * Convert the date in the Gregorian calendar into epoch day.
+   * Month and day out of range will be rolled into next or previous month and year.
+   *
+   * @param year the year
+   * @param month the month, based-on 0
+   * @param day the day
+   * @return epoch day
+   */
+  public static int toEpochDay(int year, int month, int day) {
+    year += floorDiv(month, 12);
+    month = month - floorDiv(month, 12) * 12 + 1;
+
+    /* count from march, so the leap day is the last day of a year */
+    int y = month <= 2 ? year - 1 : year;
+    int era = floorDiv(y, 400);
+    int yearOfEra = y - era * 400;
+    int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+
+    return era * DAYS_PER_CYCLE + dayOfEra - DAYS_0000_TO_1970;
+  }
+
+  /**
+   * Convert the time in millisecond into epoch day of the given time zone.
+   *
+   * @param millisec millisecond
+   * @param timeZone the time zone of local date
+   * @return epoch day
+   */
+  public static int toEpochDay(long millisec, TimeZone timeZone) {
+    return (int) floorDiv(millisec + timeZone.getOffset(millisec), MILLIS_PER_DAY);
+  }
+
+  /**
+   * Convert epoch day into packed solar date.
+   *
+   * @param epochDay epoch day
+   * @return packed solar date
+   */
+  public static int toSolar(int epochDay) {
+    int days = epochDay + DAYS_0000_TO_1970;
+    int era = floorDiv(days, DAYS_PER_CYCLE);
+    int dayOfEra = days - era * DAYS_PER_CYCLE;
+    int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+    int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    int monthFromMarch = (5 * dayOfYear + 2) / 153;
+    int day = dayOfYear - (153 * monthFromMarch + 2) / 5 + 1;
+    int month = monthFromMarch < 10 ? monthFromMarch + 2 : monthFromMarch - 10;
+    int year = yearOfEra + era * 400 + (month < 2 ? 1 : 0);
+
+    return packSolar(year, month, day);
+  }
+
+  /**
+   * Convert packed solar date into epoch day.
+   *
+   * @param packedSolar packed solar date
+   * @return epoch day
+   */
+  public static int fromSolar(int packedSolar) {
+    return toEpochDay(getSolarYear(packedSolar), getSolarMonth(packedSolar),
+        getSolarDay(packedSolar));
+  }
+
+  /**
+   * Pack solar date into integer.
+   *
+   * @param year the year
+   * @param month the month, based-on 0
+   * @param day the day
+   * @return packed solar date
+   */
+  public static int packSolar(int year, int month, int day) {
+    return year << 9 | month << 5 | day;
+  }
+
+  /**
+   * Get year from packed solar date.
+   *
+   * @param packedSolar packed solar date
+   * @return the year
+   */
+  public static int getSolarYear(int packedSolar) {
+    return packedSolar >> 9;
+  }
+
+  /**
+   * Get month from packed solar date.
+   *
+   * @param packedSolar packed solar date
+   * @return the month, based-on 0
+   */
+  public static int getSolarMonth(int packedSolar) {
+    return (packedSolar >> 5) & 0xf;
+  }
+
+  /**
+   * Get day from packed solar date.
+   *
+   * @param packedSolar packed solar date
+   * @return the day
+   */
+  public static int getSolarDay(int packedSolar) {
+    return packedSolar & 0x1f;
+  }
+
+  /**
+   * Get total days of month in the Gregorian calendar.
+   *
+   * @param year the year
+   * @param month the month, based-on 0
+   * @return total days
+   */
+  public static int getDaysInSolarMonth(int year, int month) {
+    if (month == 1) {
+      return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0 ? 29 : 28;
+    }
+
+    return month == 3 || month == 5 || month == 8 || month == 10 ? 30 : 31;
+  }
+
+  /**
+   * Get the day of week for epoch day.
+   *
+   * @param epochDay epoch day
+   * @return day of week(1-Sunday, 7-Saturday).
+   */
+  public static int getDayOfWeek(int epochDay) {
+    /* 1970-01-01 is Thursday */
+    int dayOfWeek = (epochDay + 4) % 7;
+    return (dayOfWeek < 0 ? dayOfWeek + 7 : dayOfWeek) + 1;
+  }
+
+  /**
+   * Get the index of epoch day in Heavenly Stems and Earthly Branches.
+   *
+   * @param epochDay epoch day
+   * @return cyclical day from 0 to 59
+   */
+  public static int getCyclicalDay(int epochDay) {
+    /* 1900-01-01 is the 11st day in the cycle */
+    int cyclicalDay = (epochDay + 25567 + 10) % 60;
+    return cyclicalDay < 0 ? cyclicalDay + 60 : cyclicalDay;
+  }
+
+  /**
+   * Get the index of year in Heavenly Stems and Earthly Branches, the year starts from the
+   * day of 立春, see {@link SolarTerm#getDay(int, int)}.
+   *
+   * @param solarYear the year
+   * @param solarMonth the month, based-on 0
+   * @param solarDay the day
+   * @return cyclical year from 0 to 59
+   */
+  public static int getCyclicalYear(int solarYear, int solarMonth, int solarDay) {
+    int term = SolarTerm.getDay(solarYear, 2);
+    int cyclicalYear;
+    if (solarMonth < 1 || (solarMonth == 1 && solarDay < term)) {
+      cyclicalYear = (solarYear - 1900 + 36 - 1) % 60;
+    } else {
+      cyclicalYear = (solarYear - 1900 + 36) % 60;
+    }
+
+    return cyclicalYear < 0 ? cyclicalYear + 60 : cyclicalYear;
+  }
+
+  /**
+   * Get the index of month in Heavenly Stems and Earthly Branches, the month starts
+   * from the day of the first solar term in each month.
+   *
+   * @param solarYear the year
+   * @param solarMonth the month, based-on 0
+   * @param solarDay the day
+   * @return cyclical month from 0 to 59
+   */
+  public static int getCyclicalMonth(int solarYear, int solarMonth, int solarDay) {
+    int firstNode = SolarTerm.getDay(solarYear, solarMonth * 2);
+    int cyclicalMonth;
+    if (solarDay < firstNode) {
+      cyclicalMonth = ((solarYear - 1900) * 12 + solarMonth + 12) % 60;
+    } else {
+      cyclicalMonth = ((solarYear - 1900) * 12 + solarMonth + 13) % 60;
+    }
+
+    return cyclicalMonth < 0 ? cyclicalMonth + 60 : cyclicalMonth;
+  }
+}
@@ -0,0 +1,296 @@
+package com.coolerfall.widget.lunar;
+
+/**
+ * A cursor walks over the lunar calendar day by day. Moving to next or previous
+ * day only updates the state incrementally, so walking consecutive days costs
+ * constant time for each day without any allocation. The cursor covers all the days
+ * from {@link LunarAstronomy#MIN_EPOCH_DAY} to {@link LunarAstronomy#MAX_EPOCH_DAY}.
+ * <p>
+ * The cursor is mutable and not thread safe.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public final class LunarCursor {
+  private int epochDay;
+  private int solarYear;
+  private int solarMonth;
+  private int solarDay;
+  private int daysInSolarMonth;
+  private int leapMonth;
+  private int lunarYear;
+  private int lunarMonth;
+  private int lunarDay;
+  private boolean isLeap;
+  private int daysInLunarMonth;
+  private int cyclicalYear;
+  private int cyclicalMonth;
+  private int cyclicalDay;
+  private int solarTermIndex;
+
+  /**
+   * Create a cursor starts from the given epoch day.
+   *
+   * @param epochDay epoch day
+   * @throws IllegalArgumentException if the day is out of lunar calendar
+   */
+  public LunarCursor(int epochDay) {
+    moveTo(epochDay);
+  }
+
+  /**
+   * Create a cursor starts from the given date in the Gregorian calendar.
+   *
+   * @param year the year
+   * @param month the month, based-on 0
+   * @param day the day
+   * @throws IllegalArgumentException if the day is out of lunar calendar
+   */
+  public LunarCursor(int year, int month, int day) {
+    this(LunarConverter.toEpochDay(year, month, day));
+  }
+
+  /**
+   * Move the cursor to the given epoch day, this will seek in lunar months directly.
+   *
+   * @param epochDay epoch day
+   * @throws IllegalArgumentException if the day is out of lunar calendar
+   */
+  public void moveTo(int epochDay) {
+    if (epochDay < LunarAstronomy.MIN_EPOCH_DAY || epochDay > LunarAstronomy.MAX_EPOCH_DAY) {
+      throw new IllegalArgumentException("Epoch day out of lunar calendar: " + epochDay);
+    }
+    this.epochDay = epochDay;
+
+    int packedSolar = LunarConverter.toSolar(epochDay);
+    solarYear = LunarConverter.getSolarYear(packedSolar);
+    solarMonth = LunarConverter.getSolarMonth(packedSolar);
+    solarDay = LunarConverter.getSolarDay(packedSolar);
+    daysInSolarMonth = LunarConverter.getDaysInSolarMonth(solarYear, solarMonth);
+
+    int packedLunar = LunarAstronomy.toLunar(epochDay);
+    setLunarMonth(LunarConverter.getLunarYear(packedLunar),
+        LunarConverter.getLunarMonth(packedLunar), LunarConverter.isLeapMonth(packedLunar));
+    lunarDay = LunarConverter.getLunarDay(packedLunar);
+
+    cyclicalDay = LunarConverter.getCyclicalDay(epochDay);
+    updateSolarTerm();
+  }
+
+  /**
+   * Move to next day.
+   *
+   * @return true if moved, false if current day is the last day of lunar calendar
+   */
+  public boolean next() {
+    if (epochDay >= LunarAstronomy.MAX_EPOCH_DAY) {
+      return false;
+    }
+
+    epochDay++;
+    cyclicalDay = cyclicalDay == 59 ? 0 : cyclicalDay + 1;
+
+    if (++solarDay > daysInSolarMonth) {
+      solarDay = 1;
+      if (++solarMonth > 11) {
+        solarMonth = 0;
+        solarYear++;
+      }
+      daysInSolarMonth = LunarConverter.getDaysInSolarMonth(solarYear, solarMonth);
+    }
+
+    if (++lunarDay > daysInLunarMonth) {
+      if (!isLeap && lunarMonth == leapMonth) {
+        setLunarMonth(lunarYear, lunarMonth, true);
+      } else if (lunarMonth == 12) {
+        setLunarMonth(lunarYear + 1, 1, false);
+      } else {
+        setLunarMonth(lunarYear, lunarMonth + 1, false);
+      }
+      lunarDay = 1;
+    }
+
+    updateSolarTerm();
+    return true;
+  }
+
+  /**
+   * Move to previous day.
+   *
+   * @return true if moved, false if current day is the first day of lunar calendar
+   */
+  public boolean previous() {
+    if (epochDay <= LunarAstronomy.MIN_EPOCH_DAY) {
+      return false;
+    }
+
+    epochDay--;
+    cyclicalDay = cyclicalDay == 0 ? 59 : cyclicalDay - 1;
+
+    if (--solarDay < 1) {
+      if (--solarMonth < 0) {
+        solarMonth = 11;
+        solarYear--;
+      }
+      daysInSolarMonth = LunarConverter.getDaysInSolarMonth(solarYear, solarMonth);
+      solarDay = daysInSolarMonth;
+    }
+
+    if (--lunarDay < 1) {
+      if (isLeap) {
+        setLunarMonth(lunarYear, lunarMonth, false);
+      } else if (lunarMonth == 1) {
+        setLunarMonth(lunarYear - 1, 12, LunarAstronomy.getLeapMonth(lunarYear - 1) == 12);
+      } else {
+        setLunarMonth(lunarYear, lunarMonth - 1, lunarMonth - 1 == leapMonth);
+      }
+      lunarDay = daysInLunarMonth;
+    }
+
+    updateSolarTerm();
+    return true;
+  }
+
+  /* set current lunar month, the leap month is only looked up when lunar year changed */
+  private void setLunarMonth(int lunarYear, int lunarMonth, boolean isLeap) {
+    if (lunarYear != this.lunarYear) {
+      leapMonth = LunarAstronomy.getLeapMonth(lunarYear);
+    }
+    this.lunarYear = lunarYear;
+    this.lunarMonth = lunarMonth;
+    this.isLeap = isLeap;
+    daysInLunarMonth = LunarAstronomy.getDaysInMonth(lunarYear, lunarMonth, isLeap);
+  }
+
+  /* update solar term and the cyclical year and month which start from solar terms */
+  private void updateSolarTerm() {
+    solarTermIndex = SolarTerm.getIndexOfDay(solarYear, solarMonth, solarDay);
+    cyclicalYear = LunarConverter.getCyclicalYear(solarYear, solarMonth, solarDay);
+    cyclicalMonth = LunarConverter.getCyclicalMonth(solarYear, solarMonth, solarDay);
+  }
+
+  /**
+   * Get epoch day of current day.
+   *
+   * @return epoch day
+   */
+  public int getEpochDay() {
+    return epochDay;
+  }
+
+  /**
+   * Get year in the Gregorian calendar.
+   *
+   * @return year in the Gregorian calendar
+   */
+  public int getSolarYear() {
+    return solarYear;
+  }
+
+  /**
+   * Get month in the Gregorian calendar, based-on 0.
+   *
+   * @return month in the Gregorian calendar
+   */
+  public int getSolarMonth() {
+    return solarMonth;
+  }
+
+  /**
+   * Get day in the Gregorian calendar.
+   *
+   * @return day in the Gregorian calendar
+   */
+  public int getSolarDay() {
+    return solarDay;
+  }
+
+  /**
+   * Get lunar year in numeric.
+   *
+   * @return the numeric of lunar year
+   */
+  public int getLunarYear() {
+    return lunarYear;
+  }
+
+  /**
+   * Get lunar month in numeric.
+   *
+   * @return the numeric of lunar month
+   */
+  public int getLunarMonth() {
+    return lunarMonth;
+  }
+
+  /**
+   * Get lunar day in numeric.
+   *
+   * @return the numeric of lunar day
+   */
+  public int getLunarDay() {
+    return lunarDay;
+  }
+
+  /**
+   * To check if current lunar month is leap month.
+   *
+   * @return true if was leap month, otherwise return false
+   */
+  public boolean isLeapMonth() {
+    return isLeap;
+  }
+
+  /**
+   * Get max days in current lunar month.
+   *
+   * @return max days
+   */
+  public int getDaysInLunarMonth() {
+    return daysInLunarMonth;
+  }
+
+  /**
+   * Get packed lunar date of current day.
+   *
+   * @return packed lunar date
+   */
+  public int getPackedLunar() {
+    return LunarConverter.packLunar(lunarYear, lunarMonth, lunarDay, isLeap);
+  }
+
+  /**
+   * Get the index of year in Heavenly Stems and Earthly Branches.
+   *
+   * @return cyclical year from 0 to 59
+   */
+  public int getCyclicalYear() {
+    return cyclicalYear;
+  }
+
+  /**
+   * Get the index of month in Heavenly Stems and Earthly Branches.
+   *
+   * @return cyclical month from 0 to 59
+   */
+  public int getCyclicalMonth() {
+    return cyclicalMonth;
+  }
+
+  /**
+   * Get the index of day in Heavenly Stems and Earthly Branches.
+   *
+   * @return cyclical day from 0 to 59
+   */
+  public int getCyclicalDay() {
+    return cyclicalDay;
+  }
+
+  /**
+   * Get the index of solar term on current day.
+   *
+   * @return the index of solar term, otherwise return -1 if was not solar term
+   */
+  public int getSolarTermIndex() {
+    return solarTermIndex;
+  }
+}
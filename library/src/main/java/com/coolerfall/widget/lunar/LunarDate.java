@@ -0,0 +1,263 @@
+package com.coolerfall.widget.lunar;
+
+/**
+ * An immutable date in lunar calendar. The whole date is packed into one integer
+ * (see {@link LunarConverter}), so it can be used as key of map, and the packed form
+ * can be stored in primitive collections directly.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public final class LunarDate implements Comparable<LunarDate> {
+  private final int packed;
+
+  private LunarDate(int packed) {
+    this.packed = packed;
+  }
+
+  /**
+   * Create a lunar date with lunar year, month and day. If the month is not leap month
+   * in lunar year, {@code isLeap} will be ignored.
+   *
+   * @param year lunar year
+   * @param month lunar month
+   * @param day lunar day
+   * @param isLeap the month is leap month or not
+   * @return {@link LunarDate}
+   * @throws IllegalArgumentException if the date is not existed in lunar calendar
+   */
+  public static LunarDate of(int year, int month, int day, boolean isLeap) {
+    if (year < LunarAstronomy.MIN_YEAR || year > LunarAstronomy.MAX_YEAR) {
+      throw new IllegalArgumentException("Lunar year out of range: " + year);
+    }
+    if (month < 1 || month > 12) {
+      throw new IllegalArgumentException("Invalid lunar month: " + month);
+    }
+
+    boolean leap = isLeap && LunarAstronomy.getLeapMonth(year) == month;
+    if (day < 1 || day > LunarAstronomy.getDaysInMonth(year, month, leap)) {
+      throw new IllegalArgumentException("Invalid lunar day: " + day);
+    }
+
+    return new LunarDate(LunarConverter.packLunar(year, month, day, leap));
+  }
+
+  /**
+   * Create a lunar date with packed lunar date.
+   *
+   * @param packedLunar packed lunar date
+   * @return {@link LunarDate}
+   * @throws IllegalArgumentException if the date is not existed in lunar calendar
+   */
+  public static LunarDate ofPacked(int packedLunar) {
+    LunarDate date = of(LunarConverter.getLunarYear(packedLunar),
+        LunarConverter.getLunarMonth(packedLunar), LunarConverter.getLunarDay(packedLunar),
+        LunarConverter.isLeapMonth(packedLunar));
+    if (date.packed != packedLunar) {
+      throw new IllegalArgumentException("Invalid packed lunar date: " + packedLunar);
+    }
+
+    return date;
+  }
+
+  /**
+   * Create a lunar date with epoch day, the epoch day will be clamped into
+   * the range of lunar calendar.
+   *
+   * @param epochDay epoch day
+   * @return {@link LunarDate}
+   */
+  public static LunarDate ofEpochDay(int epochDay) {
+    return new LunarDate(LunarAstronomy.toLunar(epochDay));
+  }
+
+  /**
+   * Create a lunar date with packed solar date.
+   *
+   * @param packedSolar packed solar date
+   * @return {@link LunarDate}
+   */
+  public static LunarDate ofPackedSolar(int packedSolar) {
+    return ofEpochDay(LunarConverter.fromSolar(packedSolar));
+  }
+
+  /**
+   * Create a lunar date with the date of {@link Lunar}.
+   *
+   * @param lunar {@link Lunar}
+   * @return {@link LunarDate}
+   */
+  public static LunarDate from(Lunar lunar) {
+    return new LunarDate(LunarConverter.packLunar(lunar.getLunarYearNum(),
+        lunar.getLunarMonthNum(), lunar.getLunarDayNum(), lunar.isLeapMonth()));
+  }
+
+  /**
+   * Get lunar year.
+   *
+   * @return lunar year
+   */
+  public int getYear() {
+    return LunarConverter.getLunarYear(packed);
+  }
+
+  /**
+   * Get lunar month.
+   *
+   * @return lunar month
+   */
+  public int getMonth() {
+    return LunarConverter.getLunarMonth(packed);
+  }
+
+  /**
+   * Get lunar day.
+   *
+   * @return lunar day
+   */
+  public int getDay() {
+    return LunarConverter.getLunarDay(packed);
+  }
+
+  /**
+   * To check if the month is leap month.
+   *
+   * @return true if was leap month, otherwise return false
+   */
+  public boolean isLeapMonth() {
+    return LunarConverter.isLeapMonth(packed);
+  }
+
+  /**
+   * Get the packed lunar date.
+   *
+   * @return packed lunar date
+   */
+  public int toPacked() {
+    return packed;
+  }
+
+  /**
+   * Get the epoch day of this date.
+   *
+   * @return epoch day
+   */
+  public int toEpochDay() {
+    return LunarAstronomy.fromLunar(getYear(), getMonth(), getDay(), isLeapMonth());
+  }
+
+  /**
+   * Get the packed solar date of this date.
+   *
+   * @return packed solar date
+   */
+  public int toPackedSolar() {
+    return LunarConverter.toSolar(toEpochDay());
+  }
+
+  /**
+   * Create a new {@link Lunar} with this date.
+   *
+   * @return {@link Lunar}
+   */
+  public Lunar toLunar() {
+    Lunar lunar = new Lunar();
+    lunar.setLunarDate(getYear(), getMonth(), getDay(), isLeapMonth());
+    return lunar;
+  }
+
+  /**
+   * Add days to this date.
+   *
+   * @param days the days to add, can be negative
+   * @return {@link LunarDate}
+   * @throws IllegalArgumentException if the result is out of the range of lunar calendar
+   */
+  public LunarDate plusDays(int days) {
+    long epochDay = (long) toEpochDay() + days;
+    if (epochDay < LunarAstronomy.MIN_EPOCH_DAY || epochDay > LunarAstronomy.MAX_EPOCH_DAY) {
+      throw new IllegalArgumentException("Lunar date out of range: " + this + " + " + days);
+    }
+
+    return days == 0 ? this : ofEpochDay((int) epochDay);
+  }
+
+  /**
+   * Add lunar months to this date, the leap months are counted as well. If the day is
+   * 30 and the target month only has 29 days, the day will be 29.
+   *
+   * @param months the months to add, can be negative
+   * @return {@link LunarDate}
+   * @throws IllegalArgumentException if the result is out of the range of lunar calendar
+   */
+  public LunarDate plusMonths(int months) {
+    int year = getYear();
+    int leapMonth = LunarAstronomy.getLeapMonth(year);
+    int month = getMonth();
+    boolean after = leapMonth != 0 && (month > leapMonth || (month == leapMonth && isLeapMonth()));
+
+    /* move with the ordinal month of year, 13 months in the year with leap month */
+    long ordinal = (long) month - 1 + (after ? 1 : 0) + months;
+    while (ordinal < 0 || ordinal >= (leapMonth == 0 ? 12 : 13)) {
+      if (ordinal < 0) {
+        year--;
+        checkYear(year, months);
+        leapMonth = LunarAstronomy.getLeapMonth(year);
+        ordinal += leapMonth == 0 ? 12 : 13;
+      } else {
+        ordinal -= leapMonth == 0 ? 12 : 13;
+        year++;
+        checkYear(year, months);
+        leapMonth = LunarAstronomy.getLeapMonth(year);
+      }
+    }
+
+    boolean leap = leapMonth != 0 && ordinal == leapMonth;
+    month = leapMonth != 0 && ordinal >= leapMonth ? (int) ordinal : (int) ordinal + 1;
+    return withClampedDay(year, month, leap);
+  }
+
+  /**
+   * Add lunar years to this date. The month will not be leap month if there is no such
+   * leap month in target year, and the day will be 29 if the target month only has 29 days.
+   *
+   * @param years the years to add, can be negative
+   * @return {@link LunarDate}
+   * @throws IllegalArgumentException if the result is out of the range of lunar calendar
+   */
+  public LunarDate plusYears(int years) {
+    int year = getYear() + years;
+    checkYear(year, years);
+    int month = getMonth();
+    return withClampedDay(year, month,
+        isLeapMonth() && LunarAstronomy.getLeapMonth(year) == month);
+  }
+
+  /* check if the lunar year is in range after adding */
+  private void checkYear(int year, int amount) {
+    if (year < LunarAstronomy.MIN_YEAR || year > LunarAstronomy.MAX_YEAR) {
+      throw new IllegalArgumentException("Lunar date out of range: " + this + " + " + amount);
+    }
+  }
+
+  /* create the date in given month with the day of this date, clamped into the month */
+  private LunarDate withClampedDay(int year, int month, boolean isLeap) {
+    int day = Math.min(getDay(), LunarAstronomy.getDaysInMonth(year, month, isLeap));
+    return new LunarDate(LunarConverter.packLunar(year, month, day, isLeap));
+  }
+
+  @Override public int compareTo(LunarDate another) {
+    return packed < another.packed ? -1 : (packed == another.packed ? 0 : 1);
+  }
+
+  @Override public boolean equals(Object o) {
+    return o == this || (o instanceof LunarDate && ((LunarDate) o).packed == packed);
+  }
+
+  @Override public int hashCode() {
+    return packed;
+  }
+
+  @Override public String toString() {
+    return getYear() + "-" + (isLeapMonth() ? "闰" : "") + getMonth() + "-" + getDay();
+  }
+}
@@ -0,0 +1,98 @@
+package com.coolerfall.widget.lunar;
+
+/**
+ * An event on one day, which is a holiday or a solar term, see {@link LunarEventIndex}.
+ * <p>
+ * This class is immutable and thread safe.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public final class LunarEvent {
+  /** The event is a holiday in {@link HolidayCalendar}. */
+  public static final int HOLIDAY = 1;
+
+  /** The event is a solar term in {@link SolarTerm}. */
+  public static final int SOLAR_TERM = 1 << 1;
+
+  private final int epochDay;
+  private final int type;
+  private final int id;
+  private final String name;
+
+  LunarEvent(int epochDay, int type, int id, String name) {
+    this.epochDay = epochDay;
+    this.type = type;
+    this.id = id;
+    this.name = name;
+  }
+
+  /**
+   * Get the epoch day of this event.
+   *
+   * @return epoch day
+   */
+  public int getEpochDay() {
+    return epochDay;
+  }
+
+  /**
+   * Get the type of this event.
+   *
+   * @return {@link #HOLIDAY} or {@link #SOLAR_TERM}
+   */
+  public int getType() {
+    return type;
+  }
+
+  /**
+   * Get the id of this event, which is the id of holiday for {@link #HOLIDAY},
+   * or the index of solar term for {@link #SOLAR_TERM}.
+   *
+   * @return the id of event
+   */
+  public int getId() {
+    return id;
+  }
+
+  /**
+   * Get the name of this event.
+   *
+   * @return the name of holiday or solar term
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Get the days from the given day to this event, negative if this event is before.
+   *
+   * @param epochDay epoch day
+   * @return the days until this event
+   */
+  public int getDaysFrom(int epochDay) {
+    return this.epochDay - epochDay;
+  }
+
+  @Override public boolean equals(Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (!(o instanceof LunarEvent)) {
+      return false;
+    }
+
+    LunarEvent event = (LunarEvent) o;
+    return event.epochDay == epochDay && event.type == type && event.id == id;
+  }
+
+  @Override public int hashCode() {
+    return (epochDay * 31 + type) * 31 + id;
+  }
+
+  @Override public String toString() {
+    int packedSolar = LunarConverter.toSolar(epochDay);
+    return LunarConverter.getSolarYear(packedSolar) + "-"
+        + (LunarConverter.getSolarMonth(packedSolar) + 1) + "-"
+        + LunarConverter.getSolarDay(packedSolar) + " " + name;
+  }
+}
@@ -0,0 +1,197 @@
+package com.coolerfall.widget.lunar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A sorted index of holidays and solar terms, used to find the next or previous events
+ * from any day, such as the days until next holiday. The events of each year in the
+ * Gregorian calendar are compiled into a sorted array when the year is queried first
+ * time, then the first event is found with binary search.
+ * <p>
+ * This class is thread safe.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public final class LunarEventIndex {
+  /** All types of event. */
+  public static final int ALL = LunarEvent.HOLIDAY | LunarEvent.SOLAR_TERM;
+
+  private static final int MIN_YEAR = LunarAstronomy.MIN_YEAR;
+  private static final int MAX_YEAR = LunarAstronomy.MAX_YEAR;
+
+  /* | epoch day(32 - 63 bit) | type(16 - 31 bit) | id(0 - 15 bit) | */
+  private static final int TYPE_SHIFT = 16;
+  private static final int ID_MASK = 0xffff;
+
+  /* the list of events grows if more events are found */
+  private static final int MAX_INITIAL_CAPACITY = 32;
+
+  private final HolidayCalendar holidays;
+  private final AtomicReferenceArray<long[]> years =
+      new AtomicReferenceArray<>(MAX_YEAR - MIN_YEAR + 1);
+
+  /**
+   * The constructor of event index with default {@link HolidayCalendar}.
+   */
+  public LunarEventIndex() {
+    this(HolidayCalendar.getDefault());
+  }
+
+  /**
+   * The constructor of event index.
+   *
+   * @param holidays the holidays in index
+   */
+  public LunarEventIndex(HolidayCalendar holidays) {
+    if (holidays == null) {
+      throw new NullPointerException("holidays == null");
+    }
+
+    this.holidays = holidays;
+  }
+
+  /* get the sorted events of the Gregorian year, compile if not compiled yet */
+  private long[] getEvents(int year) {
+    long[] events = years.get(year - MIN_YEAR);
+    if (events == null) {
+      events = compile(year);
+      years.set(year - MIN_YEAR, events);
+    }
+
+    return events;
+  }
+
+  /* compile all the holidays and solar terms of the year into sorted events */
+  private long[] compile(int year) {
+    long[] holidaysInYear = holidays.getHolidaysInYear(year);
+    long[] events = Arrays.copyOf(holidaysInYear, holidaysInYear.length + SolarTerm.COUNT);
+    for (int i = 0; i < holidaysInYear.length; i++) {
+      events[i] |= LunarEvent.HOLIDAY << TYPE_SHIFT;
+    }
+
+    int[] epochDays = new int[SolarTerm.COUNT];
+    SolarTerm.getEpochDaysInYear(year, epochDays);
+    for (int index = 0; index < SolarTerm.COUNT; index++) {
+      events[holidaysInYear.length + index] =
+          (long) epochDays[index] << 32 | LunarEvent.SOLAR_TERM << TYPE_SHIFT | index;
+    }
+    Arrays.sort(events);
+
+    return events;
+  }
+
+  /* create event from packed event */
+  private LunarEvent createEvent(long event) {
+    int epochDay = (int) (event >> 32);
+    int type = (int) event >>> TYPE_SHIFT;
+    int id = (int) event & ID_MASK;
+    String name = type == LunarEvent.HOLIDAY ? holidays.getHolidayName(id) : SolarTerm.getName(id);
+    return new LunarEvent(epochDay, type, id, name);
+  }
+
+  /* check the arguments of query, return false if no event can be found at all */
+  private boolean checkQuery(int count, int types) {
+    if (count < 0) {
+      throw new IllegalArgumentException("Invalid count: " + count);
+    }
+    if (types == 0 || (types & ~ALL) != 0) {
+      throw new IllegalArgumentException("Invalid types: " + types);
+    }
+
+    /* no holiday in calendar, the years need not to be compiled */
+    return types != LunarEvent.HOLIDAY || holidays.getRuleCount() > 0;
+  }
+
+  /* get the year of the Gregorian calendar, clamped into the range of index */
+  private static int getYear(int epochDay) {
+    int year = LunarConverter.getSolarYear(LunarConverter.toSolar(epochDay));
+    return Math.max(MIN_YEAR - 1, Math.min(year, MAX_YEAR + 1));
+  }
+
+  /**
+   * Get the first event on or after the given day.
+   *
+   * @param epochDay epoch day
+   * @param types the types of event, {@link LunarEvent#HOLIDAY}, {@link LunarEvent#SOLAR_TERM}
+   * or {@link #ALL}
+   * @return {@link LunarEvent}, null if not existed
+   * @throws IllegalArgumentException if types is invalid
+   */
+  public LunarEvent next(int epochDay, int types) {
+    List<LunarEvent> events = next(epochDay, 1, types);
+    return events.isEmpty() ? null : events.get(0);
+  }
+
+  /**
+   * Get the next events on or after the given day.
+   *
+   * @param epochDay epoch day
+   * @param count max count of events
+   * @param types the types of event, {@link LunarEvent#HOLIDAY}, {@link LunarEvent#SOLAR_TERM}
+   * or {@link #ALL}
+   * @return the events sorted by day, maybe less than count if out of range
+   * @throws IllegalArgumentException if count is negative or types is invalid
+   */
+  public List<LunarEvent> next(int epochDay, int count, int types) {
+    boolean hasEvents = checkQuery(count, types);
+    List<LunarEvent> result = new ArrayList<>(Math.min(count, MAX_INITIAL_CAPACITY));
+    long key = (long) epochDay << 32;
+    for (int year = Math.max(getYear(epochDay), MIN_YEAR);
+        hasEvents && year <= MAX_YEAR && result.size() < count; year++) {
+      long[] events = getEvents(year);
+      int i = Arrays.binarySearch(events, key);
+      for (i = i < 0 ? -i - 1 : i; i < events.length && result.size() < count; i++) {
+        if (((int) events[i] >>> TYPE_SHIFT & types) != 0) {
+          result.add(createEvent(events[i]));
+        }
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Get the last event before the given day.
+   *
+   * @param epochDay epoch day, exclusive
+   * @param types the types of event, {@link LunarEvent#HOLIDAY}, {@link LunarEvent#SOLAR_TERM}
+   * or {@link #ALL}
+   * @return {@link LunarEvent}, null if not existed
+   * @throws IllegalArgumentException if types is invalid
+   */
+  public LunarEvent previous(int epochDay, int types) {
+    List<LunarEvent> events = previous(epochDay, 1, types);
+    return events.isEmpty() ? null : events.get(0);
+  }
+
+  /**
+   * Get the previous events before the given day.
+   *
+   * @param epochDay epoch day, exclusive
+   * @param count max count of events
+   * @param types the types of event, {@link LunarEvent#HOLIDAY}, {@link LunarEvent#SOLAR_TERM}
+   * or {@link #ALL}
+   * @return the events sorted by day in reverse order, maybe less than count if out of range
+   * @throws IllegalArgumentException if count is negative or types is invalid
+   */
+  public List<LunarEvent> previous(int epochDay, int count, int types) {
+    boolean hasEvents = checkQuery(count, types);
+    List<LunarEvent> result = new ArrayList<>(Math.min(count, MAX_INITIAL_CAPACITY));
+    long key = (long) epochDay << 32;
+    for (int year = Math.min(getYear(epochDay), MAX_YEAR);
+        hasEvents && year >= MIN_YEAR && result.size() < count; year--) {
+      long[] events = getEvents(year);
+      int i = Arrays.binarySearch(events, key);
+      for (i = (i < 0 ? -i - 1 : i) - 1; i >= 0 && result.size() < count; i--) {
+        if (((int) events[i] >>> TYPE_SHIFT & types) != 0) {
+          result.add(createEvent(events[i]));
+        }
+      }
+    }
+
+    return result;
+  }
+}
@@ -0,0 +1,119 @@
+package com.coolerfall.widget.lunar;
+
+/**
+ * The twelve double hours(时辰) of one day. The Heavenly Stem of 子时 depends on the
+ * Heavenly Stem of the day, and the days with the stems 5 apart share the same stems of
+ * hours, so all the double hours are precomputed into a 5 × 12 table keyed by cyclical day.
+ * The names are the shared strings of {@link Lunar}, no string will be created in query.
+ * <p>
+ * 子时 is from 23:00 to 01:00, and the hour from 23:00 belongs to 子时 of next day.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public final class LunarHour {
+  /** The count of double hours in one day. */
+  public static final int COUNT = 12;
+
+  /* cyclical hours, index is the Heavenly Stem of day % 5 * 12 + the index of double hour */
+  private static final byte[] CYCLICAL_HOURS = new byte[5 * COUNT];
+
+  static {
+    for (int i = 0; i < 5 * COUNT; i++) {
+      /* 子时 of 甲 and 己 day is 甲子, and the stem moves 2 for each stem of day */
+      int heavenlyIndex = (i / COUNT * 2 + i % COUNT) % 10;
+      int cyclicalHour = i % COUNT;
+      while (cyclicalHour % 10 != heavenlyIndex) {
+        cyclicalHour += COUNT;
+      }
+      CYCLICAL_HOURS[i] = (byte) cyclicalHour;
+    }
+  }
+
+  private LunarHour() {
+
+  }
+
+  /**
+   * Get the index of double hour with the hour of day.
+   *
+   * @param hourOfDay the hour of day, from 0 to 23
+   * @return the index of double hour, 0 is 子时
+   */
+  public static int getIndex(int hourOfDay) {
+    return (hourOfDay + 1) / 2 % COUNT;
+  }
+
+  /**
+   * Get the name of double hour in default {@link LunarLocale}.
+   *
+   * @param index the index of double hour, 0 is 子时
+   * @return the name of double hour
+   */
+  public static String getName(int index) {
+    return LunarLocale.getLabels().getHour(index);
+  }
+
+  /**
+   * Get the index of double hour in Heavenly Stems and Earthly Branches.
+   *
+   * @param cyclicalDay cyclical day from 0 to 59
+   * @param index the index of double hour, 0 is 子时
+   * @return cyclical hour from 0 to 59
+   */
+  public static int getCyclicalHour(int cyclicalDay, int index) {
+    return CYCLICAL_HOURS[cyclicalDay % 5 * COUNT + index];
+  }
+
+  /**
+   * Get the double hour in Heavenly Stems and Earthly Branches.
+   *
+   * @param cyclicalDay cyclical day from 0 to 59
+   * @param index the index of double hour, 0 is 子时
+   * @return double hour in Heavenly Stems and Earthly Branches
+   */
+  public static String getCyclical(int cyclicalDay, int index) {
+    return Lunar.getCyclical(getCyclicalHour(cyclicalDay, index));
+  }
+
+  /**
+   * Get confilict evil spirit of the double hour.
+   *
+   * @param cyclicalDay cyclical day from 0 to 59
+   * @param index the index of double hour, 0 is 子时
+   * @return evil spirit
+   */
+  public static String getConflictEvilSpirit(int cyclicalDay, int index) {
+    return Lunar.getConflictEvilSpirit(getCyclicalHour(cyclicalDay, index));
+  }
+
+  /**
+   * Fill all the double hours of the days into arrays, 12 double hours of one day are
+   * filled one by one, stops if the array is full or reaches the end day.
+   *
+   * @param startEpochDay the first epoch day, inclusive
+   * @param endEpochDay the last epoch day, exclusive
+   * @param cyclicals the array to receive double hours in Heavenly Stems and Earthly Branches
+   * @param conflicts the array to receive confilict evil spirits, can be null
+   * @return the count of days filled
+   */
+  public static int fill(int startEpochDay, int endEpochDay, String[] cyclicals,
+      String[] conflicts) {
+    int days = Math.min(endEpochDay - startEpochDay, cyclicals.length / COUNT);
+    if (conflicts != null) {
+      days = Math.min(days, conflicts.length / COUNT);
+    }
+
+    for (int day = 0; day < days; day++) {
+      int offset = LunarConverter.getCyclicalDay(startEpochDay + day) % 5 * COUNT;
+      for (int index = 0; index < COUNT; index++) {
+        int cyclicalHour = CYCLICAL_HOURS[offset + index];
+        cyclicals[day * COUNT + index] = Lunar.getCyclical(cyclicalHour);
+        if (conflicts != null) {
+          conflicts[day * COUNT + index] = Lunar.getConflictEvilSpirit(cyclicalHour);
+        }
+      }
+    }
+
+    return Math.max(days, 0);
+  }
+}
@@ -0,0 +1,269 @@
+package com.coolerfall.widget.lunar;
+
+/**
+ * All the labels of a {@link LunarLocale} resolved into lookup tables, so getting a label
+ * never builds string or calls the locale.
+ * <p>
+ * This class is immutable and thread safe.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+final class LunarLabels {
+  private final LunarLocale locale;
+  private final String[] cyclicals = new String[60];
+  private final String[] zodiac;
+  private final String[] lunarMonths = new String[24];
+  private final String[] fullLunarMonths = new String[24];
+  private final String[] lunarDays = new String[31];
+  private final String[] solarTerms;
+  private final String[] daysOfWeek;
+  private final String[] hours = new String[LunarHour.COUNT];
+  private final String[] holidayNames;
+  private final String restBadge;
+  private final String workBadge;
+  private final String[] pengzuHeavenly;
+  private final String[] pengzuEarthly;
+  private final String[] conflictEvilSpirits = new String[60];
+  private final String[] fetusGods = new String[60];
+  private final String[] fiveElements = new String[30 * 12];
+  private final String[] twentyEightStars = new String[28];
+
+  LunarLabels(LunarLocale locale) {
+    this.locale = locale;
+
+    String[] heavenlyStems = copy(locale.getHeavenlyStems(), 10, "Heavenly Stems");
+    String[] earthlyBranches = copy(locale.getEarthlyBranches(), 12, "Earthly Branches");
+    for (int i = 0; i < 60; i++) {
+      cyclicals[i] = locale.getCyclical(heavenlyStems[i % 10], earthlyBranches[i % 12]);
+    }
+
+    zodiac = copy(locale.getZodiac(), 12, "zodiac");
+    solarTerms = copy(locale.getSolarTerms(), SolarTerm.COUNT, "solar terms");
+    daysOfWeek = copy(locale.getDaysOfWeek(), 7, "days of week");
+
+    for (int i = 0; i < 24; i++) {
+      lunarMonths[i] = locale.getLunarMonth(i / 2 + 1, i % 2 == 1);
+      fullLunarMonths[i] = locale.getFullLunarMonth(i / 2 + 1, i % 2 == 1);
+    }
+
+    lunarDays[0] = "";
+    for (int i = 1; i <= 30; i++) {
+      lunarDays[i] = locale.getLunarDay(i);
+    }
+
+    for (int i = 0; i < LunarHour.COUNT; i++) {
+      hours[i] = locale.getHourName(i);
+    }
+
+    String[] names = locale.getHolidayNames();
+    holidayNames = names == null ? null : names.clone();
+    restBadge = locale.getRestBadge();
+    workBadge = locale.getWorkBadge();
+
+    pengzuHeavenly = copy(locale.getPengzuOfHeavenlyStems(), 10, "Pengzu of Heavenly Stems");
+    pengzuEarthly = copy(locale.getPengzuOfEarthlyBranches(), 12, "Pengzu of Earthly Branches");
+    for (int i = 0; i < 60; i++) {
+      int conflict = Lunar.getConflictCyclical(i);
+      conflictEvilSpirits[i] = locale.getConflictEvilSpirit(zodiac[conflict % 12],
+          cyclicals[conflict], Lunar.getEvilSpiritDirection(i));
+      fetusGods[i] = locale.getFetusGod(Lunar.getFetusGodHeavenlyPosition(i),
+          Lunar.getFetusGodEarthlyPosition(i), Lunar.getFetusGodDirection(i));
+    }
+
+    for (int i = 0; i < 30 * 12; i++) {
+      fiveElements[i] = locale.getFiveElements(i / 12, i % 12);
+    }
+
+    for (int i = 0; i < 28; i++) {
+      twentyEightStars[i] = locale.getTwentyEightStar(i, Lunar.isLuckyStar(i));
+    }
+  }
+
+  /* copy the labels from locale, the count of labels should be exact */
+  private static String[] copy(String[] labels, int count, String name) {
+    if (labels == null || labels.length != count) {
+      throw new IllegalArgumentException("The count of " + name + " should be " + count);
+    }
+
+    return labels.clone();
+  }
+
+  /**
+   * Get the locale of labels.
+   *
+   * @return {@link LunarLocale}
+   */
+  LunarLocale getLocale() {
+    return locale;
+  }
+
+  /**
+   * Get the label in Heavenly Stems and Earthly Branches.
+   *
+   * @param cyclicalNum cyclical number in Heavenly Stems and Earthly Branches
+   * @return the label
+   */
+  String getCyclical(int cyclicalNum) {
+    return cyclicals[cyclicalNum % 60];
+  }
+
+  /**
+   * Get the label of Chinese zodiac.
+   *
+   * @param index the index of zodiac, 0 is rat
+   * @return the label
+   */
+  String getZodiac(int index) {
+    return zodiac[index];
+  }
+
+  /**
+   * Get the label of lunar month.
+   *
+   * @param lunarMonth lunar month
+   * @param isLeap the month is leap month or not
+   * @return the label
+   */
+  String getLunarMonth(int lunarMonth, boolean isLeap) {
+    return lunarMonths[(lunarMonth - 1) * 2 + (isLeap ? 1 : 0)];
+  }
+
+  /**
+   * Get the label of lunar month with suffix.
+   *
+   * @param lunarMonth lunar month
+   * @param isLeap the month is leap month or not
+   * @return the label
+   */
+  String getFullLunarMonth(int lunarMonth, boolean isLeap) {
+    return fullLunarMonths[(lunarMonth - 1) * 2 + (isLeap ? 1 : 0)];
+  }
+
+  /**
+   * Get the label of lunar day.
+   *
+   * @param lunarDay lunar day, 0 for empty label
+   * @return the label
+   */
+  String getLunarDay(int lunarDay) {
+    return lunarDays[lunarDay];
+  }
+
+  /**
+   * Get the label of solar term.
+   *
+   * @param index the index of solar term, 0 is 小寒
+   * @return the label
+   */
+  String getSolarTerm(int index) {
+    return solarTerms[index];
+  }
+
+  /**
+   * Get the label of the day of week.
+   *
+   * @param index the index of the day of week, 0 is Sunday
+   * @return the label
+   */
+  String getDayOfWeek(int index) {
+    return daysOfWeek[index];
+  }
+
+  /**
+   * Get the label of double hour.
+   *
+   * @param index the index of double hour, 0 is 子时
+   * @return the label
+   */
+  String getHour(int index) {
+    return hours[index];
+  }
+
+  /**
+   * Get the names of built in holidays.
+   *
+   * @return the names, null to use the names in simplified Chinese
+   */
+  String[] getHolidayNames() {
+    return holidayNames;
+  }
+
+  /**
+   * Get the badge of adjusted rest day.
+   *
+   * @return the badge
+   */
+  String getRestBadge() {
+    return restBadge;
+  }
+
+  /**
+   * Get the badge of adjusted work day.
+   *
+   * @return the badge
+   */
+  String getWorkBadge() {
+    return workBadge;
+  }
+
+  /**
+   * Get Pengzu one hundred dread of Heavenly Stem.
+   *
+   * @param heavenlyStem the index of Heavenly Stem, 0 is 甲
+   * @return the label
+   */
+  String getPengzuHeavenly(int heavenlyStem) {
+    return pengzuHeavenly[heavenlyStem];
+  }
+
+  /**
+   * Get Pengzu one hundred dread of Earthly Branch.
+   *
+   * @param earthlyBranch the index of Earthly Branch, 0 is 子
+   * @return the label
+   */
+  String getPengzuEarthly(int earthlyBranch) {
+    return pengzuEarthly[earthlyBranch];
+  }
+
+  /**
+   * Get the label of conflict evil spirit.
+   *
+   * @param cyclicalNum cyclical number in Heavenly Stems and Earthly Branches
+   * @return the label
+   */
+  String getConflictEvilSpirit(int cyclicalNum) {
+    return conflictEvilSpirits[cyclicalNum];
+  }
+
+  /**
+   * Get the label of fetus god.
+   *
+   * @param cyclicalDay cyclical day from 0 to 59
+   * @return the label
+   */
+  String getFetusGod(int cyclicalDay) {
+    return fetusGods[cyclicalDay];
+  }
+
+  /**
+   * Get the label of five elements with star duty.
+   *
+   * @param cyclicalDay cyclical day from 0 to 59
+   * @param wielding the index of star duty from 0 to 11
+   * @return the label
+   */
+  String getFiveElements(int cyclicalDay, int wielding) {
+    return fiveElements[cyclicalDay / 2 * 12 + wielding];
+  }
+
+  /**
+   * Get the label of twenty eight stars.
+   *
+   * @param index the index of star, 0 is 角
+   * @return the label
+   */
+  String getTwentyEightStar(int index) {
+    return twentyEightStars[index];
+  }
+}
@@ -0,0 +1,817 @@
+package com.coolerfall.widget.lunar;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The labels of lunar calendar in one language, such as the names of Heavenly Stems,
+ * lunar days and solar terms. The default locale is resolved into lookup tables once when
+ * it was set, so getting a label from {@link Lunar} is still one table lookup with any
+ * locale. Extend this class to add a new locale, the methods are only called in resolving.
+ * <p>
+ * The almanac descriptions, such as Pengzu one hundred dread and fetus god, are resolved
+ * from the same locale, the rules of almanac only pass the indices to the locale.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public abstract class LunarLocale {
+  /** Simplified Chinese, the default locale. */
+  public static final LunarLocale SIMPLIFIED_CHINESE =
+      new ChineseLocale(ChineseLocale.SIMPLIFIED);
+
+  /** Traditional Chinese. */
+  public static final LunarLocale TRADITIONAL_CHINESE =
+      new ChineseLocale(ChineseLocale.TRADITIONAL);
+
+  /** English, Heavenly Stems and Earthly Branches are in pinyin without tones. */
+  public static final LunarLocale ENGLISH = new EnglishLocale();
+
+  /** Hanyu pinyin with tone marks. */
+  public static final LunarLocale PINYIN = new PinyinLocale();
+
+  private static volatile LunarLabels labels = new LunarLabels(SIMPLIFIED_CHINESE);
+
+  /* increased every time the default locale was set */
+  private static final AtomicInteger GENERATION = new AtomicInteger();
+
+  /**
+   * Get the default locale of lunar calendar.
+   *
+   * @return {@link LunarLocale}
+   */
+  public static LunarLocale getDefault() {
+    return labels.getLocale();
+  }
+
+  /**
+   * Set the default locale of lunar calendar, all the labels are resolved immediately.
+   * The built in holidays of {@link HolidayCalendar} follow the default locale. The labels
+   * are looked up when queried, and the labels kept in month views are refreshed when
+   * drawn next time, so the views only need to be invalidated to show the new labels.
+   *
+   * @param locale {@link LunarLocale}, null to restore {@link #SIMPLIFIED_CHINESE}
+   * @throws IllegalArgumentException if any labels of locale is missing
+   */
+  public static void setDefault(LunarLocale locale) {
+    labels = new LunarLabels(locale == null ? SIMPLIFIED_CHINESE : locale);
+    GENERATION.incrementAndGet();
+  }
+
+  /**
+   * Get the generation of default locale, which is changed every time the default locale
+   * was set, so the labels resolved before can be refreshed.
+   *
+   * @return the generation of default locale
+   */
+  static int getGeneration() {
+    return GENERATION.get();
+  }
+
+  /* get the resolved labels of default locale */
+  static LunarLabels getLabels() {
+    return labels;
+  }
+
+  /**
+   * Get the names of Heavenly Stems.
+   *
+   * @return 10 names, 0 is 甲
+   */
+  protected abstract String[] getHeavenlyStems();
+
+  /**
+   * Get the names of Earthly Branches.
+   *
+   * @return 12 names, 0 is 子
+   */
+  protected abstract String[] getEarthlyBranches();
+
+  /**
+   * Get the name in Heavenly Stems and Earthly Branches.
+   *
+   * @param heavenlyStem the name of Heavenly Stem
+   * @param earthlyBranch the name of Earthly Branch
+   * @return the name, such as 甲子
+   */
+  protected String getCyclical(String heavenlyStem, String earthlyBranch) {
+    return heavenlyStem + earthlyBranch;
+  }
+
+  /**
+   * Get the names of Chinese zodiac.
+   *
+   * @return 12 names, 0 is rat
+   */
+  protected abstract String[] getZodiac();
+
+  /**
+   * Get the name of lunar month.
+   *
+   * @param lunarMonth lunar month from 1 to 12
+   * @param isLeap the month is leap month or not
+   * @return the name, such as 正
+   */
+  protected abstract String getLunarMonth(int lunarMonth, boolean isLeap);
+
+  /**
+   * Get the name of lunar month with suffix.
+   *
+   * @param lunarMonth lunar month from 1 to 12
+   * @param isLeap the month is leap month or not
+   * @return the name, such as 正月
+   */
+  protected abstract String getFullLunarMonth(int lunarMonth, boolean isLeap);
+
+  /**
+   * Get the name of lunar day.
+   *
+   * @param lunarDay lunar day from 1 to 30
+   * @return the name, such as 初一
+   */
+  protected abstract String getLunarDay(int lunarDay);
+
+  /**
+   * Get the names of solar terms.
+   *
+   * @return 24 names, 0 is 小寒
+   */
+  protected abstract String[] getSolarTerms();
+
+  /**
+   * Get the names of the days of week.
+   *
+   * @return 7 names, 0 is Sunday
+   */
+  protected abstract String[] getDaysOfWeek();
+
+  /**
+   * Get the name of double hour, see {@link LunarHour}.
+   *
+   * @param index the index of double hour, 0 is 子时
+   * @return the name, such as 子时
+   */
+  protected abstract String getHourName(int index);
+
+  /**
+   * Get the names of built in holidays of {@link HolidayCalendar}, including the extra
+   * holidays of {@link HolidayCalendar#createWithExtraHolidays()}.
+   *
+   * @return the names with the id of holiday as index, null to use the names in simplified
+   * Chinese
+   */
+  protected abstract String[] getHolidayNames();
+
+  /**
+   * Get the badge of adjusted rest day.
+   *
+   * @return the badge, such as 休
+   */
+  protected abstract String getRestBadge();
+
+  /**
+   * Get the badge of adjusted work day.
+   *
+   * @return the badge, such as 班
+   */
+  protected abstract String getWorkBadge();
+
+  /**
+   * Get Pengzu one hundred dread of Heavenly Stems.
+   *
+   * @return 10 descriptions, 0 is the one of 甲
+   */
+  protected abstract String[] getPengzuOfHeavenlyStems();
+
+  /**
+   * Get Pengzu one hundred dread of Earthly Branches.
+   *
+   * @return 12 descriptions, 0 is the one of 子
+   */
+  protected abstract String[] getPengzuOfEarthlyBranches();
+
+  /**
+   * Get the description of conflict evil spirit.
+   *
+   * @param zodiac the name of zodiac in conflict
+   * @param cyclical the name in Heavenly Stems and Earthly Branches in conflict
+   * @param direction the direction of evil spirit, 0 south, 1 east, 2 north and 3 west
+   * @return the description, such as 冲猪(丁亥)煞东
+   */
+  protected abstract String getConflictEvilSpirit(String zodiac, String cyclical,
+      int direction);
+
+  /**
+   * Get the description of fetus god.
+   *
+   * @param heavenlyPosition the position of Heavenly Stem, 0 门, 1 碓磨, 2 厨灶, 3 仓库
+   * and 4 房床
+   * @param earthlyPosition the position of Earthly Branch, 0 碓, 1 厕, 2 炉灶, 3 大门, 4 栖
+   * and 5 床
+   * @param direction the direction from 0 to 10, 外东北, 外正东, 外东南, 外正南, 外西南, 外正西,
+   * 外西北, 外正北, 房内北, 房内南 and 房内东
+   * @return the description, such as 占门碓外东北
+   */
+  protected abstract String getFetusGod(int heavenlyPosition, int earthlyPosition,
+      int direction);
+
+  /**
+   * Get the description of five elements with star duty.
+   *
+   * @param element the index of five elements in sexagenary cycle from 0 to 29, 0 is 海中金
+   * @param duty the index of star duty from 0 to 11, 开, 闭, 建, 除, 满, 平, 定, 执, 破, 危, 成
+   * and 收
+   * @return the description, such as 海中金 开执位
+   */
+  protected abstract String getFiveElements(int element, int duty);
+
+  /**
+   * Get the description of twenty eight stars.
+   *
+   * @param index the index of star from 0 to 27 in the order from 角, every 7 stars are in
+   * the direction of east, north, west and south
+   * @param isLucky the star is lucky or not
+   * @return the description, such as 东方角木蛟-吉
+   */
+  protected abstract String getTwentyEightStar(int index, boolean isLucky);
+
+  /* simplified and traditional Chinese, only a few characters are different */
+  private static final class ChineseLocale extends LunarLocale {
+    static final int SIMPLIFIED = 0;
+    static final int TRADITIONAL = 1;
+
+    private static final String[] HEAVENLY_STEMS = {
+        "甲", "乙", "丙", "丁", "戊", "己", "庚", "辛", "壬", "癸"
+    };
+    private static final String[] EARTHLY_BRANCHES = {
+        "子", "丑", "寅", "卯", "辰", "巳", "午", "未", "申", "酉", "戌", "亥"
+    };
+    private static final String[] LUNAR_STRING = {
+        "零", "一", "二", "三", "四", "五", "六", "七", "八", "九"
+    };
+    private static final String[] DAYS_OF_WEEK = { "日", "一", "二", "三", "四", "五", "六" };
+
+    /* the tables below have one row for simplified and one row for traditional Chinese */
+    private static final String[][] ZODIAC = {
+        { "鼠", "牛", "虎", "兔", "龙", "蛇", "马", "羊", "猴", "鸡", "狗", "猪" },
+        { "鼠", "牛", "虎", "兔", "龍", "蛇", "馬", "羊", "猴", "雞", "狗", "豬" }
+    };
+    private static final String[][] SOLAR_TERMS = {
+        {
+            "小寒", "大寒", "立春", "雨水", "惊蛰", "春分", "清明", "谷雨", "立夏", "小满", "芒种", "夏至", "小暑", "大暑", "立秋",
+            "处暑", "白露", "秋分", "寒露", "霜降", "立冬", "小雪", "大雪", "冬至"
+        },
+        {
+            "小寒", "大寒", "立春", "雨水", "驚蟄", "春分", "清明", "穀雨", "立夏", "小滿", "芒種", "夏至", "小暑", "大暑", "立秋",
+            "處暑", "白露", "秋分", "寒露", "霜降", "立冬", "小雪", "大雪", "冬至"
+        }
+    };
+    private static final String[][] LUNAR_SPEC_STRING = {
+        { "初", "十", "廿", "卅", "正", "冬", "腊", "闰", "时" },
+        { "初", "十", "廿", "卅", "正", "冬", "臘", "閏", "時" }
+    };
+    private static final String[][] HOLIDAY_NAMES = {
+        null,
+        {
+            "春節", "元宵節", "端午節", "七夕節", "中元節", "中秋節", "重陽節", "臘八節", "北方小年", "南方小年", "除夕",
+            "元旦節", "情人節", "婦女節", "植樹節", "消費者權益日", "世界森林日", "愚人節", "世界衛生日", "世界地球日",
+            "勞動節", "青年節", "世界無煙日", "兒童節", "禁毒日", "建黨節", "建軍節", "抗戰勝利", "教師節", "孔子誕辰",
+            "國慶節", "澳門回歸", "平安夜", "聖誕節", "清明節", "母親節", "父親節"
+        }
+    };
+    private static final String[][] PENG_ZU_HEAVENLY = {
+        {
+            "甲不开仓\n财物耗亡", "乙不栽植\n千株不长", "丙不修灶\n必见灾殃", "丁不剃头\n头主生疮", "戊不受田\n田主不祥",
+            "己不破券\n二比并亡", "庚不经络\n织机虚张", "辛不合酱\n主人不尝", "壬不决水\n更难提防", "癸不词讼\n理弱敌强"
+        },
+        {
+            "甲不開倉\n財物耗亡", "乙不栽植\n千株不長", "丙不修灶\n必見災殃", "丁不剃頭\n頭主生瘡", "戊不受田\n田主不祥",
+            "己不破券\n二比並亡", "庚不經絡\n織機虛張", "辛不合醬\n主人不嘗", "壬不決水\n更難提防", "癸不詞訟\n理弱敵強"
+        }
+    };
+    private static final String[][] PENG_ZU_EARTHLY = {
+        {
+            "子不问卜\n自惹祸殃", "丑不冠带\n主不还乡", "寅不祭祀\n神鬼不尝", "卯不穿井\n水泉不香", "辰不哭泣\n必主重丧",
+            "巳不远行\n财物伏藏", "午不苫盖\n屋主更张", "未不服药\n毒气入肠", "申不安床\n鬼祟入房", "酉不宴客\n醉坐颠狂",
+            "戌不吃犬\n作怪上床", "亥不嫁娶\n不利新郎"
+        },
+        {
+            "子不問卜\n自惹禍殃", "丑不冠帶\n主不還鄉", "寅不祭祀\n神鬼不嘗", "卯不穿井\n水泉不香", "辰不哭泣\n必主重喪",
+            "巳不遠行\n財物伏藏", "午不苫蓋\n屋主更張", "未不服藥\n毒氣入腸", "申不安床\n鬼祟入房", "酉不宴客\n醉坐顛狂",
+            "戌不吃犬\n作怪上床", "亥不嫁娶\n不利新郎"
+        }
+    };
+    private static final String[][] EVIL_SPIRIT = {
+        { "冲", "煞", "南", "东", "北", "西" },
+        { "沖", "煞", "南", "東", "北", "西" }
+    };
+    private static final String[][] FETUS_GOD_HEAVENLY = {
+        { "门", "碓磨", "厨灶", "仓库", "房床" },
+        { "門", "碓磨", "廚灶", "倉庫", "房床" }
+    };
+    private static final String[][] FETUS_GOD_EARTHLY = {
+        { "碓", "厕", "炉灶", "大门", "栖", "床" },
+        { "碓", "廁", "爐灶", "大門", "棲", "床" }
+    };
+    private static final String[][] FETUS_GOD_DIRECTION = {
+        { "外东北", "外正东", "外东南", "外正南", "外西南", "外正西", "外西北", "外正北", "房内北", "房内南", "房内东" },
+        { "外東北", "外正東", "外東南", "外正南", "外西南", "外正西", "外西北", "外正北", "房內北", "房內南", "房內東" }
+    };
+    private static final String[][] FIVE_ELEMENTS = {
+        {
+            "海中金", "炉中火", "大林木", "路旁土", "剑锋金", "山头火", "涧下水", "城头土", "白蜡金", "杨柳木", "泉中水", "屋上土",
+            "霹雳火", "松柏木", "长流水", "砂石金", "山下火", "平地木", "壁上土", "金箔金", "灯头火", "天河水", "大驿土", "钗钏金",
+            "桑柘木", "大溪水", "沙中土", "天上火", "石榴木", "大海水"
+        },
+        {
+            "海中金", "爐中火", "大林木", "路旁土", "劍鋒金", "山頭火", "澗下水", "城頭土", "白蠟金", "楊柳木", "泉中水", "屋上土",
+            "霹靂火", "松柏木", "長流水", "砂石金", "山下火", "平地木", "壁上土", "金箔金", "燈頭火", "天河水", "大驛土", "釵釧金",
+            "桑柘木", "大溪水", "沙中土", "天上火", "石榴木", "大海水"
+        }
+    };
+    private static final String[][] TWELVE_DUTY = {
+        { "开", "闭", "建", "除", "满", "平", "定", "执", "破", "危", "成", "收", "执位" },
+        { "開", "閉", "建", "除", "滿", "平", "定", "執", "破", "危", "成", "收", "執位" }
+    };
+    private static final String[][] TWENTY_EIGHT_STARS = {
+        {
+            "角木蛟", "亢金龙", "氐土貉", "房日兔", "心月狐", "尾火虎", "箕水豹", "斗木獬", "牛金牛", "女土蝠", "虚日鼠", "危月燕",
+            "室火猪", "壁水貐", "奎木狼", "娄金狗", "胃土雉", "昴日鸡", "毕月乌", "觜火猴", "参水猿", "井木犴", "鬼金羊", "柳土獐",
+            "星日马", "张月鹿", "翼火蛇", "轸水蚓"
+        },
+        {
+            "角木蛟", "亢金龍", "氐土貉", "房日兔", "心月狐", "尾火虎", "箕水豹", "斗木獬", "牛金牛", "女土蝠", "虛日鼠", "危月燕",
+            "室火豬", "壁水貐", "奎木狼", "婁金狗", "胃土雉", "昴日雞", "畢月烏", "觜火猴", "參水猿", "井木犴", "鬼金羊", "柳土獐",
+            "星日馬", "張月鹿", "翼火蛇", "軫水蚓"
+        }
+    };
+    private static final String[][] STAR_DIRECTIONS = {
+        { "东方", "北方", "西方", "南方", "吉", "凶" },
+        { "東方", "北方", "西方", "南方", "吉", "凶" }
+    };
+
+    private final int variant;
+    private final String[] lunarSpecString;
+
+    ChineseLocale(int variant) {
+      this.variant = variant;
+      this.lunarSpecString = LUNAR_SPEC_STRING[variant];
+    }
+
+    @Override protected String[] getHeavenlyStems() {
+      return HEAVENLY_STEMS;
+    }
+
+    @Override protected String[] getEarthlyBranches() {
+      return EARTHLY_BRANCHES;
+    }
+
+    @Override protected String[] getZodiac() {
+      return ZODIAC[variant];
+    }
+
+    @Override protected String getLunarMonth(int lunarMonth, boolean isLeap) {
+      String lunarMonthStr;
+      switch (lunarMonth) {
+        case 1:
+          lunarMonthStr = lunarSpecString[4];
+          break;
+
+        case 10:
+          lunarMonthStr = lunarSpecString[1];
+          break;
+
+        case 11:
+          lunarMonthStr = lunarSpecString[5];
+          break;
+
+        case 12:
+          lunarMonthStr = lunarSpecString[6];
+          break;
+
+        default:
+          lunarMonthStr = LUNAR_STRING[lunarMonth];
+          break;
+      }
+
+      return (isLeap ? lunarSpecString[7] : "") + lunarMonthStr;
+    }
+
+    @Override protected String getFullLunarMonth(int lunarMonth, boolean isLeap) {
+      return getLunarMonth(lunarMonth, isLeap) + "月";
+    }
+
+    @Override protected String getLunarDay(int lunarDay) {
+      int unit = lunarDay % 10;
+      String decadeStr = lunarDay < 11 ? lunarSpecString[0] : lunarSpecString[lunarDay / 10];
+      String unitStr = unit == 0 ? lunarSpecString[1] : LUNAR_STRING[unit];
+      return decadeStr + unitStr;
+    }
+
+    @Override protected String[] getSolarTerms() {
+      return SOLAR_TERMS[variant];
+    }
+
+    @Override protected String[] getDaysOfWeek() {
+      return DAYS_OF_WEEK;
+    }
+
+    @Override protected String getHourName(int index) {
+      return EARTHLY_BRANCHES[index] + lunarSpecString[8];
+    }
+
+    @Override protected String[] getHolidayNames() {
+      return HOLIDAY_NAMES[variant];
+    }
+
+    @Override protected String getRestBadge() {
+      return "休";
+    }
+
+    @Override protected String getWorkBadge() {
+      return "班";
+    }
+
+    @Override protected String[] getPengzuOfHeavenlyStems() {
+      return PENG_ZU_HEAVENLY[variant];
+    }
+
+    @Override protected String[] getPengzuOfEarthlyBranches() {
+      return PENG_ZU_EARTHLY[variant];
+    }
+
+    @Override protected String getConflictEvilSpirit(String zodiac, String cyclical,
+        int direction) {
+      String[] words = EVIL_SPIRIT[variant];
+      return words[0] + zodiac + "(" + cyclical + ")" + words[1] + words[direction + 2];
+    }
+
+    @Override protected String getFetusGod(int heavenlyPosition, int earthlyPosition,
+        int direction) {
+      String heavenly = FETUS_GOD_HEAVENLY[variant][heavenlyPosition];
+      String earthly = FETUS_GOD_EARTHLY[variant][earthlyPosition];
+      String fetusGod;
+      if (heavenly.contains(earthly)) {
+        fetusGod = heavenly;
+      } else if (earthly.contains(heavenly)) {
+        fetusGod = earthly;
+      } else {
+        fetusGod = heavenly + earthly;
+      }
+
+      return (fetusGod.length() <= 2 ? "占" : "") + fetusGod
+          + FETUS_GOD_DIRECTION[variant][direction];
+    }
+
+    @Override protected String getFiveElements(int element, int duty) {
+      String[] duties = TWELVE_DUTY[variant];
+      return FIVE_ELEMENTS[variant][element] + " " + duties[duty] + duties[12];
+    }
+
+    @Override protected String getTwentyEightStar(int index, boolean isLucky) {
+      String[] words = STAR_DIRECTIONS[variant];
+      return words[index / 7] + TWENTY_EIGHT_STARS[variant][index] + "-"
+          + words[isLucky ? 4 : 5];
+    }
+  }
+
+  /* English, the names without translation are in pinyin without tones */
+  private static final class EnglishLocale extends LunarLocale {
+    private static final String[] HEAVENLY_STEMS = {
+        "Jia", "Yi", "Bing", "Ding", "Wu", "Ji", "Geng", "Xin", "Ren", "Gui"
+    };
+    private static final String[] EARTHLY_BRANCHES = {
+        "Zi", "Chou", "Yin", "Mao", "Chen", "Si", "Wu", "Wei", "Shen", "You", "Xu", "Hai"
+    };
+    private static final String[] ZODIAC = {
+        "Rat", "Ox", "Tiger", "Rabbit", "Dragon", "Snake", "Horse", "Goat", "Monkey", "Rooster",
+        "Dog", "Pig"
+    };
+    private static final String[] SOLAR_TERMS = {
+        "Minor Cold", "Major Cold", "Start of Spring", "Rain Water", "Awakening of Insects",
+        "Spring Equinox", "Pure Brightness", "Grain Rain", "Start of Summer", "Grain Full",
+        "Grain in Ear", "Summer Solstice", "Minor Heat", "Major Heat", "Start of Autumn",
+        "End of Heat", "White Dew", "Autumn Equinox", "Cold Dew", "Frost's Descent",
+        "Start of Winter", "Minor Snow", "Major Snow", "Winter Solstice"
+    };
+    private static final String[] DAYS_OF_WEEK = {
+        "Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat"
+    };
+    private static final String[] HOLIDAY_NAMES = {
+        "Spring Festival", "Lantern Festival", "Dragon Boat Festival", "Qixi Festival",
+        "Ghost Festival", "Mid-Autumn Festival", "Double Ninth Festival", "Laba Festival",
+        "Little New Year (North)", "Little New Year (South)", "New Year's Eve",
+        "New Year's Day", "Valentine's Day", "Women's Day", "Arbor Day", "Consumer Rights Day",
+        "World Forestry Day", "April Fools' Day", "World Health Day", "Earth Day", "Labour Day",
+        "Youth Day", "World No Tobacco Day", "Children's Day", "Anti-Drug Day",
+        "Party Founding Day", "Army Day", "Victory Day", "Teachers' Day", "Confucius' Birthday",
+        "National Day", "Macau Handover Day", "Christmas Eve", "Christmas Day",
+        "Qingming Festival", "Mother's Day", "Father's Day"
+    };
+    private static final String[] PENG_ZU_HEAVENLY = {
+        "Jia: no opening granaries, or wealth wastes away",
+        "Yi: no planting, or the seedlings never grow",
+        "Bing: no repairing stoves, or disaster comes",
+        "Ding: no shaving heads, or sores grow on the head",
+        "Wu: no receiving fields, or the owner has bad luck",
+        "Ji: no breaking contracts, or both parties lose",
+        "Geng: no weaving, or the loom stands idle",
+        "Xin: no making sauce, or the host never tastes it",
+        "Ren: no draining water, or floods are hard to guard",
+        "Gui: no lawsuits, or the weak case loses to the strong"
+    };
+    private static final String[] PENG_ZU_EARTHLY = {
+        "Zi: no divination, or trouble is brought on oneself",
+        "Chou: no capping ceremony, or one never returns home",
+        "Yin: no sacrifices, or the spirits never accept them",
+        "Mao: no digging wells, or the water is never sweet",
+        "Chen: no weeping, or mourning comes again",
+        "Si: no long journeys, or wealth is hidden away",
+        "Wu: no thatching roofs, or the owner moves away",
+        "Wei: no taking medicine, or poison enters the body",
+        "Shen: no setting up beds, or ghosts enter the room",
+        "You: no banquets, or the guests get drunk and wild",
+        "Xu: no eating dogs, or strange things happen in bed",
+        "Hai: no weddings, or the groom has bad luck"
+    };
+    private static final String[] DIRECTIONS = { "South", "East", "North", "West" };
+    private static final String[] FETUS_GOD_HEAVENLY = {
+        "Door", "Mortar and Mill", "Kitchen Stove", "Storehouse", "Bed"
+    };
+    private static final String[] FETUS_GOD_EARTHLY = {
+        "Mortar", "Toilet", "Stove", "Gate", "Roost", "Bed"
+    };
+    private static final String[] FETUS_GOD_DIRECTION = {
+        "Outer Northeast", "Outer East", "Outer Southeast", "Outer South", "Outer Southwest",
+        "Outer West", "Outer Northwest", "Outer North", "Inner North", "Inner South",
+        "Inner East"
+    };
+    private static final String[] FIVE_ELEMENTS = {
+        "Gold in the Sea", "Fire in the Furnace", "Wood of the Forest", "Earth by the Road",
+        "Gold of the Sword", "Fire on the Hill", "Water in the Stream", "Earth on the Wall",
+        "Gold of White Wax", "Willow Wood", "Water in the Spring", "Earth on the Roof",
+        "Thunder Fire", "Pine Wood", "Water of the River", "Gold in the Sand",
+        "Fire under the Hill", "Wood of the Plain", "Earth of the Wall", "Gold Foil",
+        "Lamp Fire", "Water of the Sky", "Earth of the Post Road", "Gold of the Hairpin",
+        "Mulberry Wood", "Water of the Brook", "Earth in the Sand", "Fire in the Sky",
+        "Pomegranate Wood", "Water of the Ocean"
+    };
+    private static final String[] TWELVE_DUTY = {
+        "Open", "Close", "Establish", "Remove", "Full", "Balance", "Stable", "Initiate",
+        "Destruction", "Danger", "Success", "Receive"
+    };
+    private static final String[] TWENTY_EIGHT_STARS = {
+        "Horn", "Neck", "Root", "Room", "Heart", "Tail", "Winnowing Basket", "Dipper", "Ox",
+        "Girl", "Emptiness", "Rooftop", "Encampment", "Wall", "Legs", "Bond", "Stomach",
+        "Hairy Head", "Net", "Turtle Beak", "Three Stars", "Well", "Ghost", "Willow", "Star",
+        "Extended Net", "Wings", "Chariot"
+    };
+
+    @Override protected String[] getHeavenlyStems() {
+      return HEAVENLY_STEMS;
+    }
+
+    @Override protected String[] getEarthlyBranches() {
+      return EARTHLY_BRANCHES;
+    }
+
+    @Override protected String getCyclical(String heavenlyStem, String earthlyBranch) {
+      return heavenlyStem + earthlyBranch.toLowerCase(Locale.ROOT);
+    }
+
+    @Override protected String[] getZodiac() {
+      return ZODIAC;
+    }
+
+    @Override protected String getLunarMonth(int lunarMonth, boolean isLeap) {
+      return (isLeap ? "Leap " : "") + lunarMonth;
+    }
+
+    @Override protected String getFullLunarMonth(int lunarMonth, boolean isLeap) {
+      return (isLeap ? "Leap " : "") + "Month " + lunarMonth;
+    }
+
+    @Override protected String getLunarDay(int lunarDay) {
+      return String.valueOf(lunarDay);
+    }
+
+    @Override protected String[] getSolarTerms() {
+      return SOLAR_TERMS;
+    }
+
+    @Override protected String[] getDaysOfWeek() {
+      return DAYS_OF_WEEK;
+    }
+
+    @Override protected String getHourName(int index) {
+      return EARTHLY_BRANCHES[index] + " hour";
+    }
+
+    @Override protected String[] getHolidayNames() {
+      return HOLIDAY_NAMES;
+    }
+
+    @Override protected String getRestBadge() {
+      return "Off";
+    }
+
+    @Override protected String getWorkBadge() {
+      return "Work";
+    }
+
+    @Override protected String[] getPengzuOfHeavenlyStems() {
+      return PENG_ZU_HEAVENLY;
+    }
+
+    @Override protected String[] getPengzuOfEarthlyBranches() {
+      return PENG_ZU_EARTHLY;
+    }
+
+    @Override protected String getConflictEvilSpirit(String zodiac, String cyclical,
+        int direction) {
+      return "Clash " + zodiac + " (" + cyclical + "), Evil " + DIRECTIONS[direction];
+    }
+
+    @Override protected String getFetusGod(int heavenlyPosition, int earthlyPosition,
+        int direction) {
+      return FETUS_GOD_HEAVENLY[heavenlyPosition] + ", " + FETUS_GOD_EARTHLY[earthlyPosition]
+          + ", " + FETUS_GOD_DIRECTION[direction];
+    }
+
+    @Override protected String getFiveElements(int element, int duty) {
+      return FIVE_ELEMENTS[element] + ", " + TWELVE_DUTY[duty] + " Day";
+    }
+
+    @Override protected String getTwentyEightStar(int index, boolean isLucky) {
+      return DIRECTIONS[(index / 7 + 1) % 4] + " " + TWENTY_EIGHT_STARS[index] + " - "
+          + (isLucky ? "Lucky" : "Unlucky");
+    }
+  }
+
+  /* Hanyu pinyin with tone marks, the words are capitalized */
+  private static final class PinyinLocale extends LunarLocale {
+    private static final String[] HEAVENLY_STEMS = {
+        "Jiǎ", "Yǐ", "Bǐng", "Dīng", "Wù", "Jǐ", "Gēng", "Xīn", "Rén", "Guǐ"
+    };
+    private static final String[] EARTHLY_BRANCHES = {
+        "Zǐ", "Chǒu", "Yín", "Mǎo", "Chén", "Sì", "Wǔ", "Wèi", "Shēn", "Yǒu", "Xū", "Hài"
+    };
+    private static final String[] ZODIAC = {
+        "Shǔ", "Niú", "Hǔ", "Tù", "Lóng", "Shé", "Mǎ", "Yáng", "Hóu", "Jī", "Gǒu", "Zhū"
+    };
+    private static final String[] NUMBERS = {
+        "líng", "yī", "èr", "sān", "sì", "wǔ", "liù", "qī", "bā", "jiǔ", "shí"
+    };
+    private static final String[] LUNAR_MONTHS = {
+        "Zhēng", "Èr", "Sān", "Sì", "Wǔ", "Liù", "Qī", "Bā", "Jiǔ", "Shí", "Dōng", "Là"
+    };
+    private static final String[] SOLAR_TERMS = {
+        "Xiǎohán", "Dàhán", "Lìchūn", "Yǔshuǐ", "Jīngzhé", "Chūnfēn", "Qīngmíng", "Gǔyǔ",
+        "Lìxià", "Xiǎomǎn", "Mángzhòng", "Xiàzhì", "Xiǎoshǔ", "Dàshǔ", "Lìqiū", "Chǔshǔ",
+        "Báilù", "Qiūfēn", "Hánlù", "Shuāngjiàng", "Lìdōng", "Xiǎoxuě", "Dàxuě", "Dōngzhì"
+    };
+    private static final String[] DAYS_OF_WEEK = { "Rì", "Yī", "Èr", "Sān", "Sì", "Wǔ", "Liù" };
+    private static final String[] HOLIDAY_NAMES = {
+        "Chūnjié", "Yuánxiāojié", "Duānwǔjié", "Qīxìjié", "Zhōngyuánjié", "Zhōngqiūjié",
+        "Chóngyángjié", "Làbājié", "Běifāng Xiǎonián", "Nánfāng Xiǎonián", "Chúxī",
+        "Yuándànjié", "Qíngrénjié", "Fùnǚjié", "Zhíshùjié", "Xiāofèizhě Quányì Rì",
+        "Shìjiè Sēnlín Rì", "Yúrénjié", "Shìjiè Wèishēng Rì", "Shìjiè Dìqiú Rì", "Láodòngjié",
+        "Qīngniánjié", "Shìjiè Wúyān Rì", "Értóngjié", "Jìndú Rì", "Jiàndǎngjié", "Jiànjūnjié",
+        "Kàngzhàn Shènglì", "Jiàoshījié", "Kǒngzǐ Dànchén", "Guóqìngjié", "Àomén Huíguī",
+        "Píng'ānyè", "Shèngdànjié", "Qīngmíngjié", "Mǔqīnjié", "Fùqīnjié"
+    };
+    private static final String[] PENG_ZU_HEAVENLY = {
+        "Jiǎ bù kāi cāng\ncáiwù hào wáng", "Yǐ bù zāi zhí\nqiān zhū bù zhǎng",
+        "Bǐng bù xiū zào\nbì jiàn zāiyāng", "Dīng bù tì tóu\ntóu zhǔ shēng chuāng",
+        "Wù bù shòu tián\ntián zhǔ bù xiáng", "Jǐ bù pò quàn\nèr bǐ bìng wáng",
+        "Gēng bù jīng luò\nzhījī xū zhāng", "Xīn bù hé jiàng\nzhǔrén bù cháng",
+        "Rén bù jué shuǐ\ngèng nán dīfáng", "Guǐ bù císòng\nlǐ ruò dí qiáng"
+    };
+    private static final String[] PENG_ZU_EARTHLY = {
+        "Zǐ bù wèn bǔ\nzì rě huòyāng", "Chǒu bù guān dài\nzhǔ bù huán xiāng",
+        "Yín bù jìsì\nshén guǐ bù cháng", "Mǎo bù chuān jǐng\nshuǐquán bù xiāng",
+        "Chén bù kūqì\nbì zhǔ chóng sāng", "Sì bù yuǎnxíng\ncáiwù fú cáng",
+        "Wǔ bù shàn gài\nwū zhǔ gēng zhāng", "Wèi bù fú yào\ndúqì rù cháng",
+        "Shēn bù ān chuáng\nguǐsuì rù fáng", "Yǒu bù yàn kè\nzuì zuò diānkuáng",
+        "Xū bù chī quǎn\nzuòguài shàng chuáng", "Hài bù jià qǔ\nbùlì xīnláng"
+    };
+    private static final String[] EVIL_SPIRIT = { "Nán", "Dōng", "Běi", "Xī" };
+    private static final String[] FETUS_GOD_HEAVENLY = {
+        "Mén", "Duìmò", "Chúzào", "Cāngkù", "Fángchuáng"
+    };
+    private static final String[] FETUS_GOD_EARTHLY = {
+        "Duì", "Cè", "Lúzào", "Dàmén", "Qī", "Chuáng"
+    };
+    private static final String[] FETUS_GOD_DIRECTION = {
+        "Wài dōngběi", "Wài zhèngdōng", "Wài dōngnán", "Wài zhèngnán", "Wài xīnán",
+        "Wài zhèngxī", "Wài xīběi", "Wài zhèngběi", "Fángnèi běi", "Fángnèi nán",
+        "Fángnèi dōng"
+    };
+    private static final String[] FIVE_ELEMENTS = {
+        "Hǎizhōngjīn", "Lúzhōnghuǒ", "Dàlínmù", "Lùpángtǔ", "Jiànfēngjīn", "Shāntóuhuǒ",
+        "Jiànxiàshuǐ", "Chéngtóutǔ", "Báilàjīn", "Yángliǔmù", "Quánzhōngshuǐ", "Wūshàngtǔ",
+        "Pīlìhuǒ", "Sōngbǎimù", "Chángliúshuǐ", "Shāshíjīn", "Shānxiàhuǒ", "Píngdìmù",
+        "Bìshàngtǔ", "Jīnbójīn", "Dēngtóuhuǒ", "Tiānhéshuǐ", "Dàyìtǔ", "Chāichuànjīn",
+        "Sāngzhèmù", "Dàxīshuǐ", "Shāzhōngtǔ", "Tiānshànghuǒ", "Shíliumù", "Dàhǎishuǐ"
+    };
+    private static final String[] TWELVE_DUTY = {
+        "Kāi", "Bì", "Jiàn", "Chú", "Mǎn", "Píng", "Dìng", "Zhí", "Pò", "Wēi", "Chéng", "Shōu"
+    };
+    private static final String[] TWENTY_EIGHT_STARS = {
+        "Jiǎomùjiāo", "Kàngjīnlóng", "Dǐtǔhé", "Fángrìtù", "Xīnyuèhú", "Wěihuǒhǔ", "Jīshuǐbào",
+        "Dǒumùxiè", "Niújīnniú", "Nǚtǔfú", "Xūrìshǔ", "Wēiyuèyàn", "Shìhuǒzhū", "Bìshuǐyǔ",
+        "Kuímùláng", "Lóujīngǒu", "Wèitǔzhì", "Mǎorìjī", "Bìyuèwū", "Zīhuǒhóu", "Shēnshuǐyuán",
+        "Jǐngmù'àn", "Guǐjīnyáng", "Liǔtǔzhāng", "Xīngrìmǎ", "Zhāngyuèlù", "Yìhuǒshé",
+        "Zhěnshuǐyǐn"
+    };
+    private static final String[] STAR_DIRECTIONS = { "Dōngfāng", "Běifāng", "Xīfāng", "Nánfāng" };
+
+    @Override protected String[] getHeavenlyStems() {
+      return HEAVENLY_STEMS;
+    }
+
+    @Override protected String[] getEarthlyBranches() {
+      return EARTHLY_BRANCHES;
+    }
+
+    @Override protected String getCyclical(String heavenlyStem, String earthlyBranch) {
+      return heavenlyStem + earthlyBranch.toLowerCase(Locale.ROOT);
+    }
+
+    @Override protected String[] getZodiac() {
+      return ZODIAC;
+    }
+
+    @Override protected String getLunarMonth(int lunarMonth, boolean isLeap) {
+      String month = LUNAR_MONTHS[lunarMonth - 1];
+      return isLeap ? "Rùn" + month.toLowerCase(Locale.ROOT) : month;
+    }
+
+    @Override protected String getFullLunarMonth(int lunarMonth, boolean isLeap) {
+      return getLunarMonth(lunarMonth, isLeap) + "yuè";
+    }
+
+    @Override protected String getLunarDay(int lunarDay) {
+      if (lunarDay <= 10) {
+        return "Chū" + NUMBERS[lunarDay];
+      } else if (lunarDay < 20) {
+        return "Shí" + NUMBERS[lunarDay - 10];
+      } else if (lunarDay == 20 || lunarDay == 30) {
+        return lunarDay == 20 ? "Èrshí" : "Sānshí";
+      }
+
+      return (lunarDay < 30 ? "Niàn" : "Sà") + NUMBERS[lunarDay % 10];
+    }
+
+    @Override protected String[] getSolarTerms() {
+      return SOLAR_TERMS;
+    }
+
+    @Override protected String[] getDaysOfWeek() {
+      return DAYS_OF_WEEK;
+    }
+
+    @Override protected String getHourName(int index) {
+      return EARTHLY_BRANCHES[index] + "shí";
+    }
+
+    @Override protected String[] getHolidayNames() {
+      return HOLIDAY_NAMES;
+    }
+
+    @Override protected String getRestBadge() {
+      return "Xiū";
+    }
+
+    @Override protected String getWorkBadge() {
+      return "Bān";
+    }
+
+    @Override protected String[] getPengzuOfHeavenlyStems() {
+      return PENG_ZU_HEAVENLY;
+    }
+
+    @Override protected String[] getPengzuOfEarthlyBranches() {
+      return PENG_ZU_EARTHLY;
+    }
+
+    @Override protected String getConflictEvilSpirit(String zodiac, String cyclical,
+        int direction) {
+      return "Chōng " + zodiac + "(" + cyclical + ") shà " + EVIL_SPIRIT[direction];
+    }
+
+    @Override protected String getFetusGod(int heavenlyPosition, int earthlyPosition,
+        int direction) {
+      return "Zhàn " + FETUS_GOD_HEAVENLY[heavenlyPosition] + " "
+          + FETUS_GOD_EARTHLY[earthlyPosition] + " " + FETUS_GOD_DIRECTION[direction];
+    }
+
+    @Override protected String getFiveElements(int element, int duty) {
+      return FIVE_ELEMENTS[element] + " " + TWELVE_DUTY[duty] + " zhíwèi";
+    }
+
+    @Override protected String getTwentyEightStar(int index, boolean isLucky) {
+      return STAR_DIRECTIONS[index / 7] + " " + TWENTY_EIGHT_STARS[index] + "-"
+          + (isLucky ? "Jí" : "Xiōng");
+    }
+  }
+}
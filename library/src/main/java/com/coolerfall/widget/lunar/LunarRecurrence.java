@@ -0,0 +1,146 @@
+package com.coolerfall.widget.lunar;
+
+/**
+ * A yearly recurring event on lunar date, such as birthday and memorial. The occurrences
+ * are found with the year tables of {@link LunarAstronomy} directly, no {@link Lunar}
+ * will be created. The rules in the years without the exact date:
+ * <ul>
+ * <li>the event in leap month occurs in the normal month with the same number</li>
+ * <li>the event in normal month never occurs in leap month</li>
+ * <li>the event on 30th occurs on 29th if the month only has 29 days,
+ * or is skipped if created with {@code clampDay} false</li>
+ * </ul>
+ * <p>
+ * This class is immutable and thread safe.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public final class LunarRecurrence {
+  /** Returned if there is no occurrence. */
+  public static final int NONE = Integer.MIN_VALUE;
+
+  private final int month;
+  private final int day;
+  private final boolean isLeap;
+  private final boolean clampDay;
+
+  /**
+   * The constructor of lunar recurrence, the day will be clamped in short months.
+   *
+   * @param date the lunar date of event
+   */
+  public LunarRecurrence(LunarDate date) {
+    this(date, true);
+  }
+
+  /**
+   * The constructor of lunar recurrence.
+   *
+   * @param date the lunar date of event
+   * @param clampDay true to occur on 29th if the month has no 30th, false to skip
+   */
+  public LunarRecurrence(LunarDate date, boolean clampDay) {
+    this.month = date.getMonth();
+    this.day = date.getDay();
+    this.isLeap = date.isLeapMonth();
+    this.clampDay = clampDay;
+  }
+
+  /**
+   * Get the epoch day of occurrence in the given lunar year.
+   *
+   * @param lunarYear lunar year
+   * @return epoch day, or {@link #NONE} if not occurs in this year
+   */
+  public int getEpochDay(int lunarYear) {
+    if (lunarYear < LunarAstronomy.MIN_YEAR || lunarYear > LunarAstronomy.MAX_YEAR) {
+      return NONE;
+    }
+
+    boolean leap = isLeap && LunarAstronomy.getLeapMonth(lunarYear) == month;
+    int days = LunarAstronomy.getDaysInMonth(lunarYear, month, leap);
+    if (day > days && !clampDay) {
+      return NONE;
+    }
+
+    return LunarAstronomy.fromLunar(lunarYear, month, Math.min(day, days), leap);
+  }
+
+  /**
+   * Get the first occurrence on or after the given day.
+   *
+   * @param epochDay epoch day
+   * @return epoch day of occurrence, or {@link #NONE} if no more occurrence
+   */
+  public int next(int epochDay) {
+    /* the lunar year starts in the Gregorian year or the next one */
+    int year = epochDay < LunarAstronomy.MIN_EPOCH_DAY ? LunarAstronomy.MIN_YEAR
+        : LunarConverter.getSolarYear(LunarConverter.toSolar(epochDay)) - 1;
+    for (; year <= LunarAstronomy.MAX_YEAR; year++) {
+      int occurrence = getEpochDay(year);
+      if (occurrence != NONE && occurrence >= epochDay) {
+        return occurrence;
+      }
+    }
+
+    return NONE;
+  }
+
+  /**
+   * Get the last occurrence on or before the given day.
+   *
+   * @param epochDay epoch day
+   * @return epoch day of occurrence, or {@link #NONE} if no occurrence before
+   */
+  public int previous(int epochDay) {
+    int year = epochDay > LunarAstronomy.MAX_EPOCH_DAY ? LunarAstronomy.MAX_YEAR
+        : LunarConverter.getSolarYear(LunarConverter.toSolar(epochDay));
+    for (; year >= LunarAstronomy.MIN_YEAR; year--) {
+      int occurrence = getEpochDay(year);
+      if (occurrence != NONE && occurrence <= epochDay) {
+        return occurrence;
+      }
+    }
+
+    return NONE;
+  }
+
+  /**
+   * Fill the occurrences from the given day into array, stops if the array is full or
+   * no more occurrence before the end day.
+   *
+   * @param startEpochDay the first epoch day, inclusive
+   * @param endEpochDay the last epoch day, exclusive
+   * @param out the array to receive epoch days of occurrences
+   * @return the count of occurrences filled
+   */
+  public int fill(int startEpochDay, int endEpochDay, int[] out) {
+    int count = 0;
+    int occurrence = next(startEpochDay);
+    while (count < out.length && occurrence != NONE && occurrence < endEpochDay) {
+      out[count++] = occurrence;
+      occurrence = next(occurrence + 1);
+    }
+
+    return count;
+  }
+
+  /**
+   * Get the next occurrences from the given day.
+   *
+   * @param startEpochDay the first epoch day, inclusive
+   * @param count max count of occurrences
+   * @return epoch days of occurrences, maybe less than count if out of lunar calendar
+   */
+  public int[] next(int startEpochDay, int count) {
+    int[] occurrences = new int[count];
+    int filled = fill(startEpochDay, Integer.MAX_VALUE, occurrences);
+    if (filled == count) {
+      return occurrences;
+    }
+
+    int[] result = new int[filled];
+    System.arraycopy(occurrences, 0, result, 0, filled);
+    return result;
+  }
+}
@@ -0,0 +1,114 @@
+package com.coolerfall.widget.lunar;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A {@link Spliterator} over a range of days which supplies packed lunar dates
+ * (see {@link LunarConverter}). Every split seeks to its first day directly and walks
+ * with {@link LunarCursor}, so the range can be traversed in parallel efficiently.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+@TargetApi(Build.VERSION_CODES.N) public final class LunarSpliterator
+    implements Spliterator.OfInt {
+  private static final int CHARACTERISTICS =
+      ORDERED | DISTINCT | SORTED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+
+  /* each part of split holds one lunar year at least, the longest one has 384 days */
+  private static final int MIN_SPLIT_DAYS = 384;
+
+  private int index;
+  private final int fence;
+  private LunarCursor cursor;
+
+  /**
+   * The constructor of lunar spliterator, the range should be in lunar calendar, from
+   * {@link LunarAstronomy#MIN_EPOCH_DAY} to {@link LunarAstronomy#MAX_EPOCH_DAY}.
+   *
+   * @param startEpochDay the epoch day of the first day, inclusive
+   * @param endEpochDay the epoch day of the last day, exclusive
+   * @throws IllegalArgumentException if the range is out of lunar calendar
+   */
+  public LunarSpliterator(int startEpochDay, int endEpochDay) {
+    if (startEpochDay < LunarAstronomy.MIN_EPOCH_DAY || startEpochDay > endEpochDay
+        || endEpochDay > LunarAstronomy.MAX_EPOCH_DAY + 1) {
+      throw new IllegalArgumentException(
+          "Invalid range of lunar calendar: " + startEpochDay + " - " + endEpochDay);
+    }
+
+    index = startEpochDay;
+    fence = endEpochDay;
+  }
+
+  /**
+   * Create a stream of packed lunar dates in the given range.
+   *
+   * @param startEpochDay the epoch day of the first day, inclusive
+   * @param endEpochDay the epoch day of the last day, exclusive
+   * @param parallel true to create a parallel stream
+   * @return stream of packed lunar dates
+   * @throws IllegalArgumentException if the range is out of lunar calendar
+   */
+  public static IntStream stream(int startEpochDay, int endEpochDay, boolean parallel) {
+    return StreamSupport.intStream(new LunarSpliterator(startEpochDay, endEpochDay), parallel);
+  }
+
+  @Override public OfInt trySplit() {
+    int lo = index;
+    int mid = lo + (fence - lo) / 2;
+    if (mid - lo < MIN_SPLIT_DAYS) {
+      return null;
+    }
+
+    /* the rest part will seek to the middle of range when advancing */
+    index = mid;
+    cursor = null;
+    return new LunarSpliterator(lo, mid);
+  }
+
+  @Override public boolean tryAdvance(IntConsumer action) {
+    if (index >= fence) {
+      return false;
+    }
+
+    advance();
+    action.accept(cursor.getPackedLunar());
+    return true;
+  }
+
+  @Override public void forEachRemaining(IntConsumer action) {
+    while (index < fence) {
+      advance();
+      action.accept(cursor.getPackedLunar());
+    }
+  }
+
+  /* move cursor to the day of current index */
+  private void advance() {
+    if (cursor == null) {
+      cursor = new LunarCursor(index);
+    } else {
+      cursor.next();
+    }
+    index++;
+  }
+
+  @Override public long estimateSize() {
+    return fence - index;
+  }
+
+  @Override public int characteristics() {
+    return CHARACTERISTICS;
+  }
+
+  @Override public Comparator<? super Integer> getComparator() {
+    /* packed lunar dates are in natural order */
+    return null;
+  }
+}
@@ -0,0 +1,205 @@
+package com.coolerfall.widget.lunar;
+
+/**
+ * A dense table of every day in lunar information, from {@link LunarConverter#MIN_EPOCH_DAY}
+ * to {@link LunarConverter#MAX_EPOCH_DAY}. Each day is packed into two ints, so lunar date,
+ * cyclical indices, solar term and holiday of any day can be found with one array index.
+ * The table is built on first lookup by walking a {@link LunarCursor} over all the days,
+ * which costs about 590KB memory. The table is disabled by default, call
+ * {@link #setDefault(LunarTable)} to make all {@link Lunar} instances convert with it.
+ * <p>
+ * This class is thread safe.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public final class LunarTable {
+  /* | holiday + 1 | solar term + 1 | cyclical month | cyclical year | */
+  private static final int CYCLICAL_MONTH_SHIFT = 6;
+  private static final int SOLAR_TERM_SHIFT = 12;
+  private static final int HOLIDAY_SHIFT = 17;
+
+  /* | cyclical day | big month | packed lunar date | */
+  private static final int BIG_MONTH = 1 << 22;
+  private static final int CYCLICAL_DAY_SHIFT = 23;
+  private static final int PACKED_LUNAR_MASK = BIG_MONTH - 1;
+
+  private static volatile LunarTable defaultTable;
+
+  private final HolidayCalendar holidays;
+  private volatile int[] days;
+
+  /**
+   * The constructor of lunar table with default {@link HolidayCalendar}.
+   */
+  public LunarTable() {
+    this(HolidayCalendar.getDefault());
+  }
+
+  /**
+   * The constructor of lunar table.
+   *
+   * @param holidays the holidays compiled into table
+   */
+  public LunarTable(HolidayCalendar holidays) {
+    if (holidays == null) {
+      throw new NullPointerException("holidays == null");
+    }
+
+    this.holidays = holidays;
+  }
+
+  /**
+   * Get the table used by all {@link Lunar} instances.
+   *
+   * @return {@link LunarTable}, null if disabled
+   */
+  public static LunarTable getDefault() {
+    return defaultTable;
+  }
+
+  /**
+   * Set the table used by all {@link Lunar} instances.
+   *
+   * @param table {@link LunarTable}, null to disable table
+   */
+  public static void setDefault(LunarTable table) {
+    defaultTable = table;
+  }
+
+  /* get all the days in table, build if not built yet */
+  private int[] getDays() {
+    int[] days = this.days;
+    if (days == null) {
+      synchronized (this) {
+        days = this.days;
+        if (days == null) {
+          days = build();
+          this.days = days;
+        }
+      }
+    }
+
+    return days;
+  }
+
+  /* build the table by walking all the days */
+  private int[] build() {
+    int count = LunarConverter.MAX_EPOCH_DAY - LunarConverter.MIN_EPOCH_DAY + 1;
+    int[] days = new int[count * 2];
+    LunarCursor cursor = new LunarCursor(LunarConverter.MIN_EPOCH_DAY);
+    for (int i = 0; i < days.length; i += 2) {
+      days[i] = cursor.getPackedLunar() | (cursor.getDaysInLunarMonth() == 30 ? BIG_MONTH : 0)
+          | cursor.getCyclicalDay() << CYCLICAL_DAY_SHIFT;
+      days[i + 1] = cursor.getCyclicalYear()
+          | cursor.getCyclicalMonth() << CYCLICAL_MONTH_SHIFT
+          | (cursor.getSolarTermIndex() + 1) << SOLAR_TERM_SHIFT
+          | (holidays.getHolidayId(cursor.getEpochDay()) + 1) << HOLIDAY_SHIFT;
+      cursor.next();
+    }
+
+    return days;
+  }
+
+  /* get the index of the given day in table */
+  private static int indexOf(int epochDay) {
+    return (LunarConverter.clamp(epochDay) - LunarConverter.MIN_EPOCH_DAY) * 2;
+  }
+
+  /**
+   * Get the holidays compiled into this table.
+   *
+   * @return {@link HolidayCalendar}
+   */
+  public HolidayCalendar getHolidayCalendar() {
+    return holidays;
+  }
+
+  /**
+   * To check if the table has been built.
+   *
+   * @return true if built, otherwise return false
+   */
+  public boolean isBuilt() {
+    return days != null;
+  }
+
+  /**
+   * Get the memory used by this table in bytes, 0 if not built yet.
+   *
+   * @return the size in bytes
+   */
+  public int getSizeInBytes() {
+    int[] days = this.days;
+    return days == null ? 0 : days.length * 4;
+  }
+
+  /**
+   * Get packed lunar date of the given day.
+   *
+   * @param epochDay epoch day, will be clamped into the range of lunar information
+   * @return packed lunar date
+   */
+  public int getPackedLunar(int epochDay) {
+    return getDays()[indexOf(epochDay)] & PACKED_LUNAR_MASK;
+  }
+
+  /**
+   * Get the count of days in lunar month of the given day.
+   *
+   * @param epochDay epoch day, will be clamped into the range of lunar information
+   * @return 29 or 30
+   */
+  public int getDaysInLunarMonth(int epochDay) {
+    return (getDays()[indexOf(epochDay)] & BIG_MONTH) == 0 ? 29 : 30;
+  }
+
+  /**
+   * Get the index of year in Heavenly Stems and Earthly Branches.
+   *
+   * @param epochDay epoch day, will be clamped into the range of lunar information
+   * @return cyclical year from 0 to 59
+   */
+  public int getCyclicalYear(int epochDay) {
+    return getDays()[indexOf(epochDay) + 1] & 0x3f;
+  }
+
+  /**
+   * Get the index of month in Heavenly Stems and Earthly Branches.
+   *
+   * @param epochDay epoch day, will be clamped into the range of lunar information
+   * @return cyclical month from 0 to 59
+   */
+  public int getCyclicalMonth(int epochDay) {
+    return getDays()[indexOf(epochDay) + 1] >> CYCLICAL_MONTH_SHIFT & 0x3f;
+  }
+
+  /**
+   * Get the index of day in Heavenly Stems and Earthly Branches.
+   *
+   * @param epochDay epoch day, will be clamped into the range of lunar information
+   * @return cyclical day from 0 to 59
+   */
+  public int getCyclicalDay(int epochDay) {
+    return getDays()[indexOf(epochDay)] >>> CYCLICAL_DAY_SHIFT;
+  }
+
+  /**
+   * Get the index of solar term on the given day.
+   *
+   * @param epochDay epoch day, will be clamped into the range of lunar information
+   * @return the index of solar term, -1 if was not solar term
+   */
+  public int getSolarTermIndex(int epochDay) {
+    return (getDays()[indexOf(epochDay) + 1] >> SOLAR_TERM_SHIFT & 0x1f) - 1;
+  }
+
+  /**
+   * Get the id of holiday on the given day in {@link #getHolidayCalendar()}.
+   *
+   * @param epochDay epoch day, will be clamped into the range of lunar information
+   * @return the id of holiday, -1 if not existed
+   */
+  public int getHolidayId(int epochDay) {
+    return (getDays()[indexOf(epochDay) + 1] >>> HOLIDAY_SHIFT) - 1;
+  }
+}
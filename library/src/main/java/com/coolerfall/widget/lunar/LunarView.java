@@ -30,6 +30,8 @@ public class LunarView extends LinearLayout {
   private int checkedDayBackgroundColor = 0xffeaeaea;
   private Drawable todayBackground;
   private boolean shouldPickOnMonthChange = true;
+  private boolean showMoonPhase;
+  private int moonPhaseColor = 0xffffc107;
 
   private ViewPager viewPager;
   private MonthPagerAdapter monthPagerAdapter;
@@ -82,6 +84,8 @@ public class LunarView extends LinearLayout {
         a.getColor(R.styleable.LunarView_checkedDayBackgroundColor, checkedDayBackgroundColor);
     shouldPickOnMonthChange =
         a.getBoolean(R.styleable.LunarView_shouldPickOnMonthChange, shouldPickOnMonthChange);
+    showMoonPhase = a.getBoolean(R.styleable.LunarView_showMoonPhase, showMoonPhase);
+    moonPhaseColor = a.getColor(R.styleable.LunarView_moonPhaseColor, moonPhaseColor);
     a.recycle();
 
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
@@ -232,6 +236,24 @@ public class LunarView extends LinearLayout {
     return shouldPickOnMonthChange;
   }
 
+  /**
+   * Show the phase of the moon in each day or not.
+   *
+   * @return true or false
+   */
+  protected boolean getShowMoonPhase() {
+    return showMoonPhase;
+  }
+
+  /**
+   * Get the color of the lit part of the moon.
+   *
+   * @return color of the moon
+   */
+  protected int getMoonPhaseColor() {
+    return moonPhaseColor;
+  }
+
   /**
    * Set the text color of solar day.
    *
@@ -313,6 +335,33 @@ public class LunarView extends LinearLayout {
     todayBackground = getDrawable(resId);
   }
 
+  /**
+   * Set to show the phase of the moon in each day or not.
+   *
+   * @param show true to show
+   */
+  public void setShowMoonPhase(boolean show) {
+    showMoonPhase = show;
+  }
+
+  /**
+   * Set the color of the lit part of the moon.
+   *
+   * @param color color
+   */
+  public void setMoonPhaseColor(@ColorInt int color) {
+    moonPhaseColor = color;
+  }
+
+  /**
+   * Set the color resource of the lit part of the moon.
+   *
+   * @param resId resource id
+   */
+  public void setMoonPhaseColorRes(@ColorRes int resId) {
+    moonPhaseColor = getColor(resId);
+  }
+
   /**
    * Set on date click listener. This listener will be invoked
    * when a day in month was picked.
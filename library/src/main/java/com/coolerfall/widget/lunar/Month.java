@@ -90,12 +90,34 @@ class Month implements Parcelable {
   /* add month day into list */
   private void addMonthDay(int year, int month, int day) {
     Calendar calendar = generateWorkingCalendar(year, month, day);
+    int firstDay = LunarConverter.toEpochDay(calendar.get(Calendar.YEAR),
+        calendar.get(Calendar.MONTH), calendar.get(Calendar.DAY_OF_MONTH));
+
+    /* walk with cursor in lunar calendar, otherwise compute every day */
+    int lastDay = firstDay + totalWeeks * DAYS_IN_WEEK - 1;
+    LunarCursor cursor =
+        firstDay >= LunarAstronomy.MIN_EPOCH_DAY && lastDay <= LunarAstronomy.MAX_EPOCH_DAY
+            ? new LunarCursor(firstDay) : null;
 
     for (int i = 0; i < totalWeeks; i++) {
       for (int j = 0; j < DAYS_IN_WEEK; j++) {
-        MonthDay monthDay = new MonthDay(calendar);
         int currentDays = i * DAYS_IN_WEEK + j;
-        monthDay.setCheckable(!(currentDays < delta || currentDays >= totalDays + delta));
+        int epochDay = firstDay + currentDays;
+        Lunar lunar;
+        if (cursor != null) {
+          lunar = new Lunar(cursor);
+          cursor.next();
+        } else if (epochDay >= LunarAstronomy.MIN_EPOCH_DAY
+            && epochDay <= LunarAstronomy.MAX_EPOCH_DAY) {
+          lunar = new Lunar(calendar.getTimeInMillis());
+        } else {
+          /* out of lunar calendar, the day is shown without lunar date and can't be checked */
+          lunar = null;
+        }
+
+        MonthDay monthDay = new MonthDay(calendar.getTimeInMillis(), lunar);
+        monthDay.setCheckable(
+            lunar != null && !(currentDays < delta || currentDays >= totalDays + delta));
         if (currentDays < delta) {
           monthDay.setDayFlag(MonthDay.PREV_MONTH_DAY);
         } else if (currentDays >= totalDays + delta) {
@@ -132,7 +154,7 @@ class Month implements Parcelable {
    * @return {@link MonthDay}
    */
   protected MonthDay getMonthDay(int index) {
-    return monthDayList.size() <= index ? null : monthDayList.get(index);
+    return index < 0 || monthDayList.size() <= index ? null : monthDayList.get(index);
   }
 
   /**
@@ -182,7 +204,23 @@ class Month implements Parcelable {
   protected int getIndexOfDayInCurMonth(int day) {
     for (int i = 0; i < monthDayList.size(); i++) {
       MonthDay monthDay = monthDayList.get(i);
-      if (monthDay.isCheckable() && monthDay.getCalendar().get(Calendar.DAY_OF_MONTH) == day) {
+      if (monthDay.isCheckable() && monthDay.getDayOfMonth() == day) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Get the index of the first checkable day in current month, the days out of lunar
+   * calendar are not checkable.
+   *
+   * @return the index of first checkable day, -1 if no day is checkable
+   */
+  protected int getIndexOfFirstCheckableDay() {
+    for (int i = 0; i < monthDayList.size(); i++) {
+      if (monthDayList.get(i).isCheckable()) {
         return i;
       }
     }
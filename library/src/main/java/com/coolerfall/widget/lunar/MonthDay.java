@@ -2,7 +2,6 @@ package com.coolerfall.widget.lunar;
 
 import android.os.Parcel;
 import android.os.Parcelable;
-import android.text.TextUtils;
 import java.util.Calendar;
 
 /**
@@ -14,13 +13,20 @@ public final class MonthDay implements Parcelable {
   protected static final int PREV_MONTH_DAY = 1;
   protected static final int NEXT_MONTH_DAY = 2;
 
+  /* the phase of the moon is not computed until drawn */
+  private static final int UNKNOWN_PHASE = -1;
+
   private int day;
-  private String lunarDay;
-  private boolean isHoliday;
   private boolean isWeekend;
   private boolean isCheckable = true;
   private boolean isToday;
   private int dayFlag;
+  private int moonPhase = UNKNOWN_PHASE;
+  private int localeGeneration = -1;
+  private int holidayGeneration = -1;
+  private boolean isHoliday;
+  private String lunarLabel;
+  private long timeInMillis;
   private Calendar calendar;
   private Lunar lunar;
 
@@ -28,27 +34,33 @@ public final class MonthDay implements Parcelable {
    * The constructor of month day.
    *
    * @param calendar {@link Calendar}
+   * @throws IllegalArgumentException if the day is out of lunar calendar
    */
   public MonthDay(Calendar calendar) {
-    copy(calendar);
+    this(calendar.getTimeInMillis(), new Lunar(calendar.getTimeInMillis()));
+  }
 
-    day = this.calendar.get(Calendar.DAY_OF_MONTH);
-    int dayOfWeek = this.calendar.get(Calendar.DAY_OF_WEEK);
-    isWeekend = dayOfWeek == Calendar.SUNDAY || dayOfWeek == Calendar.SATURDAY;
-    isToday = isToday(this.calendar);
+  /**
+   * The constructor of month day with lunar calendar already resolved.
+   *
+   * @param timeInMillis the time in millisecond of current day
+   * @param lunar {@link Lunar} of the same day, null if out of lunar calendar
+   */
+  MonthDay(long timeInMillis, Lunar lunar) {
+    this.timeInMillis = timeInMillis;
+    this.lunar = lunar;
 
-    String lunarDay =
-        lunar.getLunarDayNum() == 1 ? lunar.getLunarMonth() + "月" : lunar.getLunarDay();
-    String lunarHoliday = lunar.getLunarHoliday();
-    String solarHoliday = lunar.getSolarHolidy();
-    String holiday = TextUtils.isEmpty(lunarHoliday) ? solarHoliday : lunarHoliday;
-    String solarTerm = lunar.getSolarTerm();
+    if (lunar == null) {
+      day = getCalendar().get(Calendar.DAY_OF_MONTH);
+      int dayOfWeek = calendar.get(Calendar.DAY_OF_WEEK);
+      isWeekend = dayOfWeek == Calendar.SUNDAY || dayOfWeek == Calendar.SATURDAY;
+      return;
+    }
 
-		/* if current day is a holiday or solar term, show first */
-    this.lunarDay =
-        TextUtils.isEmpty(holiday) ? (TextUtils.isEmpty(solarTerm) ? lunarDay : solarTerm)
-            : holiday;
-    isHoliday = !TextUtils.isEmpty(holiday) || !TextUtils.isEmpty(solarTerm);
+    day = lunar.getSolarDay();
+    int dayOfWeek = lunar.getDayOfWeek();
+    isWeekend = dayOfWeek == Calendar.SUNDAY || dayOfWeek == Calendar.SATURDAY;
+    isToday = lunar.isToday();
   }
 
   @Override public int describeContents() {
@@ -56,7 +68,7 @@ public final class MonthDay implements Parcelable {
   }
 
   @Override public void writeToParcel(Parcel dest, int flags) {
-    dest.writeLong(calendar.getTimeInMillis());
+    dest.writeLong(timeInMillis);
   }
 
   public static final Creator<MonthDay> CREATOR = new Creator<MonthDay>() {
@@ -71,25 +83,6 @@ public final class MonthDay implements Parcelable {
     }
   };
 
-  /* copy calendar to month day */
-  private void copy(Calendar calendar) {
-    this.calendar = Calendar.getInstance();
-    lunar = Lunar.newInstance();
-
-    this.calendar.setTimeInMillis(calendar.getTimeInMillis());
-    lunar.setTimeInMillis(calendar.getTimeInMillis());
-  }
-
-  /* to check if the given calendar was today */
-  private boolean isToday(Calendar calendar) {
-    Calendar today = Calendar.getInstance();
-    today.setTimeInMillis(System.currentTimeMillis());
-
-    return calendar.get(Calendar.YEAR) == today.get(Calendar.YEAR)
-        && calendar.get(Calendar.MONTH) == today.get(Calendar.MONTH)
-        && calendar.get(Calendar.DAY_OF_MONTH) == today.get(Calendar.DAY_OF_MONTH);
-  }
-
   /**
    * Get the string of solar day of current day.
    *
@@ -100,12 +93,59 @@ public final class MonthDay implements Parcelable {
   }
 
   /**
-   * Get the string of lunar day of current day.
+   * Get the day of month of current day.
+   *
+   * @return the day of month
+   */
+  protected int getDayOfMonth() {
+    return day;
+  }
+
+  /**
+   * Resolve the label and holiday flag of lunar day, they are resolved again only if the
+   * default {@link LunarLocale} or {@link HolidayCalendar} was changed since last time.
+   */
+  private void resolveLunarDay() {
+    int locale = LunarLocale.getGeneration();
+    int holidays = HolidayCalendar.getGeneration();
+    if (locale == localeGeneration && holidays == holidayGeneration) {
+      return;
+    }
+
+    localeGeneration = locale;
+    holidayGeneration = holidays;
+    if (lunar == null) {
+      isHoliday = false;
+      lunarLabel = "";
+      return;
+    }
+
+    /* if current day is a holiday or solar term, show first */
+    String holiday = lunar.getLunarHoliday();
+    if (holiday == null) {
+      holiday = lunar.getSolarHolidy();
+    }
+    if (holiday == null) {
+      holiday = lunar.getSolarTerm();
+    }
+
+    isHoliday = holiday != null;
+    if (isHoliday) {
+      lunarLabel = holiday;
+    } else {
+      lunarLabel = lunar.getLunarDayNum() == 1 ? lunar.getFullLunarMonth() : lunar.getLunarDay();
+    }
+  }
+
+  /**
+   * Get the string of lunar day of current day in default {@link LunarLocale}, it follows
+   * the locale and holidays set later.
    *
    * @return lunar day string
    */
   protected String getLunarDay() {
-    return lunarDay;
+    resolveLunarDay();
+    return lunarLabel;
   }
 
   /**
@@ -123,16 +163,44 @@ public final class MonthDay implements Parcelable {
    * @return true if was holiday, otherwise return false
    */
   protected boolean isHoliday() {
+    resolveLunarDay();
     return isHoliday;
   }
 
+  /**
+   * Get the phase of the moon of current day, computed when first called.
+   *
+   * @return the phase in {@link MoonPhase}
+   * @throws IllegalStateException if the day is out of lunar calendar
+   */
+  public int getMoonPhase() {
+    if (lunar == null) {
+      throw new IllegalStateException("Day out of lunar calendar");
+    }
+    if (moonPhase == UNKNOWN_PHASE) {
+      moonPhase = MoonPhase.getPhaseOfDay(lunar.getEpochDay());
+    }
+
+    return moonPhase;
+  }
+
+  /**
+   * Get the adjusted type of current day, this will be {@link AdjustedDays#NORMAL}
+   * until the year was loaded.
+   *
+   * @return the type in {@link AdjustedDays}
+   */
+  protected int getAdjustedType() {
+    return lunar == null ? AdjustedDays.NORMAL : AdjustedDays.getDayType(lunar.getEpochDay());
+  }
+
   /**
    * To check if current day if the first day in current month.
    *
    * @return true if was first day, otherwise return false
    */
   protected boolean isFirstDay() {
-    return calendar.get(Calendar.DAY_OF_MONTH) == 1 && isCheckable;
+    return day == 1 && isCheckable;
   }
 
   /**
@@ -186,13 +254,18 @@ public final class MonthDay implements Parcelable {
    * @return {@link Calendar}
    */
   public Calendar getCalendar() {
+    if (calendar == null) {
+      calendar = Calendar.getInstance();
+      calendar.setTimeInMillis(timeInMillis);
+    }
+
     return calendar;
   }
 
   /**
    * Get {@link Lunar} for current day.
    *
-   * @return {@link Lunar}
+   * @return {@link Lunar}, null if the day is out of lunar calendar
    */
   public Lunar getLunar() {
     return lunar;
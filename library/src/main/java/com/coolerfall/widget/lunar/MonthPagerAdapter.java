@@ -33,8 +33,13 @@ final class MonthPagerAdapter extends PagerAdapter {
     this.context = context;
     this.lunarView = lunarView;
 
-    mminMonth = new Month(1900, 0, 1);
-    maxMonth = new Month(2100, 11, 1);
+    /* from the month of the first day to the month of the last day in lunar calendar */
+    int packedMin = LunarConverter.toSolar(LunarAstronomy.MIN_EPOCH_DAY);
+    int packedMax = LunarConverter.toSolar(LunarAstronomy.MAX_EPOCH_DAY);
+    mminMonth = new Month(LunarConverter.getSolarYear(packedMin),
+        LunarConverter.getSolarMonth(packedMin), 1);
+    maxMonth = new Month(LunarConverter.getSolarYear(packedMax),
+        LunarConverter.getSolarMonth(packedMax), 1);
 
     calculateRange(mminMonth, maxMonth);
   }
@@ -97,7 +102,7 @@ final class MonthPagerAdapter extends PagerAdapter {
     int minMonth = minDate.getMonth();
     int maxYear = maxDate.getYear();
     int maxMonth = maxDate.getMonth();
-    totalCount = (maxYear - minYear) * 12 + maxMonth - minMonth;
+    totalCount = (maxYear - minYear) * 12 + maxMonth - minMonth + 1;
   }
 
   /**
@@ -123,7 +128,7 @@ final class MonthPagerAdapter extends PagerAdapter {
    * @return the index
    */
   protected int getIndexOfMonth(int year, int month) {
-    return (year - mminMonth.getYear()) * 12 + month;
+    return (year - mminMonth.getYear()) * 12 + month - mminMonth.getMonth();
   }
 
   /**
@@ -5,12 +5,13 @@ import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Path;
 import android.graphics.Rect;
+import android.graphics.RectF;
 import android.graphics.Region;
 import android.graphics.drawable.Drawable;
 import android.view.MotionEvent;
 import android.view.View;
-import java.util.Calendar;
 
 /**
  * Display one month with solar and lunar date on a calendar.
@@ -26,6 +27,7 @@ import java.util.Calendar;
   private float lunarTextSize;
   private float lunarOffset;
   private float circleRadius;
+  private float moonRadius;
 
   private Month month;
   private LunarView lunarView;
@@ -33,6 +35,7 @@ import java.util.Calendar;
   private final Region[][] monthWithFourWeeks = new Region[4][DAYS_IN_WEEK];
   private final Region[][] monthWithFiveWeeks = new Region[5][DAYS_IN_WEEK];
   private final Region[][] monthWithSixWeeks = new Region[6][DAYS_IN_WEEK];
+  private final Path[] moonPhasePaths = new Path[MoonPhase.COUNT];
   private Paint paint;
 
   /**
@@ -69,6 +72,9 @@ import java.util.Calendar;
 
     lunarOffset = (Math.abs(paint.ascent() + paint.descent()) + solarHeight + lunarHeight) / 3f;
 
+    moonRadius = lunarTextSize / 3f;
+    initMoonPhasePaths(moonRadius);
+
     initMonthRegion(monthWithFourWeeks, dayWidth, dayHeightInFourWeek);
     initMonthRegion(monthWithFiveWeeks, dayWidth, dayHeightInFiveWeek);
     initMonthRegion(monthWithSixWeeks, dayWidth, dayHeightInSixWeek);
@@ -118,11 +124,33 @@ import java.util.Calendar;
     paint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.DITHER_FLAG | Paint.LINEAR_TEXT_FLAG);
     paint.setTextAlign(Paint.Align.CENTER);
 
+    for (int i = 0; i < MoonPhase.COUNT; i++) {
+      moonPhasePaths[i] = new Path();
+    }
+
     if (month.isMonthOfToday()) {
       selectedIndex = month.getIndexOfToday();
     }
 
     setBackgroundColor(lunarView.getMonthBackgroundColor());
+    loadAdjustedDays();
+  }
+
+  /* load adjusted days of the years shown in this month in background */
+  private void loadAdjustedDays() {
+    AdjustedDays.OnLoadListener listener = new AdjustedDays.OnLoadListener() {
+      @Override public void onLoad(int year) {
+        postInvalidate();
+      }
+    };
+
+    int year = month.getYear();
+    AdjustedDays.loadAsync(year, listener);
+    if (month.getMonth() == 0) {
+      AdjustedDays.loadAsync(year - 1, listener);
+    } else if (month.getMonth() == 11) {
+      AdjustedDays.loadAsync(year + 1, listener);
+    }
   }
 
   /* init month region with the width and height of day */
@@ -136,6 +164,37 @@ import java.util.Calendar;
     }
   }
 
+  /* init the paths of the lit part of the moon centered at origin for all the phases */
+  private void initMoonPhasePaths(float radius) {
+    RectF circle = new RectF(-radius, -radius, radius, radius);
+    RectF terminator = new RectF();
+    for (int phase = 0; phase < MoonPhase.COUNT; phase++) {
+      Path path = moonPhasePaths[phase];
+      path.reset();
+      if (phase == MoonPhase.NEW_MOON) {
+        continue;
+      }
+
+      if (phase == MoonPhase.FULL_MOON) {
+        path.addCircle(0, 0, radius, Path.Direction.CW);
+        continue;
+      }
+
+      /* the lit limb is right when waxing, and the terminator is half of an ellipse */
+      boolean isWaxing = phase < MoonPhase.FULL_MOON;
+      float halfWidth = (float) (radius * Math.cos(Math.toRadians(phase * 45)));
+      path.moveTo(0, -radius);
+      path.arcTo(circle, 270, isWaxing ? 180 : -180);
+      if (Math.abs(halfWidth) < 0.01f) {
+        path.lineTo(0, -radius);
+      } else {
+        terminator.set(-Math.abs(halfWidth), -radius, Math.abs(halfWidth), radius);
+        path.arcTo(terminator, 90, (halfWidth > 0) == isWaxing ? -180 : 180);
+      }
+      path.close();
+    }
+  }
+
   /* get month region for current month */
   private Region[][] getMonthRegion() {
     int weeks = month.getWeeksInMonth();
@@ -158,6 +217,8 @@ import java.util.Calendar;
     drawBackground(canvas, rect, monthDay, xIndex, yIndex);
     drawSolarText(canvas, rect, monthDay);
     drawLunarText(canvas, rect, monthDay);
+    drawAdjustedBadge(canvas, rect, monthDay);
+    drawMoonPhase(canvas, rect, monthDay);
   }
 
   /* draw solar text in month view */
@@ -196,6 +257,51 @@ import java.util.Calendar;
     canvas.drawText(monthDay.getLunarDay(), rect.centerX(), rect.centerY() + lunarOffset, paint);
   }
 
+  /* draw badge for adjusted rest day or work day */
+  private void drawAdjustedBadge(Canvas canvas, Rect rect, MonthDay monthDay) {
+    if (monthDay == null) {
+      return;
+    }
+
+    int type = monthDay.getAdjustedType();
+    if (type == AdjustedDays.NORMAL) {
+      return;
+    }
+
+    if (!monthDay.isCheckable()) {
+      paint.setColor(lunarView.getUnCheckableColor());
+    } else if (type == AdjustedDays.REST) {
+      paint.setColor(lunarView.getHightlightColor());
+    } else {
+      paint.setColor(lunarView.getSolarTextColor());
+    }
+
+    paint.setTextSize(lunarTextSize);
+    LunarLabels labels = LunarLocale.getLabels();
+    canvas.drawText(type == AdjustedDays.REST ? labels.getRestBadge() : labels.getWorkBadge(),
+        rect.centerX() + circleRadius * 0.7f, rect.centerY() - circleRadius * 0.45f, paint);
+  }
+
+  /* draw the phase of the moon with the cached paths */
+  private void drawMoonPhase(Canvas canvas, Rect rect, MonthDay monthDay) {
+    if (monthDay == null || monthDay.getLunar() == null || !lunarView.getShowMoonPhase()) {
+      return;
+    }
+
+    float x = rect.centerX() - circleRadius * 0.7f;
+    float y = rect.centerY() - circleRadius * 0.45f - moonRadius;
+    paint.setColor(lunarView.getUnCheckableColor());
+    paint.setAlpha(0x40);
+    canvas.drawCircle(x, y, moonRadius, paint);
+
+    paint.setColor(
+        monthDay.isCheckable() ? lunarView.getMoonPhaseColor() : lunarView.getUnCheckableColor());
+    canvas.save();
+    canvas.translate(x, y);
+    canvas.drawPath(moonPhasePaths[monthDay.getMoonPhase()], paint);
+    canvas.restore();
+  }
+
   /* draw circle for selected day */
   private void drawBackground(Canvas canvas, Rect rect, MonthDay day, int xIndex, int yIndex) {
     if (day.isToday()) {
@@ -246,7 +352,7 @@ import java.util.Calendar;
           return;
         }
 
-        int day = monthDay.getCalendar().get(Calendar.DAY_OF_MONTH);
+        int day = monthDay.getDayOfMonth();
 
         if (monthDay.isCheckable()) {
           selectedIndex = i * DAYS_IN_WEEK + j;
@@ -269,6 +375,10 @@ import java.util.Calendar;
    */
   protected void performDayClick() {
     MonthDay monthDay = month.getMonthDay(selectedIndex);
+    if (monthDay == null) {
+      return;
+    }
+
     lunarView.dispatchDateClickListener(monthDay);
   }
 
@@ -284,6 +394,10 @@ import java.util.Calendar;
       int selectedDay = day == 0 ? 1 : day;
       selectedIndex = month.getIndexOfDayInCurMonth(selectedDay);
     }
+    if (selectedIndex == -1) {
+      /* the day is not in month or out of lunar calendar, select the first checkable day */
+      selectedIndex = month.getIndexOfFirstCheckableDay();
+    }
 
     invalidate();
 
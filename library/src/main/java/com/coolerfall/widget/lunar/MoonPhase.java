@@ -0,0 +1,128 @@
+package com.coolerfall.widget.lunar;
+
+/**
+ * The phase of the moon. The lunar day only approximates the phase, since the full moon may
+ * be on 14th to 17th, so the age of the moon is found with the table of new moons shared
+ * with the months of {@link LunarAstronomy}, and the illuminated fraction is computed with
+ * the elongation of the moon from the sun.
+ * <p>
+ * The new moon is on the first day of lunar month, except the 4 months in the table of
+ * {@link LunarConverter} starting one day after the new moon(see {@link LunarAstronomy}),
+ * and each of first quarter, full moon and last quarter is on the day in China when it
+ * happens, other days are in the phases between them.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public final class MoonPhase {
+  /** The phase of new moon. */
+  public static final int NEW_MOON = 0;
+  /** The phase of waxing crescent. */
+  public static final int WAXING_CRESCENT = 1;
+  /** The phase of first quarter. */
+  public static final int FIRST_QUARTER = 2;
+  /** The phase of waxing gibbous. */
+  public static final int WAXING_GIBBOUS = 3;
+  /** The phase of full moon. */
+  public static final int FULL_MOON = 4;
+  /** The phase of waning gibbous. */
+  public static final int WANING_GIBBOUS = 5;
+  /** The phase of last quarter. */
+  public static final int LAST_QUARTER = 6;
+  /** The phase of waning crescent. */
+  public static final int WANING_CRESCENT = 7;
+
+  /** The count of phases. */
+  public static final int COUNT = 8;
+
+  private static final double MILLIS_IN_DAY = 86400000.0;
+  private static final int MINUTES_IN_DAY = 1440;
+
+  private MoonPhase() {
+
+  }
+
+  /* convert the time in millisecond into Julian day, the difference from Terrestrial Time
+   * (about one minute) is too small for the phase of the moon */
+  private static double toJulianDay(long millisec) {
+    return Astronomy.JD_EPOCH + millisec / MILLIS_IN_DAY;
+  }
+
+  /* get the Julian day in Universal Time of the start of the day in China */
+  private static double getStartOfDay(int epochDay) {
+    double jd = Astronomy.JD_EPOCH + epochDay;
+    return jd - LunarAstronomy.getLocalOffset(jd);
+  }
+
+  /**
+   * Get the age of the moon, which is the days since last new moon.
+   *
+   * @param millisec the time in millisecond
+   * @return the age of the moon in days, from 0 to about 29.8
+   */
+  public static double getAge(long millisec) {
+    double jd = toJulianDay(millisec);
+    double minutes =
+        (jd + LunarAstronomy.getLocalOffset(jd) - Astronomy.JD_EPOCH) * MINUTES_IN_DAY;
+    int k = Astronomy.lunation(jd);
+    while (LunarAstronomy.getNewMoonMinute(k) > minutes) {
+      k--;
+    }
+    while (LunarAstronomy.getNewMoonMinute(k + 1) <= minutes) {
+      k++;
+    }
+
+    return (minutes - LunarAstronomy.getNewMoonMinute(k)) / MINUTES_IN_DAY;
+  }
+
+  /**
+   * Get the illuminated fraction of the disk of the moon.
+   *
+   * @param millisec the time in millisecond
+   * @return the illuminated fraction from 0 to 1
+   */
+  public static double getIlluminatedFraction(long millisec) {
+    return (1 - Math.cos(Math.toRadians(Astronomy.moonElongation(toJulianDay(millisec))))) / 2;
+  }
+
+  /**
+   * Get the phase of the moon at the given time, the principal phases are the 45 degrees
+   * around them.
+   *
+   * @param millisec the time in millisecond
+   * @return the phase, such as {@link #FULL_MOON}
+   */
+  public static int getPhase(long millisec) {
+    return (int) ((Astronomy.moonElongation(toJulianDay(millisec)) + 22.5) / 45) % COUNT;
+  }
+
+  /**
+   * Get the phase of the moon on the given day in China.
+   *
+   * @param epochDay epoch day
+   * @return the phase, such as {@link #FULL_MOON}
+   */
+  public static int getPhaseOfDay(int epochDay) {
+    double start = getStartOfDay(epochDay);
+    int k = Astronomy.lunation(start + 0.5);
+    for (int i = k - 1; i <= k + 1; i++) {
+      if (LunarConverter.floorDiv(LunarAstronomy.getNewMoonMinute(i), MINUTES_IN_DAY) == epochDay) {
+        return NEW_MOON;
+      }
+    }
+
+    /* the elongation increases about 12 degrees in one day */
+    double from = Astronomy.moonElongation(start);
+    double to = Astronomy.moonElongation(getStartOfDay(epochDay + 1));
+    if (to < from) {
+      to += 360;
+    }
+    for (int phase = FIRST_QUARTER; phase < COUNT; phase += 2) {
+      if (from < phase * 45 && to >= phase * 45) {
+        return phase;
+      }
+    }
+
+    /* the phase between principal phases, the end of day beyond 360 is still waning */
+    return Math.min((int) (from + to) / 180 * 2 + 1, WANING_CRESCENT);
+  }
+}
@@ -0,0 +1,269 @@
+package com.coolerfall.widget.lunar;
+
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The 24 solar terms. The exact times of solar terms are computed from the longitude of
+ * the sun, all the solar terms of one year are computed together when the year is queried
+ * first time and kept in a table, so all the queries after that are table lookup.
+ * <p>
+ * The day of solar term is the day in China when the exact time is, so the day and the
+ * time of solar term never disagree. The years out of the range from {@link #MIN_YEAR} to
+ * {@link #MAX_YEAR} fall back to the mean tropical year, which may be one day off.
+ * <p>
+ * A solar term is identified by {@code (year - MIN_YEAR) * 24 + index}, which keeps
+ * the order of solar terms, see {@link #getYear(int)} and {@link #getIndex(int)}.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public final class SolarTerm {
+  /** The count of solar terms in one year. */
+  public static final int COUNT = 24;
+
+  /** The first year of solar terms computed, the same as {@link LunarAstronomy#MIN_YEAR}. */
+  public static final int MIN_YEAR = LunarAstronomy.MIN_YEAR;
+
+  /** The last year of solar terms computed, the last lunar year ends in this year. */
+  public static final int MAX_YEAR = LunarAstronomy.MAX_YEAR + 1;
+
+  /* the time of the first solar term in 1900, 1900-01-06 02:05:00 UTC */
+  private static final long SOLAR_TERM_BASE =
+      LunarConverter.toEpochDay(1900, 0, 6) * 86400000L + (2 * 60 + 5) * 60000L;
+
+  private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+  /* solar terms information */
+  private static final int[] SOLAR_TERM_INFO = {
+      0, 21208, 42467, 63836, 85337, 107014, 128867, 150921, 173149, 195551, 218072, 240693, 263343,
+      285989, 308563, 331033, 353350, 375494, 397447, 419210, 440795, 462224, 483532, 504758
+  };
+
+  /* | day of month(0 - 23) | minutes since epoch(24 - 47) | of solar terms in each year,
+   * the month of solar term is always index / 2 */
+  private static final AtomicReferenceArray<int[]> TERMS =
+      new AtomicReferenceArray<>(MAX_YEAR - MIN_YEAR + 1);
+
+  private SolarTerm() {
+
+  }
+
+  /**
+   * Compute the epoch day of solar term in Coordinated Universal Time with the mean
+   * tropical year, only for the years out of {@link LunarAstronomy}.
+   *
+   * @param year the specified solar year
+   * @param index the index of solar term
+   * @return epoch day of solar term
+   */
+  private static int computeEpochDay(int year, int index) {
+    long millisec = (long) 31556925974.7 * (year - 1900) + SOLAR_TERM_INFO[index] * 60000L;
+    return LunarConverter.toEpochDay(millisec + SOLAR_TERM_BASE, UTC);
+  }
+
+  /**
+   * Get the name of solar term in default {@link LunarLocale}.
+   *
+   * @param index the index of solar term, 0 is 小寒
+   * @return the name of solar term
+   */
+  public static String getName(int index) {
+    return LunarLocale.getLabels().getSolarTerm(index);
+  }
+
+  /**
+   * Get the day of month of solar term, the month of solar term is {@code index / 2}.
+   *
+   * @param year the specified solar year
+   * @param index the index of solar term
+   * @return the day of solar term
+   */
+  public static int getDay(int year, int index) {
+    if (year < MIN_YEAR || year > MAX_YEAR) {
+      return LunarConverter.getSolarDay(LunarConverter.toSolar(computeEpochDay(year, index)));
+    }
+
+    return getTerms(year)[index];
+  }
+
+  /**
+   * Get the exact time of solar term to the minute. The times of all the solar terms in
+   * the year are computed when the year is queried first time, then it's table lookup.
+   *
+   * @param year the specified solar year, from {@link #MIN_YEAR} to {@link #MAX_YEAR}
+   * @param index the index of solar term
+   * @return the time in millisecond
+   * @throws IllegalArgumentException if the year is out of range
+   */
+  public static long getTimeInMillis(int year, int index) {
+    if (year < MIN_YEAR || year > MAX_YEAR) {
+      throw new IllegalArgumentException("Year out of range: " + year);
+    }
+
+    return getTerms(year)[COUNT + index] * 60000L;
+  }
+
+  /**
+   * Get the exact time of solar term with the id of solar term.
+   *
+   * @param term the id of solar term
+   * @return the time in millisecond
+   */
+  public static long getTimeInMillis(int term) {
+    return getTimeInMillis(getYear(term), getIndex(term));
+  }
+
+  /* get the days and times of solar terms in the year, compute if not computed yet */
+  private static int[] getTerms(int year) {
+    /* computed solar terms never change, it's fine if computed more than once in racing */
+    int[] terms = TERMS.get(year - MIN_YEAR);
+    if (terms == null) {
+      terms = new int[COUNT * 2];
+      for (int index = 0; index < COUNT; index++) {
+        double jde = LunarAstronomy.getSolarTermTime(year, index);
+        int packedSolar = LunarConverter.toSolar(LunarAstronomy.getLocalEpochDay(jde));
+        terms[index] = LunarConverter.getSolarDay(packedSolar);
+        terms[COUNT + index] = LunarAstronomy.getUniversalMinute(jde);
+      }
+      TERMS.set(year - MIN_YEAR, terms);
+    }
+
+    return terms;
+  }
+
+  /**
+   * Get the epoch day of solar term.
+   *
+   * @param year the specified solar year
+   * @param index the index of solar term
+   * @return epoch day of solar term
+   */
+  public static int getEpochDay(int year, int index) {
+    return LunarConverter.toEpochDay(year, index / 2, getDay(year, index));
+  }
+
+  /**
+   * Get the epoch day of solar term with the id of solar term.
+   *
+   * @param term the id of solar term
+   * @return epoch day of solar term
+   */
+  public static int getEpochDay(int term) {
+    return getEpochDay(getYear(term), getIndex(term));
+  }
+
+  /**
+   * Get the id of solar term.
+   *
+   * @param year the specified solar year
+   * @param index the index of solar term
+   * @return the id of solar term
+   */
+  public static int getTerm(int year, int index) {
+    return (year - MIN_YEAR) * COUNT + index;
+  }
+
+  /**
+   * Get the year of solar term id.
+   *
+   * @param term the id of solar term
+   * @return the year
+   */
+  public static int getYear(int term) {
+    return term / COUNT + MIN_YEAR;
+  }
+
+  /**
+   * Get the index of solar term id.
+   *
+   * @param term the id of solar term
+   * @return the index of solar term in one year
+   */
+  public static int getIndex(int term) {
+    return term % COUNT;
+  }
+
+  /**
+   * Get the index of solar term on the given day.
+   *
+   * @param epochDay epoch day
+   * @return the index of solar term, otherwise return -1 if was not solar term
+   */
+  public static int getIndexOfDay(int epochDay) {
+    int packedSolar = LunarConverter.toSolar(epochDay);
+    return getIndexOfDay(LunarConverter.getSolarYear(packedSolar),
+        LunarConverter.getSolarMonth(packedSolar), LunarConverter.getSolarDay(packedSolar));
+  }
+
+  /**
+   * Get the index of solar term on the given day.
+   *
+   * @param year the year
+   * @param month the month, based-on 0
+   * @param day the day
+   * @return the index of solar term, otherwise return -1 if was not solar term
+   */
+  public static int getIndexOfDay(int year, int month, int day) {
+    if (getDay(year, month * 2) == day) {
+      return month * 2;
+    } else if (getDay(year, month * 2 + 1) == day) {
+      return month * 2 + 1;
+    }
+
+    return -1;
+  }
+
+  /**
+   * Find the first solar term after the given day.
+   *
+   * @param epochDay epoch day
+   * @return the id of solar term, otherwise return -1 if out of range
+   */
+  public static int findNext(int epochDay) {
+    int packedSolar = LunarConverter.toSolar(epochDay);
+    int year = LunarConverter.getSolarYear(packedSolar);
+    int month = LunarConverter.getSolarMonth(packedSolar);
+    int term = Math.max(0, getTerm(year, month * 2));
+    int maxTerm = getTerm(MAX_YEAR, COUNT - 1);
+
+    /* solar terms of current month or the first one in next month */
+    while (term <= maxTerm && getEpochDay(term) <= epochDay) {
+      term++;
+    }
+
+    return term <= maxTerm ? term : -1;
+  }
+
+  /**
+   * Find the last solar term on or before the given day, which is the solar term
+   * the given day belongs to.
+   *
+   * @param epochDay epoch day
+   * @return the id of solar term, otherwise return -1 if out of range
+   */
+  public static int findPrevious(int epochDay) {
+    int packedSolar = LunarConverter.toSolar(epochDay);
+    int year = LunarConverter.getSolarYear(packedSolar);
+    int month = LunarConverter.getSolarMonth(packedSolar);
+    int term = Math.min(getTerm(year, month * 2 + 1), getTerm(MAX_YEAR, COUNT - 1));
+
+    /* solar terms of current month or the last one in previous month */
+    while (term >= 0 && getEpochDay(term) > epochDay) {
+      term--;
+    }
+
+    return term >= 0 ? term : -1;
+  }
+
+  /**
+   * Get the epoch days of all the solar terms in the given year.
+   *
+   * @param year the specified solar year
+   * @param epochDays the array to fill, the length should be {@link #COUNT} at least
+   */
+  public static void getEpochDaysInYear(int year, int[] epochDays) {
+    for (int index = 0; index < COUNT; index++) {
+      epochDays[index] = getEpochDay(year, index);
+    }
+  }
+}
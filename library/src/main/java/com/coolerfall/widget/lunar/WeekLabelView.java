@@ -16,7 +16,6 @@ import android.view.View;
  */
 final class WeekLabelView extends View {
   private static final int DAYS_IN_WEEK = 7;
-  private static final String[] CHINESE_WEEK = { "日", "一", "二", "三", "四", "五", "六" };
   private final Region[] weekRegion = new Region[DAYS_IN_WEEK];
   private Paint paint;
 
@@ -53,10 +52,11 @@ final class WeekLabelView extends View {
     super.onDraw(canvas);
 
     Paint.FontMetrics fm = paint.getFontMetrics();
+    LunarLabels labels = LunarLocale.getLabels();
     for (int i = 0; i < DAYS_IN_WEEK; i++) {
       Rect rect = weekRegion[i].getBounds();
       float centerY = rect.height() / 2 - fm.descent + (fm.descent - fm.ascent) / 2;
-      canvas.drawText(CHINESE_WEEK[i], rect.centerX(), centerY, paint);
+      canvas.drawText(labels.getDayOfWeek(i), rect.centerX(), centerY, paint);
     }
   }
 
@@ -0,0 +1,117 @@
+package com.coolerfall.widget.lunar;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Calendar;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link AdjustedDays} with the bundled data file. The years are loaded into static
+ * state, so every test uses its own years.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public class AdjustedDaysTest {
+  private static int getDayType(int year, int month, int day) {
+    return AdjustedDays.getDayType(LunarConverter.toEpochDay(year, month, day));
+  }
+
+  @Test public void testDayTypesOf2024() {
+    AdjustedDays.load(2024);
+    assertTrue(AdjustedDays.isLoaded(2024));
+
+    /* the Spring Festival, with the Sunday before and the Sunday after to work */
+    assertEquals(AdjustedDays.WORK, getDayType(2024, Calendar.FEBRUARY, 4));
+    assertEquals(AdjustedDays.NORMAL, getDayType(2024, Calendar.FEBRUARY, 9));
+    for (int day = 10; day <= 17; day++) {
+      assertEquals("2024-02-" + day, AdjustedDays.REST, getDayType(2024, Calendar.FEBRUARY, day));
+    }
+    assertEquals(AdjustedDays.WORK, getDayType(2024, Calendar.FEBRUARY, 18));
+
+    /* a weekend and a weekday which were not adjusted */
+    assertEquals(AdjustedDays.NORMAL, getDayType(2024, Calendar.MARCH, 2));
+    assertEquals(AdjustedDays.NORMAL, getDayType(2024, Calendar.MARCH, 4));
+
+    /* the National Day */
+    assertEquals(AdjustedDays.WORK, getDayType(2024, Calendar.SEPTEMBER, 29));
+    assertEquals(AdjustedDays.REST, getDayType(2024, Calendar.OCTOBER, 1));
+    assertEquals(AdjustedDays.REST, getDayType(2024, Calendar.OCTOBER, 7));
+    assertEquals(AdjustedDays.NORMAL, getDayType(2024, Calendar.OCTOBER, 8));
+    assertEquals(AdjustedDays.WORK, getDayType(2024, Calendar.OCTOBER, 12));
+    assertEquals(AdjustedDays.NORMAL, getDayType(2024, Calendar.DECEMBER, 31));
+
+    int rest = 0;
+    int work = 0;
+    int start = LunarConverter.toEpochDay(2024, Calendar.JANUARY, 1);
+    for (int epochDay = start; epochDay < start + 366; epochDay++) {
+      int type = AdjustedDays.getDayType(epochDay);
+      rest += type == AdjustedDays.REST ? 1 : 0;
+      work += type == AdjustedDays.WORK ? 1 : 0;
+    }
+    assertEquals(30, rest);
+    assertEquals(8, work);
+  }
+
+  @Test public void testNormalUntilLoaded() {
+    assertFalse(AdjustedDays.isLoaded(2022));
+    assertEquals(AdjustedDays.NORMAL, getDayType(2022, Calendar.JANUARY, 31));
+
+    AdjustedDays.load(2022);
+    assertEquals(AdjustedDays.REST, getDayType(2022, Calendar.JANUARY, 31));
+    assertEquals(AdjustedDays.REST, getDayType(2022, Calendar.DECEMBER, 31));
+    assertEquals(AdjustedDays.WORK, getDayType(2022, Calendar.JANUARY, 29));
+  }
+
+  @Test public void testLoadAsync() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(1);
+    final int[] loaded = new int[1];
+    AdjustedDays.loadAsync(2025, new AdjustedDays.OnLoadListener() {
+      @Override public void onLoad(int year) {
+        loaded[0] = year;
+        latch.countDown();
+      }
+    });
+
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    assertEquals(2025, loaded[0]);
+    assertTrue(AdjustedDays.isLoaded(2025));
+    assertEquals(AdjustedDays.REST, getDayType(2025, Calendar.JANUARY, 28));
+    assertEquals(AdjustedDays.WORK, getDayType(2025, Calendar.JANUARY, 26));
+  }
+
+  @Test public void testMalformedLines() throws Exception {
+    Method parse = AdjustedDays.class.getDeclaredMethod("parse", int.class, String.class);
+    parse.setAccessible(true);
+    Field field = AdjustedDays.class.getDeclaredField("EMPTY");
+    field.setAccessible(true);
+    Object empty = field.get(null);
+
+    assertNotSame(empty, parse.invoke(null, 2024, "0101,0210-0217;0204"));
+    String[] lines = {"01O1;0204", "0101-;0204", "1230-0102", "0101;0230", "1301", "0100"};
+    for (String line : lines) {
+      assertSame(line, empty, parse.invoke(null, 2024, line));
+    }
+  }
+
+  @Test public void testYearsWithoutData() {
+    AdjustedDays.load(2018);
+    assertTrue(AdjustedDays.isLoaded(2018));
+    int start = LunarConverter.toEpochDay(2018, Calendar.JANUARY, 1);
+    for (int epochDay = start; epochDay < start + 365; epochDay++) {
+      assertEquals(AdjustedDays.NORMAL, AdjustedDays.getDayType(epochDay));
+    }
+
+    /* years out of range are always loaded and normal */
+    assertTrue(AdjustedDays.isLoaded(1800));
+    AdjustedDays.load(1800);
+    assertEquals(AdjustedDays.NORMAL, getDayType(1800, Calendar.JANUARY, 1));
+  }
+}
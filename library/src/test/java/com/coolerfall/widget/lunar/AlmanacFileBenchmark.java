@@ -0,0 +1,90 @@
+package com.coolerfall.widget.lunar;
+
+import java.io.File;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Benchmark of reading random days from a memory-mapped {@link AlmanacFile} against
+ * computing the same fields with {@link Lunar}.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public class AlmanacFileBenchmark {
+  private static final int COUNT = 100000;
+  private static final int START = LunarConverter.MIN_EPOCH_DAY;
+  private static final int END = LunarConverter.MAX_EPOCH_DAY;
+
+  private final int[] epochDays = new int[COUNT];
+  private File file;
+
+  @Before public void setUp() throws Exception {
+    Benchmark.assumeEnabled();
+    Random random = new Random(1900);
+    for (int i = 0; i < COUNT; i++) {
+      epochDays[i] = START + random.nextInt(END - START + 1);
+    }
+
+    file = File.createTempFile("almanac", ".bin");
+    long start = System.nanoTime();
+    AlmanacFile.generate(file, START, END);
+    System.out.printf("AlmanacFile generate %.1f ms, %d bytes%n",
+        (System.nanoTime() - start) / 1e6, file.length());
+  }
+
+  @After public void tearDown() {
+    if (file != null) {
+      file.delete();
+    }
+  }
+
+  @Test public void benchmarkAlmanacFile() throws Exception {
+    final AlmanacFile almanac = AlmanacFile.open(file);
+    try {
+      Benchmark.measure("AlmanacFile random day", COUNT, new Benchmark.Body() {
+        @Override public long run() {
+          long result = 0;
+          for (int epochDay : epochDays) {
+            result += almanac.getPackedLunar(epochDay) + almanac.getCyclicalDay(epochDay)
+                + almanac.getTwentyEightStar(epochDay).length();
+          }
+
+          return result;
+        }
+      });
+
+      Lunar lunar = new Lunar();
+      for (int i = 0; i < COUNT; i += 101) {
+        int packedSolar = LunarConverter.toSolar(epochDays[i]);
+        lunar.setDate(LunarConverter.getSolarYear(packedSolar),
+            LunarConverter.getSolarMonth(packedSolar), LunarConverter.getSolarDay(packedSolar));
+        assertEquals("day " + epochDays[i], lunar.getTwentyEightStar(),
+            almanac.getTwentyEightStar(epochDays[i]));
+      }
+    } finally {
+      almanac.close();
+    }
+  }
+
+  @Test public void benchmarkLunar() throws Exception {
+    final Lunar lunar = new Lunar();
+    Benchmark.measure("Lunar random day", COUNT, new Benchmark.Body() {
+      @Override public long run() {
+        long result = 0;
+        for (int epochDay : epochDays) {
+          int packedSolar = LunarConverter.toSolar(epochDay);
+          lunar.setDate(LunarConverter.getSolarYear(packedSolar),
+              LunarConverter.getSolarMonth(packedSolar), LunarConverter.getSolarDay(packedSolar));
+          result += lunar.getLunarDayNum() + lunar.getHeavenlyAndEarthly()
+              + lunar.getTwentyEightStar().length();
+        }
+
+        return result;
+      }
+    });
+  }
+}
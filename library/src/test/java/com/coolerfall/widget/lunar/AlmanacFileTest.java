@@ -0,0 +1,122 @@
+package com.coolerfall.widget.lunar;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Calendar;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests of reading {@link AlmanacFile}, the corrupted files are rejected when opened.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public class AlmanacFileTest {
+  private static final int START = LunarConverter.toEpochDay(2024, Calendar.JANUARY, 1);
+  private static final int END = LunarConverter.toEpochDay(2024, Calendar.DECEMBER, 31);
+
+  private File file;
+
+  @Before public void setUp() throws Exception {
+    file = File.createTempFile("almanac", ".bin");
+    AlmanacFile.generate(file, START, END);
+  }
+
+  @After public void tearDown() {
+    file.delete();
+  }
+
+  /* get the offset of the end offsets of strings */
+  private int getEndOffsetsOffset() throws IOException {
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+    try {
+      randomAccessFile.seek(16);
+      return randomAccessFile.readInt() + 4;
+    } finally {
+      randomAccessFile.close();
+    }
+  }
+
+  /* overwrite an integer in file */
+  private void writeInt(long offset, int value) throws IOException {
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+    try {
+      randomAccessFile.seek(offset);
+      randomAccessFile.writeInt(value);
+    } finally {
+      randomAccessFile.close();
+    }
+  }
+
+  private void assertCorrupted() {
+    try {
+      AlmanacFile.open(file).close();
+      fail("Corrupted file should be rejected");
+    } catch (IOException e) {
+      assertEquals("Corrupted almanac file", e.getMessage());
+    }
+  }
+
+  @Test public void testReadMatchesLunar() throws Exception {
+    AlmanacFile almanac = AlmanacFile.open(file);
+    try {
+      Lunar lunar = new Lunar();
+      for (int epochDay = START; epochDay <= END; epochDay++) {
+        int packedSolar = LunarConverter.toSolar(epochDay);
+        lunar.setDate(LunarConverter.getSolarYear(packedSolar),
+            LunarConverter.getSolarMonth(packedSolar), LunarConverter.getSolarDay(packedSolar));
+        assertEquals("day " + epochDay, LunarDate.from(lunar).toPacked(),
+            almanac.getPackedLunar(epochDay));
+        assertEquals("day " + epochDay, lunar.getTwentyEightStar(),
+            almanac.getTwentyEightStar(epochDay));
+        assertEquals("day " + epochDay, lunar.getLunarHoliday(),
+            almanac.getLunarHoliday(epochDay));
+      }
+    } finally {
+      almanac.close();
+    }
+  }
+
+  @Test public void testDecreasingEndOffset() throws Exception {
+    writeInt(getEndOffsetsOffset() + 4, 0);
+    assertCorrupted();
+  }
+
+  @Test public void testEndOffsetOutOfPool() throws Exception {
+    int offset = getEndOffsetsOffset();
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+    int count;
+    try {
+      randomAccessFile.seek(offset - 4);
+      count = randomAccessFile.readInt();
+    } finally {
+      randomAccessFile.close();
+    }
+
+    assertTrue(count > 0);
+    writeInt(offset + (count - 1) * 4, Integer.MAX_VALUE);
+    assertCorrupted();
+  }
+
+  @Test public void testNegativeEndOffset() throws Exception {
+    writeInt(getEndOffsetsOffset(), -1);
+    assertCorrupted();
+  }
+
+  @Test public void testTruncatedFile() throws Exception {
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+    try {
+      randomAccessFile.setLength(randomAccessFile.length() - 1);
+    } finally {
+      randomAccessFile.close();
+    }
+
+    assertCorrupted();
+  }
+}
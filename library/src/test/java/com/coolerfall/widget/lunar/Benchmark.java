@@ -0,0 +1,73 @@
+package com.coolerfall.widget.lunar;
+
+import org.junit.Assume;
+
+/**
+ * A minimal harness for the microbenchmarks. The benchmarks are skipped unless the tests are
+ * run with {@code -Dbenchmark=true}, e.g.:
+ * <pre>
+ * ./gradlew :library:testDebugUnitTest -Dbenchmark=true --tests '*Benchmark'
+ * </pre>
+ * Every body is run a few rounds to warm up JIT, then the best of the measured rounds is
+ * reported, the result of body is accumulated so the work can not be eliminated.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+final class Benchmark {
+  private static final int WARM_UP_ROUNDS = 5;
+  private static final int MEASURED_ROUNDS = 5;
+
+  /* keep the results of bodies alive */
+  static volatile long sink;
+
+  private Benchmark() {
+
+  }
+
+  /**
+   * The body to measure.
+   */
+  interface Body {
+    /**
+     * Run the body once.
+     *
+     * @return any result depends on the work
+     */
+    long run() throws Exception;
+  }
+
+  /**
+   * Skip current test unless benchmarks are enabled.
+   */
+  static void assumeEnabled() {
+    Assume.assumeTrue("Benchmarks are disabled, run with -Dbenchmark=true",
+        Boolean.getBoolean("benchmark"));
+  }
+
+  /**
+   * Measure the body and print the result.
+   *
+   * @param name the name of benchmark
+   * @param operations the count of operations in one run of body
+   * @param body the body to measure
+   * @return the best nanoseconds per operation
+   */
+  static double measure(String name, int operations, Body body) throws Exception {
+    long result = 0;
+    for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+      result += body.run();
+    }
+
+    long best = Long.MAX_VALUE;
+    for (int i = 0; i < MEASURED_ROUNDS; i++) {
+      long start = System.nanoTime();
+      result += body.run();
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    sink = result;
+
+    double nanos = (double) best / operations;
+    System.out.printf("%-40s %10.1f ns/op %12.0f ops/s%n", name, nanos, 1e9 / nanos);
+    return nanos;
+  }
+}
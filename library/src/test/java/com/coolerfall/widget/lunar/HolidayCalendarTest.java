@@ -0,0 +1,101 @@
+package com.coolerfall.widget.lunar;
+
+import java.util.Calendar;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of compiling {@link HolidayRule} into {@link HolidayCalendar}, including the rules
+ * which move the holiday into another year.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public class HolidayCalendarTest {
+  /* 冬至 and 小寒 */
+  private static final int WINTER_SOLSTICE = 23;
+  private static final int MINOR_COLD = 0;
+
+  /* count the days of holiday with the given id in the year */
+  private static int countInYear(HolidayCalendar calendar, int year, int id) {
+    int count = 0;
+    for (long holiday : calendar.getHolidaysInYear(year)) {
+      count += (int) holiday == id ? 1 : 0;
+    }
+
+    return count;
+  }
+
+  @Test public void testSolarTermRulesAcrossYears() {
+    HolidayCalendar calendar = new HolidayCalendar(
+        HolidayRule.solarTerm(WINTER_SOLSTICE, 15, "after"),
+        HolidayRule.solarTerm(MINOR_COLD, -15, "before"));
+
+    for (int year = 1901; year < 2100; year++) {
+      /* 15 days after 冬至 is in January of next year */
+      int after = SolarTerm.getEpochDay(year, WINTER_SOLSTICE) + 15;
+      assertEquals(Calendar.JANUARY, LunarConverter.getSolarMonth(LunarConverter.toSolar(after)));
+      assertEquals("after " + year, 0, calendar.getHolidayId(after));
+      assertEquals("after " + year, 0, calendar.getSolarHolidayId(after));
+      assertEquals(-1, calendar.getHolidayId(after - 1));
+
+      /* 15 days before 小寒 is in December of last year */
+      int before = SolarTerm.getEpochDay(year, MINOR_COLD) - 15;
+      assertEquals(Calendar.DECEMBER,
+          LunarConverter.getSolarMonth(LunarConverter.toSolar(before)));
+      assertEquals("before " + year, 1, calendar.getHolidayId(before));
+
+      assertEquals(1, countInYear(calendar, year, 0));
+      assertEquals(1, countInYear(calendar, year, 1));
+    }
+  }
+
+  @Test public void testLunarRulesInLastLunarYear() {
+    HolidayCalendar calendar = HolidayCalendar.getDefault();
+
+    /* 腊八节 of lunar 2023 is in January of 2024 */
+    int epochDay = LunarConverter.toEpochDay(2024, Calendar.JANUARY, 18);
+    int id = calendar.getLunarHolidayId(epochDay);
+    assertEquals("腊八节", calendar.getRule(id).getName());
+    assertEquals(-1, calendar.getSolarHolidayId(epochDay));
+
+    /* 春节 of 2024 */
+    id = calendar.getHolidayId(LunarConverter.toEpochDay(2024, Calendar.FEBRUARY, 10));
+    assertEquals("春节", calendar.getRule(id).getName());
+  }
+
+  @Test public void testMaxRuleCount() {
+    /* the 29th of 11th and the 1st of 12th lunar month are twice in 2024, so there are more
+     * than 32767 holidays before December 31st */
+    HolidayRule[] rules = new HolidayRule[HolidayCalendar.MAX_RULE_COUNT];
+    int half = rules.length / 2;
+    for (int i = 0; i < rules.length; i++) {
+      rules[i] = i < half ? HolidayRule.lunar(12, 1, "rule " + i)
+          : HolidayRule.lunar(11, 29, "rule " + i);
+    }
+    HolidayCalendar calendar = new HolidayCalendar(rules);
+
+    int lastDay = LunarConverter.toEpochDay(2024, Calendar.DECEMBER, 31);
+    assertEquals(lastDay, LunarAstronomy.fromLunar(2024, 12, 1, false));
+    for (int epochDay : new int[] {LunarAstronomy.fromLunar(2023, 11, 29, false),
+        LunarAstronomy.fromLunar(2023, 12, 1, false),
+        LunarAstronomy.fromLunar(2024, 11, 29, false)}) {
+      assertEquals(2024, LunarConverter.getSolarYear(LunarConverter.toSolar(epochDay)));
+      assertTrue(calendar.getHolidayId(epochDay) >= 0);
+    }
+
+    assertEquals(rules.length * 2, calendar.getHolidaysInYear(2024).length);
+    assertEquals(0, calendar.getHolidayId(lastDay));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooManyRules() {
+    new HolidayCalendar(new HolidayRule[HolidayCalendar.MAX_RULE_COUNT + 1]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOffsetMoreThanOneYear() {
+    HolidayRule.solarTerm(WINTER_SOLSTICE, 366, "too far");
+  }
+}
@@ -0,0 +1,62 @@
+package com.coolerfall.widget.lunar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Benchmark of computing lunar years astronomically, the cold computation of one year
+ * against the memoized year information.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public class LunarAstronomyBenchmark {
+  private static final int YEARS = LunarAstronomy.MAX_YEAR - LunarAstronomy.MIN_YEAR + 1;
+
+  /* the years whose new moon is a few minutes before midnight, see LunarAstronomy */
+  private static final List<Integer> MISMATCHED_YEARS = Arrays.asList(1914, 2057, 2089, 2097);
+
+  @Test public void testComputedYearsMatchLunarInformation() {
+    List<Integer> mismatched = new ArrayList<>();
+    for (int year = LunarConverter.MIN_YEAR; year <= LunarConverter.MAX_YEAR; year++) {
+      long computed = LunarAstronomy.computeYear(year);
+      if ((int) computed != LunarConverter.fromLunar(year, 1, 1, false)
+          || (int) (computed >>> 32) != LunarAstronomy.getYearInfo(year)) {
+        mismatched.add(year);
+      }
+    }
+
+    assertEquals(MISMATCHED_YEARS, mismatched);
+  }
+
+  @Test public void benchmarkComputeYear() throws Exception {
+    Benchmark.assumeEnabled();
+    Benchmark.measure("LunarAstronomy.computeYear", YEARS, new Benchmark.Body() {
+      @Override public long run() {
+        long result = 0;
+        for (int year = LunarAstronomy.MIN_YEAR; year <= LunarAstronomy.MAX_YEAR; year++) {
+          result += LunarAstronomy.computeYear(year);
+        }
+
+        return result;
+      }
+    });
+  }
+
+  @Test public void benchmarkCachedYearInfo() throws Exception {
+    Benchmark.assumeEnabled();
+    Benchmark.measure("LunarAstronomy.getYearInfo", YEARS, new Benchmark.Body() {
+      @Override public long run() {
+        long result = 0;
+        for (int year = LunarAstronomy.MIN_YEAR; year <= LunarAstronomy.MAX_YEAR; year++) {
+          result += LunarAstronomy.getYearInfo(year) + LunarAstronomy.getNewYearEpochDay(year);
+        }
+
+        return result;
+      }
+    });
+  }
+}
@@ -0,0 +1,62 @@
+package com.coolerfall.widget.lunar;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Benchmark of converting the whole lunar information with {@link LunarBulk} against
+ * converting the days one by one with {@link Lunar}.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public class LunarBulkBenchmark {
+  private static final int START = LunarConverter.MIN_EPOCH_DAY;
+  private static final int COUNT = LunarConverter.MAX_EPOCH_DAY - START + 1;
+
+  private final int[] packedLunars = new int[COUNT];
+  private final byte[] cyclicalDays = new byte[COUNT];
+  private final byte[] solarTerms = new byte[COUNT];
+  private final short[] holidays = new short[COUNT];
+
+  @Before public void setUp() {
+    Benchmark.assumeEnabled();
+  }
+
+  @Test public void benchmarkBulk() throws Exception {
+    Benchmark.measure("LunarBulk.convert", COUNT, new Benchmark.Body() {
+      @Override public long run() {
+        return LunarBulk.convert(START, COUNT, 0, packedLunars, cyclicalDays, solarTerms,
+            holidays);
+      }
+    });
+  }
+
+  @Test public void benchmarkLunarPerDay() throws Exception {
+    final Lunar lunar = new Lunar();
+    Benchmark.measure("Lunar.setDate per day", COUNT, new Benchmark.Body() {
+      @Override public long run() {
+        for (int i = 0; i < COUNT; i++) {
+          int packedSolar = LunarConverter.toSolar(START + i);
+          lunar.setDate(LunarConverter.getSolarYear(packedSolar),
+              LunarConverter.getSolarMonth(packedSolar), LunarConverter.getSolarDay(packedSolar));
+          packedLunars[i] = LunarConverter.packLunar(lunar.getLunarYearNum(),
+              lunar.getLunarMonthNum(), lunar.getLunarDayNum(), lunar.isLeapMonth());
+          cyclicalDays[i] = (byte) lunar.getHeavenlyAndEarthly();
+        }
+
+        return packedLunars[COUNT - 1];
+      }
+    });
+
+    /* both ways should fill the same dates */
+    int[] expected = packedLunars.clone();
+    byte[] expectedCyclicals = cyclicalDays.clone();
+    assertEquals(COUNT, LunarBulk.convert(START, COUNT, 0, packedLunars, cyclicalDays, null,
+        null));
+    assertArrayEquals(expected, packedLunars);
+    assertArrayEquals(expectedCyclicals, cyclicalDays);
+  }
+}
@@ -0,0 +1,72 @@
+package com.coolerfall.widget.lunar;
+
+import java.util.Calendar;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests of {@link LunarCache}, the cached results should be the same as converting without
+ * cache in the whole range of {@link LunarAstronomy}.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public class LunarCacheTest {
+  /* check the cached result of every day from start to end */
+  private static void assertCached(LunarCache cache, int start, int end) {
+    for (int epochDay = start; epochDay < end; epochDay++) {
+      LunarDate date = LunarDate.ofEpochDay(epochDay);
+      assertEquals("day " + epochDay, date, cache.getLunarDate(epochDay));
+      assertEquals("day " + epochDay, date.toPacked(), cache.getPackedLunar(epochDay));
+
+      LunarCache.Day day = cache.get(epochDay);
+      assertEquals("day " + epochDay, LunarAstronomy.getDaysInMonth(date.getYear(),
+          date.getMonth(), date.isLeapMonth()), day.daysInLunarMonth);
+      assertEquals("day " + epochDay, LunarConverter.getCyclicalDay(epochDay), day.cyclicalDay);
+    }
+  }
+
+  @Test public void testDaysBefore1900() {
+    LunarCache cache = new LunarCache(1024);
+    int start = LunarConverter.toEpochDay(1887, Calendar.JANUARY, 1);
+    assertCached(cache, start, start + 366 * 2);
+    assertCached(cache, LunarAstronomy.MIN_EPOCH_DAY, LunarAstronomy.MIN_EPOCH_DAY + 400);
+  }
+
+  @Test public void testDaysAfter2100() {
+    LunarCache cache = new LunarCache(1024);
+    int start = LunarConverter.toEpochDay(2500, Calendar.JANUARY, 1);
+    assertCached(cache, start, start + 366 * 2);
+    assertCached(cache, LunarAstronomy.MAX_EPOCH_DAY - 400, LunarAstronomy.MAX_EPOCH_DAY + 1);
+  }
+
+  @Test public void testDaysOutOfRangeAreClamped() {
+    LunarCache cache = new LunarCache(16);
+    assertEquals(LunarDate.ofEpochDay(LunarAstronomy.MIN_EPOCH_DAY),
+        cache.getLunarDate(LunarAstronomy.MIN_EPOCH_DAY - 1));
+    assertEquals(LunarDate.ofEpochDay(LunarAstronomy.MAX_EPOCH_DAY),
+        cache.getLunarDate(LunarAstronomy.MAX_EPOCH_DAY + 1));
+  }
+
+  @Test public void testHitAndMiss() {
+    LunarCache cache = new LunarCache(100);
+    assertEquals(128, cache.getMaxSize());
+
+    int epochDay = LunarConverter.toEpochDay(1887, Calendar.JANUARY, 1);
+    LunarCache.Day day = cache.get(epochDay);
+    assertSame(day, cache.get(epochDay));
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+
+    /* the colliding day replaces the old one */
+    cache.get(epochDay + 128);
+    cache.get(epochDay);
+    assertEquals(1, cache.getHitCount());
+    assertEquals(3, cache.getMissCount());
+
+    cache.clear();
+    assertEquals(0, cache.getHitCount());
+    assertEquals(0, cache.getMissCount());
+  }
+}
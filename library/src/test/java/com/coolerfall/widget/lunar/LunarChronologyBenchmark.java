@@ -0,0 +1,62 @@
+package com.coolerfall.widget.lunar;
+
+import java.time.LocalDate;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Benchmark of {@link LunarChronology}, converting {@link LocalDate} into
+ * {@link LunarChronoDate} and stepping months.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public class LunarChronologyBenchmark {
+  private static final int START = LunarConverter.MIN_EPOCH_DAY;
+  private static final int COUNT = LunarConverter.MAX_EPOCH_DAY - START + 1;
+  private static final int MONTHS = 12 * 100;
+
+  @Before public void setUp() {
+    Benchmark.assumeEnabled();
+  }
+
+  @Test public void benchmarkFromLocalDate() throws Exception {
+    Benchmark.measure("LunarChronoDate.from(LocalDate)", COUNT, new Benchmark.Body() {
+      @Override public long run() {
+        long result = 0;
+        for (int i = 0; i < COUNT; i++) {
+          result += LunarChronoDate.from(LocalDate.ofEpochDay(START + i)).getDay();
+        }
+
+        return result;
+      }
+    });
+  }
+
+  @Test public void benchmarkToLocalDate() throws Exception {
+    Benchmark.measure("LunarChronoDate.toLocalDate", COUNT, new Benchmark.Body() {
+      @Override public long run() {
+        long result = 0;
+        for (int i = 0; i < COUNT; i++) {
+          result += LunarChronoDate.ofEpochDay(START + i).toLocalDate().getDayOfMonth();
+        }
+
+        return result;
+      }
+    });
+  }
+
+  @Test public void benchmarkPlusMonths() throws Exception {
+    /* the 30th is clamped in short months */
+    final LunarChronoDate date = LunarChronoDate.of(2001, 1, 30, false);
+    Benchmark.measure("LunarChronoDate.plusMonths", MONTHS, new Benchmark.Body() {
+      @Override public long run() {
+        long result = 0;
+        for (int i = 0; i < MONTHS; i++) {
+          result += date.plusMonths(i).getDay();
+        }
+
+        return result;
+      }
+    });
+  }
+}
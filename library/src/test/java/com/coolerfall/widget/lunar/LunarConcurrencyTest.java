@@ -0,0 +1,122 @@
+package com.coolerfall.widget.lunar;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Tests of converting with {@link Lunar} in many threads, the conversion holds no lock and
+ * no shared mutable state, so the results in parallel should be the same as in one thread.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public class LunarConcurrencyTest {
+  private static final int THREADS = 8;
+  private static final int START = LunarConverter.MIN_EPOCH_DAY;
+  private static final int END = LunarConverter.MAX_EPOCH_DAY + 1;
+
+  /* convert the day and describe all the results depend on solar terms */
+  private static String describe(Lunar lunar, int epochDay) {
+    int packedSolar = LunarConverter.toSolar(epochDay);
+    lunar.setDate(LunarConverter.getSolarYear(packedSolar),
+        LunarConverter.getSolarMonth(packedSolar), LunarConverter.getSolarDay(packedSolar));
+    return lunar.getLunarYearNum() + "-" + lunar.getLunarMonthNum()
+        + (lunar.isLeapMonth() ? "L-" : "-") + lunar.getLunarDayNum() + " "
+        + lunar.getCyclicalYear() + lunar.getCyclicalMonth() + lunar.getCyclicalDay() + " "
+        + lunar.getSolarTerm();
+  }
+
+  /* convert the days with stride in the given thread */
+  private static Callable<Integer> convert(final int thread, final int threads,
+      final CountDownLatch start, final String[] results) {
+    return new Callable<Integer>() {
+      @Override public Integer call() throws Exception {
+        start.await();
+        Lunar lunar = new Lunar();
+        int count = 0;
+        for (int epochDay = START + thread; epochDay < END; epochDay += threads) {
+          results[epochDay - START] = describe(lunar, epochDay);
+          count++;
+        }
+
+        return count;
+      }
+    };
+  }
+
+  /* convert all the days in the given count of threads, return the nanoseconds elapsed */
+  private static long convertInThreads(int threads, String[] results) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<Integer>> futures = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        futures.add(executor.submit(convert(i, threads, start, results)));
+      }
+
+      long startTime = System.nanoTime();
+      start.countDown();
+      int count = 0;
+      for (Future<Integer> future : futures) {
+        count += future.get();
+      }
+      long elapsed = System.nanoTime() - startTime;
+
+      assertEquals(END - START, count);
+      return elapsed;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test public void testNoSynchronizedMethods() {
+    Class<?>[] classes = {Lunar.class, LunarConverter.class, LunarAstronomy.class,
+        SolarTerm.class, LunarLabels.class};
+    for (Class<?> clazz : classes) {
+      for (Method method : clazz.getDeclaredMethods()) {
+        assertFalse(clazz.getSimpleName() + "." + method.getName() + " is synchronized",
+            Modifier.isSynchronized(method.getModifiers()));
+      }
+    }
+  }
+
+  @Test public void testParallelMatchesSequential() throws Exception {
+    /* run in parallel first, so the lazily built tables are also built concurrently */
+    String[] results = new String[END - START];
+    convertInThreads(THREADS, results);
+
+    Lunar lunar = new Lunar();
+    for (int epochDay = START; epochDay < END; epochDay++) {
+      assertEquals("day " + epochDay, describe(lunar, epochDay), results[epochDay - START]);
+    }
+  }
+
+  @Test public void benchmarkScaling() throws Exception {
+    Benchmark.assumeEnabled();
+    String[] results = new String[END - START];
+    convertInThreads(1, results);
+    long single = Long.MAX_VALUE;
+    for (int threads = 1; threads <= THREADS; threads *= 2) {
+      long best = Long.MAX_VALUE;
+      for (int round = 0; round < 5; round++) {
+        best = Math.min(best, convertInThreads(threads, results));
+      }
+      if (threads == 1) {
+        single = best;
+      }
+
+      System.out.printf("Lunar.setDate %d threads %10.1f ns/day, speedup %.2f%n", threads,
+          (double) best / (END - START), (double) single / best);
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package com.coolerfall.widget.lunar;
+
+import java.lang.reflect.Field;
+import java.util.Calendar;
+import java.util.TimeZone;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the month index of {@link LunarConverter} and the conversions of {@link Lunar}
+ * built on it, the expected dates are walked month by month from 1900-01-31 with the lunar
+ * information directly, which is how the conversion worked before the index.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public class LunarConverterTest {
+  private static final String[] TIME_ZONES = {
+      "Asia/Shanghai", "America/Los_Angeles", "Europe/London", "Asia/Kathmandu"
+  };
+
+  private static int[] lunarInfo;
+
+  private final TimeZone defaultTimeZone = TimeZone.getDefault();
+
+  @BeforeClass public static void setUpClass() throws Exception {
+    Field field = LunarConverter.class.getDeclaredField("LUNR_INFO");
+    field.setAccessible(true);
+    lunarInfo = (int[]) field.get(null);
+  }
+
+  @After public void tearDown() {
+    TimeZone.setDefault(defaultTimeZone);
+  }
+
+  /* the days of month read from lunar information without the month index */
+  private static int getMonthDays(int year, int month, boolean isLeap) {
+    if (isLeap) {
+      return (lunarInfo[year - 1899] & 0xf) == 0xf ? 30 : 29;
+    }
+
+    return (lunarInfo[year - 1900] & (0x10000 >> month)) != 0 ? 30 : 29;
+  }
+
+  /* the leap month read from lunar information without the month index */
+  private static int getLeapMonth(int year) {
+    int leapMonth = lunarInfo[year - 1900] & 0xf;
+    return leapMonth == 0xf ? 0 : leapMonth;
+  }
+
+  /**
+   * Walk every month from 1900 to 2100 and check every day of it.
+   *
+   * @param checker the checker of each day
+   */
+  private static void walk(DayChecker checker) {
+    int epochDay = LunarConverter.MIN_EPOCH_DAY;
+    for (int year = LunarConverter.MIN_YEAR; year <= LunarConverter.MAX_YEAR; year++) {
+      int leapMonth = getLeapMonth(year);
+      for (int month = 1; month <= 12; month++) {
+        for (int leap = 0; leap < (month == leapMonth ? 2 : 1); leap++) {
+          int days = getMonthDays(year, month, leap == 1);
+          for (int day = 1; day <= days; day++) {
+            checker.check(epochDay++, year, month, day, leap == 1, days);
+          }
+        }
+      }
+    }
+
+    assertEquals(LunarConverter.MAX_EPOCH_DAY + 1, epochDay);
+  }
+
+  private interface DayChecker {
+    void check(int epochDay, int year, int month, int day, boolean isLeap, int daysInMonth);
+  }
+
+  @Test public void testConverterMatchesLunarInformation() {
+    walk(new DayChecker() {
+      @Override public void check(int epochDay, int year, int month, int day, boolean isLeap,
+          int daysInMonth) {
+        int packedLunar = LunarConverter.packLunar(year, month, day, isLeap);
+        assertEquals("toLunar of " + epochDay, packedLunar, LunarConverter.toLunar(epochDay));
+        assertEquals("fromLunar of " + year + "-" + month + (isLeap ? "L-" : "-") + day,
+            epochDay, LunarConverter.fromLunar(year, month, day, isLeap));
+        assertEquals("days in " + year + "-" + month + (isLeap ? "L" : ""), daysInMonth,
+            LunarConverter.getDaysInMonth(year, month, isLeap));
+      }
+    });
+  }
+
+  @Test public void testLunarMatchesLunarInformation() {
+    final Lunar solar = new Lunar();
+    final Lunar lunar = new Lunar();
+    walk(new DayChecker() {
+      @Override public void check(int epochDay, int year, int month, int day, boolean isLeap,
+          int daysInMonth) {
+        String date = year + "-" + month + (isLeap ? "L-" : "-") + day;
+        int packedSolar = LunarConverter.toSolar(epochDay);
+        solar.setDate(LunarConverter.getSolarYear(packedSolar),
+            LunarConverter.getSolarMonth(packedSolar), LunarConverter.getSolarDay(packedSolar));
+        assertEquals("year of " + date, year, solar.getLunarYearNum());
+        assertEquals("month of " + date, month, solar.getLunarMonthNum());
+        assertEquals("day of " + date, day, solar.getLunarDayNum());
+        assertEquals("leap of " + date, isLeap, solar.isLeapMonth());
+        assertEquals("days in month of " + date, daysInMonth, solar.getMaxDaysInLunarMonth());
+
+        lunar.setLunarDate(year, month, day, isLeap);
+        assertEquals("epoch day of " + date, epochDay, lunar.getEpochDay());
+        assertEquals("solar date of " + date, packedSolar, LunarConverter.packSolar(
+            lunar.getSolarYear(), lunar.getSolarMonth(), lunar.getSolarDay()));
+        assertEquals("days in month of " + date, daysInMonth, lunar.getMaxDaysInLunarMonth());
+      }
+    });
+  }
+
+  @Test public void testRoundTripInTimeZones() {
+    Lunar solar = new Lunar();
+    Lunar lunar = new Lunar();
+    for (String id : TIME_ZONES) {
+      TimeZone.setDefault(TimeZone.getTimeZone(id));
+      Calendar calendar = Calendar.getInstance();
+      for (int epochDay = LunarConverter.MIN_EPOCH_DAY;
+          epochDay <= LunarConverter.MAX_EPOCH_DAY; epochDay++) {
+        int packedSolar = LunarConverter.toSolar(epochDay);
+        calendar.clear();
+        calendar.set(LunarConverter.getSolarYear(packedSolar),
+            LunarConverter.getSolarMonth(packedSolar), LunarConverter.getSolarDay(packedSolar),
+            12, 0);
+        solar.setTimeInMillis(calendar.getTimeInMillis());
+        lunar.setLunarDate(solar.getLunarYearNum(), solar.getLunarMonthNum(),
+            solar.getLunarDayNum(), solar.isLeapMonth());
+
+        assertEquals(id + " epoch day " + epochDay, epochDay, solar.getEpochDay());
+        assertEquals(id + " round trip of " + epochDay, epochDay, lunar.getEpochDay());
+        assertEquals(id + " solar date of " + epochDay, packedSolar, LunarConverter.packSolar(
+            lunar.getSolarYear(), lunar.getSolarMonth(), lunar.getSolarDay()));
+      }
+    }
+  }
+
+  @Test public void testSetLunarDateHonoursLeap() {
+    /* lunar 2020 has a leap 4th month */
+    assertEquals(4, LunarConverter.getLeapMonth(2020));
+
+    Lunar lunar = new Lunar();
+    lunar.setLunarDate(2020, 4, 1, false);
+    assertFalse(lunar.isLeapMonth());
+    assertEquals(LunarConverter.toEpochDay(2020, Calendar.APRIL, 23), lunar.getEpochDay());
+    assertEquals(30, lunar.getMaxDaysInLunarMonth());
+
+    lunar.setLunarDate(2020, 4, 1, true);
+    assertTrue(lunar.isLeapMonth());
+    assertEquals(LunarConverter.toEpochDay(2020, Calendar.MAY, 23), lunar.getEpochDay());
+    assertEquals(2020, lunar.getSolarYear());
+    assertEquals(Calendar.MAY, lunar.getSolarMonth());
+    assertEquals(23, lunar.getSolarDay());
+    assertEquals(29, lunar.getMaxDaysInLunarMonth());
+
+    /* the leap flag is ignored if the month is not leap month */
+    lunar.setLunarDate(2020, 5, 1, true);
+    assertFalse(lunar.isLeapMonth());
+    assertEquals(LunarConverter.toEpochDay(2020, Calendar.JUNE, 21), lunar.getEpochDay());
+  }
+}
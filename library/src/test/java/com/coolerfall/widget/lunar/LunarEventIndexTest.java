@@ -0,0 +1,104 @@
+package com.coolerfall.widget.lunar;
+
+import java.lang.reflect.Field;
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests of querying {@link LunarEventIndex}, the invalid arguments are rejected before any
+ * year is compiled.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public class LunarEventIndexTest {
+  private static final int EPOCH_DAY = LunarConverter.toEpochDay(2024, Calendar.JANUARY, 1);
+
+  /* get the count of compiled years in index */
+  private static int getCompiledYears(LunarEventIndex index) throws Exception {
+    Field field = LunarEventIndex.class.getDeclaredField("years");
+    field.setAccessible(true);
+    AtomicReferenceArray<?> years = (AtomicReferenceArray<?>) field.get(index);
+    int count = 0;
+    for (int i = 0; i < years.length(); i++) {
+      if (years.get(i) != null) {
+        count++;
+      }
+    }
+
+    return count;
+  }
+
+  private static void assertRejected(LunarEventIndex index, int count, int types) {
+    try {
+      index.next(EPOCH_DAY, count, types);
+      fail("next should reject count " + count + " and types " + types);
+    } catch (IllegalArgumentException expected) {
+      /* expected */
+    }
+    try {
+      index.previous(EPOCH_DAY, count, types);
+      fail("previous should reject count " + count + " and types " + types);
+    } catch (IllegalArgumentException expected) {
+      /* expected */
+    }
+  }
+
+  @Test public void testInvalidArguments() throws Exception {
+    LunarEventIndex index = new LunarEventIndex(HolidayCalendar.createWithExtraHolidays());
+    assertRejected(index, -1, LunarEventIndex.ALL);
+    assertRejected(index, 1, 0);
+    assertRejected(index, 1, 1 << 2);
+    assertRejected(index, 1, -1);
+    assertEquals(0, getCompiledYears(index));
+
+    assertTrue(index.next(EPOCH_DAY, 0, LunarEventIndex.ALL).isEmpty());
+    assertTrue(index.previous(EPOCH_DAY, 0, LunarEventIndex.ALL).isEmpty());
+    assertEquals(0, getCompiledYears(index));
+  }
+
+  @Test public void testNoHolidayInCalendar() throws Exception {
+    LunarEventIndex index = new LunarEventIndex(new HolidayCalendar());
+    assertTrue(index.next(EPOCH_DAY, Integer.MAX_VALUE, LunarEvent.HOLIDAY).isEmpty());
+    assertTrue(index.previous(EPOCH_DAY, Integer.MAX_VALUE, LunarEvent.HOLIDAY).isEmpty());
+    assertNull(index.next(EPOCH_DAY, LunarEvent.HOLIDAY));
+    assertEquals(0, getCompiledYears(index));
+
+    LunarEvent event = index.next(EPOCH_DAY, LunarEventIndex.ALL);
+    assertEquals(LunarEvent.SOLAR_TERM, event.getType());
+  }
+
+  @Test public void testHugeCount() {
+    LunarEventIndex index = new LunarEventIndex(new HolidayCalendar());
+    int start = LunarConverter.toEpochDay(LunarAstronomy.MAX_YEAR, Calendar.JANUARY, 1);
+    List<LunarEvent> events = index.next(start, Integer.MAX_VALUE, LunarEvent.SOLAR_TERM);
+    assertEquals(SolarTerm.COUNT, events.size());
+
+    start = LunarConverter.toEpochDay(LunarAstronomy.MIN_YEAR + 1, Calendar.JANUARY, 1);
+    events = index.previous(start, Integer.MAX_VALUE, LunarEvent.SOLAR_TERM);
+    assertTrue(events.size() > 0 && events.size() <= SolarTerm.COUNT);
+  }
+
+  @Test public void testOrder() {
+    LunarEventIndex index = new LunarEventIndex();
+    List<LunarEvent> next = index.next(EPOCH_DAY, 50, LunarEventIndex.ALL);
+    assertEquals(50, next.size());
+    for (int i = 1; i < next.size(); i++) {
+      assertTrue(next.get(i - 1).getEpochDay() <= next.get(i).getEpochDay());
+    }
+    assertTrue(next.get(0).getEpochDay() >= EPOCH_DAY);
+
+    List<LunarEvent> previous = index.previous(EPOCH_DAY, 50, LunarEventIndex.ALL);
+    assertEquals(50, previous.size());
+    for (int i = 1; i < previous.size(); i++) {
+      assertTrue(previous.get(i - 1).getEpochDay() >= previous.get(i).getEpochDay());
+    }
+    assertTrue(previous.get(0).getEpochDay() < EPOCH_DAY);
+  }
+}
@@ -0,0 +1,122 @@
+package com.coolerfall.widget.lunar;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Calendar;
+import org.junit.Assume;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the memory footprint of {@link Lunar} and {@link MonthDay}, the tables are shared
+ * between instances and the calendars are created on demand.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public class LunarFootprintTest {
+  private static final int COUNT = 10000;
+
+  /* a Lunar is an object header, 13 primitives and one reference, 72 bytes on 64 bit JVM
+   * with compressed references */
+  private static final double MAX_BYTES_PER_LUNAR = 96;
+
+  /* every cell of month is a MonthDay and a Lunar, plus the list and the calendars of month
+   * shared by all cells, about 230 bytes on 64 bit JVM with compressed references */
+  private static final double MAX_BYTES_PER_CELL = 320;
+
+  /* check all the instance fields are primitives except the given ones */
+  private static void assertPrimitiveFields(Class<?> clazz, Class<?>... references) {
+    int referenceCount = 0;
+    for (Field field : clazz.getDeclaredFields()) {
+      if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+        continue;
+      }
+
+      Class<?> type = field.getType();
+      if (type.isPrimitive()) {
+        continue;
+      }
+      boolean allowed = false;
+      for (Class<?> reference : references) {
+        allowed |= reference == type;
+      }
+      assertTrue(clazz.getSimpleName() + "." + field.getName() + " is " + type.getSimpleName(),
+          allowed);
+      referenceCount++;
+    }
+
+    assertEquals(references.length, referenceCount);
+  }
+
+  /* get the allocated bytes of current thread, skip the test if not supported */
+  private static long getAllocatedBytes() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+    Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+    threadBean.setThreadAllocatedMemoryEnabled(true);
+    return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  @Test public void testLunarHasOnlyPrimitiveFields() {
+    /* the only reference is the Calendar created on demand */
+    assertPrimitiveFields(Lunar.class, Calendar.class);
+  }
+
+  @Test public void testMonthDayHasOnlyPrimitiveFields() {
+    /* the label of lunar day is one of the shared labels */
+    assertPrimitiveFields(MonthDay.class, Calendar.class, Lunar.class, String.class);
+  }
+
+  @Test public void testCalendarIsCreatedOnDemand() throws Exception {
+    Lunar lunar = new Lunar(2024, Calendar.FEBRUARY, 10);
+    MonthDay monthDay = new MonthDay(lunar.getCalendar().getTimeInMillis(), lunar);
+    Field field = MonthDay.class.getDeclaredField("calendar");
+    field.setAccessible(true);
+    assertNull(field.get(monthDay));
+
+    Calendar calendar = monthDay.getCalendar();
+    assertEquals(2024, calendar.get(Calendar.YEAR));
+    assertEquals(Calendar.FEBRUARY, calendar.get(Calendar.MONTH));
+    assertEquals(10, calendar.get(Calendar.DAY_OF_MONTH));
+  }
+
+  @Test public void testBytesPerLunar() {
+    Lunar[] lunars = new Lunar[COUNT];
+    int start = LunarConverter.toEpochDay(2024, Calendar.JANUARY, 1);
+
+    /* warm up the lazy tables of solar terms and years */
+    for (int i = 0; i < COUNT; i++) {
+      lunars[i] = new Lunar(2024, Calendar.JANUARY, 1 + i);
+    }
+
+    long before = getAllocatedBytes();
+    for (int i = 0; i < COUNT; i++) {
+      lunars[i] = new Lunar(2024, Calendar.JANUARY, 1 + i);
+    }
+    double bytes = (double) (getAllocatedBytes() - before) / COUNT;
+
+    assertEquals(start + COUNT - 1, lunars[COUNT - 1].getEpochDay());
+    assertTrue("Allocated " + bytes + " bytes per Lunar", bytes <= MAX_BYTES_PER_LUNAR);
+  }
+
+  @Test public void testBytesPerMonthCell() {
+    int cells = 0;
+    for (int month = 0; month < 12; month++) {
+      cells += new Month(2024, month, 1).getWeeksInMonth() * 7;
+    }
+
+    long before = getAllocatedBytes();
+    for (int month = 0; month < 12; month++) {
+      new Month(2024, month, 1);
+    }
+    double bytes = (double) (getAllocatedBytes() - before) / cells;
+
+    assertTrue("Allocated " + bytes + " bytes per cell", bytes <= MAX_BYTES_PER_CELL);
+  }
+}
@@ -0,0 +1,341 @@
+package com.coolerfall.widget.lunar;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Compare the output of {@link Lunar} on every day from 1900 to 2100 with the golden output
+ * of the original implementation(commit 434661b), which was generated with setDate in UTC
+ * into lunar_golden.gz, one column after another with one line per day.
+ * <p>
+ * The differences made on purpose are listed in lunar_golden_changes.txt with the requests
+ * which made them, every listed change should happen and nothing else may differ:
+ * <ul>
+ * <li>user-001: the days in lunar month on the first day of month were the days of previous
+ * month, and 0 on 1900-01-31.</li>
+ * <li>user-021: the day of solar term is the day in China of its exact time instead of the
+ * mean tropical year, which moves the solar term, and the cyclical year and month which
+ * change on it, the star duty and five elements depend on the cyclical month.</li>
+ * </ul>
+ * The twenty eight stars are not in the golden output: the original star was looked up with
+ * the week of year of default locale, user-018 replaced it with the continuous cycle of 28
+ * days, which is checked with the week day embedded in every star.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public class LunarGoldenTest {
+  private static final String GOLDEN_FILE = "lunar_golden.gz";
+  private static final String CHANGES_FILE = "lunar_golden_changes.txt";
+  private static final String NULL = "-";
+
+  private static final String[] COLUMNS = {
+      "lunarYear", "lunarMonth", "isLeapMonth", "lunarDay", "daysInLunarMonth", "cyclicalYear",
+      "cyclicalMonth", "cyclicalDay", "zodiac", "lunarYearLabel", "lunarMonthLabel",
+      "lunarDayLabel", "solarTerm", "lunarHoliday", "solarHoliday", "pengzu",
+      "conflictEvilSpirit", "fetusGod", "fiveElements", "wielding"
+  };
+
+  /* the seven luminaries in the name of stars, from Sunday */
+  private static final String LUMINARIES = "日月火水木金土";
+
+  private static final int START = LunarConverter.MIN_EPOCH_DAY;
+  private static final int END = LunarConverter.MAX_EPOCH_DAY + 1;
+
+  private static String[][] golden;
+  private static Map<String, String> changes;
+
+  @BeforeClass public static void setUpClass() throws IOException {
+    LunarLocale.setDefault(null);
+    golden = readGolden();
+    changes = readChanges();
+  }
+
+  @After public void tearDown() {
+    LunarCache.setDefault(null);
+    LunarTable.setDefault(null);
+  }
+
+  /* open the resource of this test */
+  private static BufferedReader open(String name, boolean gzip) throws IOException {
+    InputStream in = LunarGoldenTest.class.getResourceAsStream(name);
+    if (in == null) {
+      throw new IOException("Missing test resource: " + name);
+    }
+
+    return new BufferedReader(new InputStreamReader(gzip ? new GZIPInputStream(in) : in,
+        "UTF-8"));
+  }
+
+  /* read all the columns of golden output, the same values share one string */
+  private static String[][] readGolden() throws IOException {
+    String[][] columns = new String[COLUMNS.length][];
+    Map<String, String> pool = new HashMap<>();
+    BufferedReader reader = open(GOLDEN_FILE, true);
+    try {
+      int column = -1;
+      List<String> values = new ArrayList<>();
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith("#")) {
+          continue;
+        }
+        if (line.startsWith("@")) {
+          if (column >= 0) {
+            columns[column] = values.toArray(new String[values.size()]);
+          }
+          column = indexOfColumn(line.substring(1));
+          values.clear();
+          continue;
+        }
+
+        String value = pool.get(line);
+        if (value == null) {
+          value = line.replace("\\n", "\n");
+          pool.put(line, value);
+        }
+        values.add(value);
+      }
+      columns[column] = values.toArray(new String[values.size()]);
+    } finally {
+      reader.close();
+    }
+
+    for (int i = 0; i < COLUMNS.length; i++) {
+      assertEquals("days of " + COLUMNS[i], END - START, columns[i].length);
+    }
+
+    return columns;
+  }
+
+  /* read the intended changes, keyed by date and column */
+  private static Map<String, String> readChanges() throws IOException {
+    Map<String, String> changes = new HashMap<>();
+    BufferedReader reader = open(CHANGES_FILE, false);
+    try {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.isEmpty() || line.startsWith("#")) {
+          continue;
+        }
+
+        /* date, column, golden value, new value, request */
+        String[] fields = line.split("\t");
+        int column = indexOfColumn(fields[1]);
+        String date = fields[0];
+        assertEquals("Golden value of change: " + line, fields[2].replace("\\n", "\n"),
+            golden[column][toEpochDay(date) - START]);
+        assertEquals("Duplicated change: " + line, null,
+            changes.put(date + " " + fields[1], fields[3].replace("\\n", "\n")));
+      }
+    } finally {
+      reader.close();
+    }
+
+    return changes;
+  }
+
+  private static int indexOfColumn(String name) {
+    for (int i = 0; i < COLUMNS.length; i++) {
+      if (COLUMNS[i].equals(name)) {
+        return i;
+      }
+    }
+
+    throw new IllegalArgumentException("Unknown column: " + name);
+  }
+
+  /* parse the date in yyyy-MM-dd into epoch day */
+  private static int toEpochDay(String date) {
+    String[] fields = date.split("-");
+    return LunarConverter.toEpochDay(Integer.parseInt(fields[0]),
+        Integer.parseInt(fields[1]) - 1, Integer.parseInt(fields[2]));
+  }
+
+  private static String toDate(int epochDay) {
+    int packedSolar = LunarConverter.toSolar(epochDay);
+    return String.format(Locale.US, "%04d-%02d-%02d", LunarConverter.getSolarYear(packedSolar),
+        LunarConverter.getSolarMonth(packedSolar) + 1, LunarConverter.getSolarDay(packedSolar));
+  }
+
+  private static String valueOf(String value) {
+    return value == null ? NULL : value;
+  }
+
+  /* get all the columns of current day from lunar */
+  private static String[] describe(Lunar lunar) {
+    String[] pengzu = lunar.getPengzu();
+    return new String[] {
+        String.valueOf(lunar.getLunarYearNum()), String.valueOf(lunar.getLunarMonthNum()),
+        String.valueOf(lunar.isLeapMonth()), String.valueOf(lunar.getLunarDayNum()),
+        String.valueOf(lunar.getMaxDaysInLunarMonth()), lunar.getCyclicalYear(),
+        lunar.getCyclicalMonth(), lunar.getCyclicalDay(), lunar.getZodiac(), lunar.getLunarYear(),
+        lunar.getLunarMonth(), lunar.getLunarDay(), valueOf(lunar.getSolarTerm()),
+        valueOf(lunar.getLunarHoliday()), valueOf(lunar.getSolarHolidy()),
+        pengzu[0] + " " + pengzu[1], lunar.getConflictEvilSpirit(), lunar.getFetusGod(),
+        lunar.getFiveElements(), String.valueOf(lunar.getWielding())
+    };
+  }
+
+  /**
+   * Compare the current day of lunar with golden output and intended changes.
+   *
+   * @param lunar the lunar set to the day
+   * @param epochDay the epoch day
+   * @param path the way to set the day, reported in failure
+   * @param matchedChanges the changes matched, can be null
+   */
+  private static void verify(Lunar lunar, int epochDay, String path, Set<String> matchedChanges) {
+    String date = toDate(epochDay);
+    assertEquals(date + " " + path + " epoch day", epochDay, lunar.getEpochDay());
+
+    String[] actual = describe(lunar);
+    for (int i = 0; i < COLUMNS.length; i++) {
+      String key = date + " " + COLUMNS[i];
+      String expected = changes.get(key);
+      if (expected == null) {
+        expected = golden[i][epochDay - START];
+      } else if (matchedChanges != null) {
+        matchedChanges.add(key);
+      }
+
+      if (!expected.equals(actual[i])) {
+        fail(date + " " + path + " " + COLUMNS[i] + ": expected <" + expected + "> but was <"
+            + actual[i] + ">, golden <" + golden[i][epochDay - START] + ">");
+      }
+    }
+  }
+
+  private static void setDate(Lunar lunar, int epochDay) {
+    int packedSolar = LunarConverter.toSolar(epochDay);
+    lunar.setDate(LunarConverter.getSolarYear(packedSolar),
+        LunarConverter.getSolarMonth(packedSolar), LunarConverter.getSolarDay(packedSolar));
+  }
+
+  @Test public void testSetDateMatchesGolden() {
+    Set<String> matchedChanges = new HashSet<>();
+    Lunar lunar = new Lunar();
+    for (int epochDay = START; epochDay < END; epochDay++) {
+      setDate(lunar, epochDay);
+      verify(lunar, epochDay, "setDate", matchedChanges);
+    }
+
+    /* every intended change should still happen */
+    for (String key : changes.keySet()) {
+      assertTrue("Change not happened: " + key, matchedChanges.contains(key));
+    }
+  }
+
+  @Test public void testCacheAndTableMatchGolden() {
+    Lunar lunar = new Lunar();
+    LunarCache.setDefault(new LunarCache(1024));
+    for (int epochDay = START; epochDay < END; epochDay++) {
+      setDate(lunar, epochDay);
+      verify(lunar, epochDay, "setDate with LunarCache", null);
+    }
+
+    LunarCache.setDefault(null);
+    LunarTable.setDefault(new LunarTable());
+    for (int epochDay = START; epochDay < END; epochDay++) {
+      setDate(lunar, epochDay);
+      verify(lunar, epochDay, "setDate with LunarTable", null);
+    }
+  }
+
+  @Test public void testTimeInMillisMatchesGolden() {
+    /* the first, middle and last millisecond of every day in default time zone */
+    int[][] times = {{0, 0, 0, 0}, {12, 0, 0, 0}, {23, 59, 59, 999}};
+    Calendar calendar = Calendar.getInstance();
+    Lunar lunar = new Lunar();
+    for (int epochDay = START; epochDay < END; epochDay++) {
+      int packedSolar = LunarConverter.toSolar(epochDay);
+      for (int[] time : times) {
+        calendar.clear();
+        calendar.set(LunarConverter.getSolarYear(packedSolar),
+            LunarConverter.getSolarMonth(packedSolar), LunarConverter.getSolarDay(packedSolar),
+            time[0], time[1], time[2]);
+        calendar.set(Calendar.MILLISECOND, time[3]);
+
+        /* skip the time not existed in default time zone, such as in daylight saving time */
+        if (calendar.get(Calendar.DAY_OF_MONTH) != LunarConverter.getSolarDay(packedSolar)
+            || calendar.get(Calendar.HOUR_OF_DAY) != time[0]) {
+          continue;
+        }
+        lunar.setTimeInMillis(calendar.getTimeInMillis());
+        verify(lunar, epochDay, String.format(Locale.US, "setTimeInMillis %02d:%02d:%02d.%03d",
+            time[0], time[1], time[2], time[3]), null);
+      }
+    }
+  }
+
+  @Test public void testLunarDateRoundTrip() {
+    Lunar lunar = new Lunar();
+    for (int epochDay = START; epochDay < END; epochDay++) {
+      int index = epochDay - START;
+      lunar.setLunarDate(Integer.parseInt(golden[0][index]), Integer.parseInt(golden[1][index]),
+          Integer.parseInt(golden[3][index]), Boolean.parseBoolean(golden[2][index]));
+      verify(lunar, epochDay, "setLunarDate", null);
+    }
+  }
+
+  @Test public void testAlmanacDayMatchesGetters() {
+    Lunar lunar = new Lunar();
+    for (int epochDay = START; epochDay < END; epochDay++) {
+      setDate(lunar, epochDay);
+      AlmanacDay almanac = lunar.getAlmanacDay();
+      String[] pengzu = lunar.getPengzu();
+      String date = toDate(epochDay);
+      assertEquals(date, epochDay, almanac.getEpochDay());
+      assertEquals(date, lunar.getHeavenlyAndEarthly(), almanac.getCyclicalDay());
+      assertEquals(date, lunar.getWielding(), almanac.getWielding());
+      assertEquals(date, pengzu[0], almanac.getPengzuHeavenly());
+      assertEquals(date, pengzu[1], almanac.getPengzuEarthly());
+      assertEquals(date, lunar.getConflictEvilSpirit(), almanac.getConflictEvilSpirit());
+      assertEquals(date, lunar.getFiveElements(), almanac.getFiveElements());
+      assertEquals(date, lunar.getFetusGod(), almanac.getFetusGod());
+      assertEquals(date, lunar.getTwentyEightStar(), almanac.getTwentyEightStar());
+    }
+  }
+
+  @Test public void testTwentyEightStarsCycle() {
+    Lunar lunar = new Lunar();
+    String[] stars = new String[28];
+    for (int epochDay = START; epochDay < END; epochDay++) {
+      setDate(lunar, epochDay);
+      String star = lunar.getTwentyEightStar();
+      String date = toDate(epochDay);
+
+      /* such as 东方角木蛟-吉, 木 is Thursday */
+      assertEquals(date + " " + star, lunar.getDayOfWeek() - 1,
+          LUMINARIES.indexOf(star.charAt(3)));
+
+      /* the same star comes back every 28 days and never in between */
+      int slot = (epochDay - START) % 28;
+      if (epochDay - START >= 28) {
+        assertEquals(date, stars[slot], star);
+      } else {
+        for (int i = 0; i < slot; i++) {
+          assertTrue(date + " " + star, !star.equals(stars[i]));
+        }
+      }
+      stars[slot] = star;
+    }
+  }
+}
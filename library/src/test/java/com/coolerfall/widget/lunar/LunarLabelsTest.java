@@ -0,0 +1,114 @@
+package com.coolerfall.widget.lunar;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the labels resolved into static tables by {@link LunarLabels}, the labels of
+ * {@link Lunar} are shared strings and getting them allocates nothing.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public class LunarLabelsTest {
+  private static final int START = LunarConverter.MIN_EPOCH_DAY;
+  private static final int END = LunarConverter.MAX_EPOCH_DAY + 1;
+
+  /* the bytes allowed to allocate for every day, the labels should add nothing */
+  private static final double MAX_BYTES_PER_DAY = 1;
+
+  @After public void tearDown() {
+    LunarLocale.setDefault(null);
+  }
+
+  /* the labels of the day, the length is summed so the labels are read */
+  private static int readLabels(Lunar lunar, int epochDay) {
+    int packedSolar = LunarConverter.toSolar(epochDay);
+    lunar.setDate(LunarConverter.getSolarYear(packedSolar),
+        LunarConverter.getSolarMonth(packedSolar), LunarConverter.getSolarDay(packedSolar));
+    return lunar.getCyclicalYear().length() + lunar.getCyclicalMonth().length()
+        + lunar.getCyclicalDay().length() + lunar.getLunarYear().length()
+        + lunar.getLunarMonth().length() + lunar.getFullLunarMonth().length()
+        + lunar.getLunarDay().length() + lunar.getZodiac().length()
+        + lunar.getConflictEvilSpirit().length() + lunar.getFetusGod().length();
+  }
+
+  @Test public void testLabelsAreShared() {
+    Lunar lunar = new Lunar();
+    Lunar other = new Lunar();
+    for (int epochDay = START; epochDay < END; epochDay += 97) {
+      int packedSolar = LunarConverter.toSolar(epochDay);
+      lunar.setDate(LunarConverter.getSolarYear(packedSolar),
+          LunarConverter.getSolarMonth(packedSolar), LunarConverter.getSolarDay(packedSolar));
+
+      /* the same cyclical day comes back every 60 days */
+      packedSolar = LunarConverter.toSolar(epochDay + 60);
+      other.setDate(LunarConverter.getSolarYear(packedSolar),
+          LunarConverter.getSolarMonth(packedSolar), LunarConverter.getSolarDay(packedSolar));
+      assertSame("cyclical day of " + epochDay, lunar.getCyclicalDay(), other.getCyclicalDay());
+      assertSame("conflict of " + epochDay, lunar.getConflictEvilSpirit(),
+          other.getConflictEvilSpirit());
+      assertSame("fetus god of " + epochDay, lunar.getFetusGod(), other.getFetusGod());
+
+      /* the 30th may be missing in next year */
+      if (lunar.isLeapMonth() || lunar.getLunarDayNum() == 30) {
+        continue;
+      }
+      other.setLunarDate(lunar.getLunarYearNum() + 1, lunar.getLunarMonthNum(),
+          lunar.getLunarDayNum(), false);
+      assertSame("lunar day of " + epochDay, lunar.getLunarDay(), other.getLunarDay());
+      assertSame("lunar month of " + epochDay, lunar.getLunarMonth(), other.getLunarMonth());
+      assertSame("full lunar month of " + epochDay, lunar.getFullLunarMonth(),
+          other.getFullLunarMonth());
+    }
+  }
+
+  @Test public void testLabelsOfDefaultLocale() {
+    /* the first day of lunar 2024 */
+    Lunar lunar = new Lunar(2024, 1, 10);
+    assertEquals("甲辰", lunar.getCyclicalYear());
+    assertEquals("丙寅", lunar.getCyclicalMonth());
+    assertEquals("甲辰", lunar.getCyclicalDay());
+    assertEquals("龙", lunar.getZodiac());
+    assertEquals("正", lunar.getLunarMonth());
+    assertEquals("正月", lunar.getFullLunarMonth());
+    assertEquals("初一", lunar.getLunarDay());
+
+    LunarLocale.setDefault(LunarLocale.TRADITIONAL_CHINESE);
+    assertEquals("龍", lunar.getZodiac());
+    assertEquals("甲辰", lunar.getCyclicalDay());
+  }
+
+  @Test public void testLabelsDoNotAllocate() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+    Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+    threadBean.setThreadAllocatedMemoryEnabled(true);
+
+    /* the first pass builds the lazy tables of solar terms and years */
+    Lunar lunar = new Lunar();
+    long length = 0;
+    for (int epochDay = START; epochDay < END; epochDay++) {
+      length += readLabels(lunar, epochDay);
+    }
+
+    long threadId = Thread.currentThread().getId();
+    long before = threadBean.getThreadAllocatedBytes(threadId);
+    for (int epochDay = START; epochDay < END; epochDay++) {
+      length += readLabels(lunar, epochDay);
+    }
+    long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+    assertTrue(length > 0);
+    double bytesPerDay = (double) allocated / (END - START);
+    assertTrue("Allocated " + bytesPerDay + " bytes per day",
+        bytesPerDay < MAX_BYTES_PER_DAY);
+  }
+}
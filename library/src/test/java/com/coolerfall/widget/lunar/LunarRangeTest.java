@@ -0,0 +1,94 @@
+package com.coolerfall.widget.lunar;
+
+import java.util.Calendar;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests of the range of lunar calendar, {@link Lunar} rejects the days out of range and
+ * {@link Month} shows them without lunar date.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public class LunarRangeTest {
+  private static void assertRejected(int year, int month, int day) {
+    try {
+      new Lunar(year, month, day);
+      fail(year + "-" + (month + 1) + "-" + day + " should be rejected");
+    } catch (IllegalArgumentException expected) {
+      /* expected */
+    }
+  }
+
+  @Test public void testLunarRejectsDaysOutOfRange() {
+    int packedMin = LunarConverter.toSolar(LunarAstronomy.MIN_EPOCH_DAY);
+    int packedMax = LunarConverter.toSolar(LunarAstronomy.MAX_EPOCH_DAY);
+    assertEquals(LunarConverter.packSolar(1645, Calendar.JANUARY, 28), packedMin);
+
+    Lunar lunar = new Lunar(1645, Calendar.JANUARY, 28);
+    assertEquals(1645, lunar.getLunarYearNum());
+    assertEquals(1, lunar.getLunarMonthNum());
+    assertEquals(1, lunar.getLunarDayNum());
+    lunar = new Lunar(LunarConverter.getSolarYear(packedMax),
+        LunarConverter.getSolarMonth(packedMax), LunarConverter.getSolarDay(packedMax));
+    assertEquals(2999, lunar.getLunarYearNum());
+    assertEquals(12, lunar.getLunarMonthNum());
+
+    assertRejected(1645, Calendar.JANUARY, 27);
+    assertRejected(1644, Calendar.DECEMBER, 31);
+    assertRejected(LunarConverter.getSolarYear(packedMax), LunarConverter.getSolarMonth(packedMax),
+        LunarConverter.getSolarDay(packedMax) + 1);
+
+    try {
+      new Lunar().setLunarDate(1644, 12, 1, false);
+      fail("lunar 1644 should be rejected");
+    } catch (IllegalArgumentException expected) {
+      /* expected */
+    }
+  }
+
+  @Test public void testMonthWithFirstDayOfLunarCalendar() {
+    Month month = new Month(1645, Calendar.JANUARY, 1);
+    int firstIndex = month.getIndexOfFirstCheckableDay();
+    MonthDay first = month.getMonthDay(firstIndex);
+    assertEquals(28, first.getDayOfMonth());
+    assertEquals(1, first.getLunar().getLunarDayNum());
+    assertEquals(-1, month.getIndexOfDayInCurMonth(27));
+
+    for (int i = 0; i < firstIndex; i++) {
+      MonthDay monthDay = month.getMonthDay(i);
+      assertNull(monthDay.getLunar());
+      assertFalse(monthDay.isCheckable());
+      assertFalse(monthDay.isHoliday());
+      assertEquals("", monthDay.getLunarDay());
+      assertEquals(AdjustedDays.NORMAL, monthDay.getAdjustedType());
+    }
+    for (int i = firstIndex; i < month.getWeeksInMonth() * 7; i++) {
+      MonthDay monthDay = month.getMonthDay(i);
+      assertNotNull(monthDay.getLunar());
+      assertEquals(monthDay.getDayFlag() == 0, monthDay.isCheckable());
+    }
+  }
+
+  @Test public void testMonthWithLastDayOfLunarCalendar() {
+    int packedMax = LunarConverter.toSolar(LunarAstronomy.MAX_EPOCH_DAY);
+    Month month = new Month(LunarConverter.getSolarYear(packedMax),
+        LunarConverter.getSolarMonth(packedMax), 1);
+    int lastDay = LunarConverter.getSolarDay(packedMax);
+    int lastIndex = month.getIndexOfDayInCurMonth(lastDay);
+    assertTrue(lastIndex >= 0);
+    Lunar last = month.getMonthDay(lastIndex).getLunar();
+    assertEquals(last.getMaxDaysInLunarMonth(), last.getLunarDayNum());
+
+    for (int i = lastIndex + 1; i < month.getWeeksInMonth() * 7; i++) {
+      assertNull(month.getMonthDay(i).getLunar());
+      assertFalse(month.getMonthDay(i).isCheckable());
+    }
+  }
+}
@@ -0,0 +1,49 @@
+package com.coolerfall.widget.lunar;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Benchmark of expanding a yearly lunar event over the whole lunar calendar with
+ * {@link LunarRecurrence}.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public class LunarRecurrenceBenchmark {
+  private static final int START = LunarAstronomy.MIN_EPOCH_DAY;
+  private static final int END = LunarAstronomy.MAX_EPOCH_DAY + 1;
+  private static final int YEARS = LunarAstronomy.MAX_YEAR - LunarAstronomy.MIN_YEAR + 1;
+
+  /* the 30th of the 12th month, clamped to 29th in short months */
+  private final LunarRecurrence recurrence = new LunarRecurrence(LunarDate.of(2001, 12, 30, false));
+  private final int[] occurrences = new int[YEARS];
+
+  @Before public void setUp() {
+    Benchmark.assumeEnabled();
+  }
+
+  @Test public void benchmarkFill() throws Exception {
+    Benchmark.measure("LunarRecurrence.fill per year", YEARS, new Benchmark.Body() {
+      @Override public long run() {
+        return recurrence.fill(START, END, occurrences);
+      }
+    });
+
+    assertEquals(YEARS, recurrence.fill(START, END, occurrences));
+  }
+
+  @Test public void benchmarkGetEpochDay() throws Exception {
+    Benchmark.measure("LunarRecurrence.getEpochDay", YEARS, new Benchmark.Body() {
+      @Override public long run() {
+        long result = 0;
+        for (int year = LunarAstronomy.MIN_YEAR; year <= LunarAstronomy.MAX_YEAR; year++) {
+          result += recurrence.getEpochDay(year);
+        }
+
+        return result;
+      }
+    });
+  }
+}
@@ -0,0 +1,44 @@
+package com.coolerfall.widget.lunar;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Benchmark of streaming all the days of lunar calendar with {@link LunarSpliterator}, in
+ * sequential and in parallel.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public class LunarSpliteratorBenchmark {
+  private static final int START = LunarAstronomy.MIN_EPOCH_DAY;
+  private static final int END = LunarAstronomy.MAX_EPOCH_DAY + 1;
+
+  @Before public void setUp() {
+    Benchmark.assumeEnabled();
+  }
+
+  /* stream all the days and sum the packed dates */
+  private static long sum(boolean parallel) {
+    return LunarSpliterator.stream(START, END, parallel).asLongStream().sum();
+  }
+
+  @Test public void benchmarkSequential() throws Exception {
+    Benchmark.measure("LunarSpliterator sequential", END - START, new Benchmark.Body() {
+      @Override public long run() {
+        return sum(false);
+      }
+    });
+  }
+
+  @Test public void benchmarkParallel() throws Exception {
+    Benchmark.measure("LunarSpliterator parallel", END - START, new Benchmark.Body() {
+      @Override public long run() {
+        return sum(true);
+      }
+    });
+
+    assertEquals(sum(false), sum(true));
+  }
+}
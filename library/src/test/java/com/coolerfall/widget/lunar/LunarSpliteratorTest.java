@@ -0,0 +1,48 @@
+package com.coolerfall.widget.lunar;
+
+import java.util.Calendar;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests of {@link LunarSpliterator}, every part of split holds one lunar year at least.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public class LunarSpliteratorTest {
+  private static final int START = LunarConverter.toEpochDay(2024, Calendar.JANUARY, 1);
+  private static final int LUNAR_YEAR_DAYS = 384;
+
+  @Test public void testShortRangeNotSplit() {
+    assertNull(new LunarSpliterator(START, START + LUNAR_YEAR_DAYS).trySplit());
+    assertNull(new LunarSpliterator(START, START + LUNAR_YEAR_DAYS * 2 - 1).trySplit());
+  }
+
+  @Test public void testSplitIntoLunarYears() {
+    LunarSpliterator spliterator = new LunarSpliterator(START, START + LUNAR_YEAR_DAYS * 2);
+    Spliterator.OfInt prefix = spliterator.trySplit();
+    assertNotNull(prefix);
+    assertEquals(LUNAR_YEAR_DAYS, prefix.estimateSize());
+    assertEquals(LUNAR_YEAR_DAYS, spliterator.estimateSize());
+    assertNull(prefix.trySplit());
+    assertNull(spliterator.trySplit());
+
+    final int[] expected = { LunarDate.ofEpochDay(START).toPacked() };
+    prefix.tryAdvance(new IntConsumer() {
+      @Override public void accept(int packedLunar) {
+        assertEquals(expected[0], packedLunar);
+      }
+    });
+    expected[0] = LunarDate.ofEpochDay(START + LUNAR_YEAR_DAYS).toPacked();
+    spliterator.tryAdvance(new IntConsumer() {
+      @Override public void accept(int packedLunar) {
+        assertEquals(expected[0], packedLunar);
+      }
+    });
+  }
+}
@@ -0,0 +1,69 @@
+package com.coolerfall.widget.lunar;
+
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Benchmark of converting random days with {@link Lunar}, with and without the dense
+ * {@link LunarTable}.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public class LunarTableBenchmark {
+  private static final int COUNT = 100000;
+
+  private final int[] epochDays = new int[COUNT];
+
+  @Before public void setUp() {
+    Benchmark.assumeEnabled();
+    Random random = new Random(1900);
+    int days = LunarConverter.MAX_EPOCH_DAY - LunarConverter.MIN_EPOCH_DAY + 1;
+    for (int i = 0; i < COUNT; i++) {
+      epochDays[i] = LunarConverter.MIN_EPOCH_DAY + random.nextInt(days);
+    }
+  }
+
+  @After public void tearDown() {
+    LunarTable.setDefault(null);
+  }
+
+  /* convert all the random days */
+  private long convert() {
+    Lunar lunar = new Lunar();
+    long result = 0;
+    for (int epochDay : epochDays) {
+      int packedSolar = LunarConverter.toSolar(epochDay);
+      lunar.setDate(LunarConverter.getSolarYear(packedSolar),
+          LunarConverter.getSolarMonth(packedSolar), LunarConverter.getSolarDay(packedSolar));
+      result += lunar.getLunarDayNum() + lunar.getHeavenlyAndEarthly();
+    }
+
+    return result;
+  }
+
+  @Test public void benchmarkWithoutTable() throws Exception {
+    LunarTable.setDefault(null);
+    Benchmark.measure("Lunar.setDate without table", COUNT, new Benchmark.Body() {
+      @Override public long run() {
+        return convert();
+      }
+    });
+  }
+
+  @Test public void benchmarkWithTable() throws Exception {
+    LunarTable table = new LunarTable();
+    long start = System.nanoTime();
+    table.getPackedLunar(0);
+    System.out.printf("LunarTable build %.1f ms, %d bytes%n", (System.nanoTime() - start) / 1e6,
+        table.getSizeInBytes());
+
+    LunarTable.setDefault(table);
+    Benchmark.measure("Lunar.setDate with table", COUNT, new Benchmark.Body() {
+      @Override public long run() {
+        return convert();
+      }
+    });
+  }
+}
@@ -0,0 +1,67 @@
+package com.coolerfall.widget.lunar;
+
+import java.util.Calendar;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the label and holiday flag of {@link MonthDay}, they are resolved once and
+ * refreshed after the default locale or holiday calendar was changed.
+ *
+ * @author Vincent Cheung (coolingfall@gmail.com)
+ */
+public class MonthDayTest {
+  @After public void tearDown() {
+    LunarLocale.setDefault(null);
+    HolidayCalendar.setDefault(null);
+  }
+
+  private static MonthDay createMonthDay(int year, int month, int day) {
+    Lunar lunar = new Lunar(year, month, day);
+    return new MonthDay(lunar.getCalendar().getTimeInMillis(), lunar);
+  }
+
+  @Test public void testLabelIsResolvedOnce() {
+    /* the Spring Festival of 2024 */
+    MonthDay monthDay = createMonthDay(2024, Calendar.FEBRUARY, 10);
+    String label = monthDay.getLunarDay();
+    assertEquals("春节", label);
+    assertTrue(monthDay.isHoliday());
+    assertSame(label, monthDay.getLunarDay());
+
+    MonthDay normal = createMonthDay(2024, Calendar.FEBRUARY, 11);
+    assertEquals("初二", normal.getLunarDay());
+    assertFalse(normal.isHoliday());
+  }
+
+  @Test public void testLabelFollowsLocale() {
+    MonthDay monthDay = createMonthDay(2024, Calendar.FEBRUARY, 11);
+    assertEquals("初二", monthDay.getLunarDay());
+
+    LunarLocale.setDefault(LunarLocale.ENGLISH);
+    String label = monthDay.getLunarDay();
+    assertEquals(LunarLocale.getLabels().getLunarDay(2), label);
+    assertFalse("初二".equals(label));
+
+    LunarLocale.setDefault(null);
+    assertEquals("初二", monthDay.getLunarDay());
+  }
+
+  @Test public void testLabelFollowsHolidayCalendar() {
+    /* the second Sunday of May, 母亲节 is only in the extra holidays */
+    MonthDay monthDay = createMonthDay(2024, Calendar.MAY, 12);
+    assertFalse(monthDay.isHoliday());
+
+    HolidayCalendar.setDefault(HolidayCalendar.createWithExtraHolidays());
+    assertTrue(monthDay.isHoliday());
+    assertEquals("母亲节", monthDay.getLunarDay());
+
+    HolidayCalendar.setDefault(null);
+    assertFalse(monthDay.isHoliday());
+  }
+}